@@ -0,0 +1,64 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.rules.HandRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The pool of random 7-card hands on one thread, evaluated one call per hand (each) and in one call of the batch
+ * API (batch). Both are reported per hand, so the ratio of the two is the gain of the batch on one core.
+ * The fork adds the Vector API module for the vectorized batch of bitmask, so this benchmark needs Java 16 or later.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchEvaluateBenchmark {
+
+    // larger than the other pools, so that the branch predictor cannot learn the sequence of categories
+    static final int BATCH_SIZE = 1 << 16;
+
+    @Param({"bitmask", "lookup"})
+    public String engine;
+
+    private HandRules handRules;
+    private long[] hands;
+    private int[] strengths;
+
+    @Setup
+    public void setUp() {
+        handRules = BenchmarkHands.handRules(engine);
+        hands = BenchmarkHands.randomHands(BenchmarkHands.HAND_CARDS, BATCH_SIZE);
+        strengths = new int[hands.length];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] each() {
+        for (int hand = 0; hand < hands.length; hand++) {
+            strengths[hand] = handRules.evaluate(hands[hand]);
+        }
+        return strengths;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] batch() {
+        handRules.evaluate(hands, strengths);
+        return strengths;
+    }
+}
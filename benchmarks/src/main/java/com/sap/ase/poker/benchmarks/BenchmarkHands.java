@@ -0,0 +1,77 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.rules.BitmaskHandEvaluator;
+import com.sap.ase.poker.model.rules.HandEvaluator;
+import com.sap.ase.poker.model.rules.HandRules;
+import com.sap.ase.poker.model.rules.LookupTableHandEvaluator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+
+/*
+ * Random but reproducible inputs of the benchmarks. Every benchmark cycles through a pool of inputs, so that the
+ * branch predictor cannot learn a single hand, and the pools are small enough to stay in the CPU caches.
+ */
+final class BenchmarkHands {
+
+    static final int POOL_SIZE = 1 << 10;
+    static final int HAND_CARDS = 7;
+    static final int BOARD_CARDS = 5;
+    static final int HOLE_CARDS = 2;
+    static final long SEED = 0x504F4B4552L;
+
+    private static final HandEvaluator REFERENCE = new BitmaskHandEvaluator();
+
+    private BenchmarkHands() {
+    }
+
+    static HandRules handRules(String engine) {
+        if ("lookup".equals(engine)) {
+            try {
+                return new HandRules(LookupTableHandEvaluator.fromResource());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new HandRules(new BitmaskHandEvaluator());
+    }
+
+    // POOL_SIZE hands of 7 cards of the given category, rare categories are drawn until enough are found
+    static long[] handsOfCategory(int category) {
+        SplittableRandom random = new SplittableRandom(SEED + category);
+        long[] hands = new long[POOL_SIZE];
+        for (int found = 0; found < hands.length; ) {
+            long cards = randomCards(random, HAND_CARDS, 0L);
+            if (REFERENCE.category(REFERENCE.evaluate(cards)) == category) {
+                hands[found++] = cards;
+            }
+        }
+        return hands;
+    }
+
+    static long[] randomHands(int cards) {
+        return randomHands(cards, POOL_SIZE);
+    }
+
+    static long[] randomHands(int cards, int amount) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] hands = new long[amount];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = randomCards(random, cards, 0L);
+        }
+        return hands;
+    }
+
+    static long randomCards(SplittableRandom random, int amount, long dead) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < amount) {
+            long card = 1L << random.nextInt(Card.AMOUNT);
+            if ((card & dead) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+}
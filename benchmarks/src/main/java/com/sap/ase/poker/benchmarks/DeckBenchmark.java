@@ -0,0 +1,70 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.RandomCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffledDeckSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The deck as the table uses it: ShuffledDeckSupplier creates a deck per table, every hand shuffles it and deals
+ * the hole cards of a full ring of 9 players and the board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    private static final int PLAYERS = 9;
+
+    private ShuffledDeckSupplier deckSupplier;
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        deckSupplier = new ShuffledDeckSupplier(new PokerCardsSupplier(), new RandomCardShuffler());
+        deck = deckSupplier.get();
+    }
+
+    @Benchmark
+    public Deck newDeck() {
+        return deckSupplier.get();
+    }
+
+    @Benchmark
+    public void dealHand(Blackhole blackhole) {
+        deck.shuffle();
+        for (int player = 0; player < PLAYERS; player++) {
+            blackhole.consume(deck.deal(BenchmarkHands.HOLE_CARDS));
+        }
+        blackhole.consume(deck.deal(BenchmarkHands.BOARD_CARDS));
+    }
+
+    // Deck.draw alone, 52 times per operation
+    @Benchmark
+    public CardSet drawWholeDeck() {
+        deck.shuffle();
+        long cards = 0L;
+        for (int i = 0; i < Card.AMOUNT; i++) {
+            cards |= 1L << deck.draw().getId();
+        }
+        return CardSet.ofMask(cards);
+    }
+}
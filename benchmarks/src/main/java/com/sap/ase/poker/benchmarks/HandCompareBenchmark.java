@@ -0,0 +1,46 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.hands.Hand;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Hand.compareTo of two materialized hands of random 7 cards, mostly of different categories
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandCompareBenchmark {
+
+    private Hand[] hands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        HandRules handRules = BenchmarkHands.handRules("bitmask");
+        long[] cards = BenchmarkHands.randomHands(BenchmarkHands.HAND_CARDS);
+        hands = new Hand[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            hands[i] = handRules.findBestHand(CardSet.ofMask(cards[i]));
+        }
+    }
+
+    @Benchmark
+    public int compareTo() {
+        next = next + 1 & BenchmarkHands.POOL_SIZE - 1;
+        return hands[next].compareTo(hands[next ^ 1]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.hands.Hand;
+import com.sap.ase.poker.model.rules.HandEvaluator;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * HandRules.findBestHand materializes the winning Hand of 7 cards, evaluate only computes its strength.
+ * Both are measured per hand category, because the Hand classes of the categories do different work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandRulesBenchmark {
+
+    @Param({"HIGH_CARD", "PAIR", "TWO_PAIRS", "THREE_OF_A_KIND", "STRAIGHT", "FLUSH", "FULL_HOUSE",
+            "FOUR_OF_A_KIND", "STRAIGHT_FLUSH", "ROYAL_FLUSH"})
+    public String category;
+
+    @Param({"bitmask", "lookup"})
+    public String engine;
+
+    private HandRules handRules;
+    private long[] hands;
+    private CardSet[] cardSets;
+    private int next;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        handRules = BenchmarkHands.handRules(engine);
+        hands = BenchmarkHands.handsOfCategory(HandEvaluator.class.getField(category).getInt(null));
+        cardSets = new CardSet[hands.length];
+        for (int i = 0; i < hands.length; i++) {
+            cardSets[i] = CardSet.ofMask(hands[i]);
+        }
+    }
+
+    @Benchmark
+    public Hand findBestHand() {
+        next = next + 1 & BenchmarkHands.POOL_SIZE - 1;
+        return handRules.findBestHand(cardSets[next]);
+    }
+
+    @Benchmark
+    public int evaluate() {
+        next = next + 1 & BenchmarkHands.POOL_SIZE - 1;
+        return handRules.evaluate(hands[next]);
+    }
+}
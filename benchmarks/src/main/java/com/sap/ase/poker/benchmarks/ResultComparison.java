@@ -0,0 +1,97 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Prints a Markdown table of JMH results (written with -rf json, profiled with -prof gc): the throughput and the
+ * bytes allocated per operation of every benchmark, and with a second file the change against the first one.
+ * Usage: ResultComparison results/baseline.json [new.json]
+ */
+public class ResultComparison {
+
+    static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ResultComparison <baseline.json> [<new.json>]");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Paths.get(args[0]));
+        Map<String, Result> current = args.length > 1 ? read(Paths.get(args[1])) : null;
+        print(baseline, current, System.out);
+    }
+
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String benchmark = run.get("benchmark").asText();
+            StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            JsonNode primary = run.get("primaryMetric");
+            // JMH before 1.36 prefixes the metrics of profilers with a middle dot
+            JsonNode secondary = run.path("secondaryMetrics");
+            JsonNode allocation = secondary.has(ALLOCATION) ? secondary.get(ALLOCATION) : secondary.path("\u00B7" + ALLOCATION);
+            results.put(name.toString(), new Result(primary.get("score").asDouble(), primary.get("scoreError").asDouble(),
+                    primary.get("scoreUnit").asText(), allocation.isMissingNode() ? Double.NaN : allocation.get("score").asDouble()));
+        }
+        return results;
+    }
+
+    static void print(Map<String, Result> baseline, Map<String, Result> current, PrintStream out) {
+        if (current == null) {
+            out.println("| Benchmark | Throughput | Error | Unit | Allocated B/op |");
+            out.println("|---|---:|---:|---|---:|");
+            for (Map.Entry<String, Result> entry : baseline.entrySet()) {
+                Result result = entry.getValue();
+                out.printf("| %s | %.3f | %.3f | %s | %s |%n", entry.getKey(), result.score, result.error, result.unit,
+                        bytes(result.allocation));
+            }
+            return;
+        }
+        out.println("| Benchmark | Baseline | New | Change | Baseline B/op | New B/op |");
+        out.println("|---|---:|---:|---:|---:|---:|");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                out.printf("| %s | - | %.3f | new | - | %s |%n", entry.getKey(), after.score, bytes(after.allocation));
+            } else {
+                out.printf("| %s | %.3f | %.3f | %+.1f%% | %s | %s |%n", entry.getKey(), before.score, after.score,
+                        (after.score / before.score - 1) * 100, bytes(before.allocation), bytes(after.allocation));
+            }
+        }
+    }
+
+    private static String bytes(double allocation) {
+        return Double.isNaN(allocation) ? "-" : String.format("%.0f", allocation);
+    }
+
+    static final class Result {
+        final double score;
+        final double error;
+        final String unit;
+        final double allocation;
+
+        Result(double score, double error, String unit, double allocation) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.allocation = allocation;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.rules.BoardState;
+import com.sap.ase.poker.model.rules.WinnerRules;
+import com.sap.ase.poker.model.rules.Winners;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A showdown of random hole cards on a random river board, as the table resolves it: findWinners ranks the
+ * players and materializes the winning Hand that is shown to the players.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinnerRulesBenchmark {
+
+    @Param({"2", "6", "9"})
+    public int players;
+
+    @Param({"bitmask", "lookup"})
+    public String engine;
+
+    private WinnerRules winnerRules;
+    private BoardState[] boards;
+    private List<List<Player>> showdowns;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        winnerRules = new WinnerRules(BenchmarkHands.handRules(engine));
+        SplittableRandom random = new SplittableRandom(BenchmarkHands.SEED);
+        boards = new BoardState[BenchmarkHands.POOL_SIZE];
+        showdowns = new ArrayList<>(BenchmarkHands.POOL_SIZE);
+        for (int i = 0; i < BenchmarkHands.POOL_SIZE; i++) {
+            long board = BenchmarkHands.randomCards(random, BenchmarkHands.BOARD_CARDS, 0L);
+            long dealt = board;
+            List<Player> showdown = new ArrayList<>(players);
+            for (int seat = 0; seat < players; seat++) {
+                long holeCards = BenchmarkHands.randomCards(random, BenchmarkHands.HOLE_CARDS, dealt);
+                dealt |= holeCards;
+                Player player = new Player("player" + seat, "Player " + seat, 100);
+                player.setHandCards(CardSet.ofMask(holeCards));
+                showdown.add(player);
+            }
+            boards[i] = BoardState.of(CardSet.ofMask(board));
+            showdowns.add(showdown);
+        }
+    }
+
+    @Benchmark
+    public Winners findWinners() {
+        next = next + 1 & BenchmarkHands.POOL_SIZE - 1;
+        return winnerRules.findWinners(boards[next], showdowns.get(next));
+    }
+}
@@ -0,0 +1,36 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.model.equity.EquityCalculator;
+import com.sap.ase.poker.model.equity.ExactEquityCalculator;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class EquityConfig {
+
+    // the all-in equities of the table are calculated on this pool, the context shuts it down when it closes
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool equityPool(@Value("${poker.equity.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("all-in-equity-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @Bean
+    public EquityCalculator equityCalculator(HandRules handRules, ForkJoinPool equityPool) {
+        return new EquityCalculator(handRules, equityPool);
+    }
+
+    @Bean
+    public ExactEquityCalculator exactEquityCalculator(HandRules handRules, ForkJoinPool equityPool) {
+        return new ExactEquityCalculator(handRules, equityPool);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.model.rules.BitmaskHandEvaluator;
+import com.sap.ase.poker.model.rules.HandEvaluator;
+import com.sap.ase.poker.model.rules.LookupTableHandEvaluator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class EvaluatorConfig {
+
+    public static final String BITMASK = "bitmask";
+    public static final String LOOKUP = "lookup";
+
+    @Bean
+    public HandEvaluator handEvaluator(@Value("${poker.evaluator.engine:" + BITMASK + "}") String engine,
+                                       @Value("${poker.evaluator.tables:}") String tables) throws IOException {
+        if (LOOKUP.equals(engine)) {
+            return tables.isEmpty() ? LookupTableHandEvaluator.fromResource()
+                    : new LookupTableHandEvaluator(Paths.get(tables));
+        }
+        if (BITMASK.equals(engine)) {
+            return new BitmaskHandEvaluator();
+        }
+        throw new IllegalArgumentException("Unknown hand evaluator: " + engine);
+    }
+}
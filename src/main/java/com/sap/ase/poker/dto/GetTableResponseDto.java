@@ -16,6 +16,11 @@ public class GetTableResponseDto {
 	private int state;
 	private PlayerDto winner;
 	private List<CardDto> winnerHand;
+	private List<CardDto> winningCards;
+	private int handRank;
+	private OutsDto outs;
+	private Double preflopEquity;
+	private Map<String, Double> allInEquities = new HashMap<>();
 
 	public GetTableResponseDto() {
 	}
@@ -94,4 +99,49 @@ public class GetTableResponseDto {
 	public void setWinnerHand(List<CardDto> winnerHand) {
 		this.winnerHand = winnerHand;
 	}
+
+	// the best five cards of the winning hand, empty when the other players folded
+	public List<CardDto> getWinningCards() {
+		return winningCards;
+	}
+
+	public void setWinningCards(List<CardDto> winningCards) {
+		this.winningCards = winningCards;
+	}
+
+	// the category of the requesting player's current hand, 0 before the flop
+	public int getHandRank() {
+		return handRank;
+	}
+
+	public void setHandRank(int handRank) {
+		this.handRank = handRank;
+	}
+
+	// only sent when requested, on the flop and the turn
+	public OutsDto getOuts() {
+		return outs;
+	}
+
+	public void setOuts(OutsDto outs) {
+		this.outs = outs;
+	}
+
+	// the share of the pot the hole cards win on average before the flop, null when unavailable
+	public Double getPreflopEquity() {
+		return preflopEquity;
+	}
+
+	public void setPreflopEquity(Double preflopEquity) {
+		this.preflopEquity = preflopEquity;
+	}
+
+	// the share of the pot every active player wins on average by player id, while all of them are all-in
+	public Map<String, Double> getAllInEquities() {
+		return allInEquities;
+	}
+
+	public void setAllInEquities(Map<String, Double> allInEquities) {
+		this.allInEquities = allInEquities;
+	}
 }
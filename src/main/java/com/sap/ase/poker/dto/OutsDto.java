@@ -0,0 +1,37 @@
+package com.sap.ase.poker.dto;
+
+import com.sap.ase.poker.model.rules.Outs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OutsDto {
+
+    private List<CardDto> improving = new ArrayList<>();
+    private double odds;
+
+    public OutsDto() {
+    }
+
+    public OutsDto(Outs outs) {
+        this.improving = outs.getImproving().stream().map(CardDto::new).collect(Collectors.toList());
+        this.odds = outs.getOdds();
+    }
+
+    public List<CardDto> getImproving() {
+        return improving;
+    }
+
+    public void setImproving(List<CardDto> improving) {
+        this.improving = improving;
+    }
+
+    public double getOdds() {
+        return odds;
+    }
+
+    public void setOdds(double odds) {
+        this.odds = odds;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sap.ase.poker.model;
+
+import com.sap.ase.poker.model.deck.Kind;
+
+public enum GameVariant {
+
+    HOLDEM("holdem", 2, false, false, Kind.TWO),
+    OMAHA("omaha", 4, true, false, Kind.TWO),
+    OMAHA_HI_LO("omaha-hi-lo", 4, true, true, Kind.TWO),
+    SHORT_DECK("short-deck", 2, false, false, Kind.SIX);
+
+    private final String value;
+    private final int holeCards;
+    private final boolean potLimit;
+    private final boolean hiLo;
+    private final Kind lowestKind;
+
+    GameVariant(String value, int holeCards, boolean potLimit, boolean hiLo, Kind lowestKind) {
+        this.value = value;
+        this.holeCards = holeCards;
+        this.potLimit = potLimit;
+        this.hiLo = hiLo;
+        this.lowestKind = lowestKind;
+    }
+
+    public static GameVariant of(String value) {
+        for (GameVariant variant : values()) {
+            if (variant.value.equals(value)) {
+                return variant;
+            }
+        }
+        throw new IllegalActionException("Unknown game variant: " + value);
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getHoleCards() {
+        return holeCards;
+    }
+
+    // a raise may at most add the pot after calling to the current bet
+    public boolean isPotLimit() {
+        return potLimit;
+    }
+
+    // the best high and the best eight-or-better low split every pot
+    public boolean isHiLo() {
+        return hiLo;
+    }
+
+    // the deck only holds the cards from this kind up
+    public Kind getLowestKind() {
+        return lowestKind;
+    }
+}
@@ -1,9 +1,6 @@
 package com.sap.ase.poker.model;
 
-import com.sap.ase.poker.model.deck.Card;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.sap.ase.poker.model.deck.CardSet;
 
 public class Player {
 
@@ -12,8 +9,9 @@ public class Player {
     private int cash;
 
     private int bet = 0;
+    private int contribution = 0;
     private boolean isActive = false;
-    private List<Card> handCards = new ArrayList<>();
+    private CardSet handCards = CardSet.EMPTY;
 
     public Player(String id, String name, int cash) {
         this.id = id;
@@ -27,6 +25,7 @@ public class Player {
 
     public void bet(int bet) {
         this.bet+=bet;
+        this.contribution += bet;
         deductCash(bet);
     }
 
@@ -46,6 +45,15 @@ public class Player {
         bet = 0;
     }
 
+    // everything the player put into the pot during the current hand, over all betting rounds
+    public int getContribution() {
+        return contribution;
+    }
+
+    public void clearContribution() {
+        contribution = 0;
+    }
+
     public int getCash() {
         return cash;
     }
@@ -70,11 +78,11 @@ public class Player {
         return isActive;
     }
 
-    public List<Card> getHandCards() {
+    public CardSet getHandCards() {
         return this.handCards;
     }
 
-    public void setHandCards(List<Card> handCards) {
+    public void setHandCards(CardSet handCards) {
         this.handCards = handCards;
     }
 }
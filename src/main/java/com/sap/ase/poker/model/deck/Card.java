@@ -2,13 +2,44 @@ package com.sap.ase.poker.model.deck;
 
 public class Card implements Comparable<Card> {
 
+    public static final int AMOUNT = Suit.values().length * Kind.values().length;
+
+    /*
+     * The canonical instances of all 52 cards, by id. The id is suit * 13 + kind (ordinals), which is also the
+     * bit of the card in the masks of the hand evaluators, so it is stable between runs.
+     */
+    private static final Card[] CARDS = new Card[AMOUNT];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Kind kind : Kind.values()) {
+                Card card = new Card(kind, suit);
+                CARDS[card.id] = card;
+            }
+        }
+    }
+
     private final Kind kind;
 
     private final Suit suit;
 
+    private final int id;
+
     public Card(Kind kind, Suit suit) {
         this.kind = kind;
         this.suit = suit;
+        this.id = suit.ordinal() * Kind.values().length + kind.ordinal();
+    }
+
+    public static Card of(Kind kind, Suit suit) {
+        return CARDS[suit.ordinal() * Kind.values().length + kind.ordinal()];
+    }
+
+    public static Card ofId(int id) {
+        if (id < 0 || id >= AMOUNT) {
+            throw new IllegalArgumentException("No card with id " + id);
+        }
+        return CARDS[id];
     }
 
     @Override
@@ -23,11 +54,7 @@ public class Card implements Comparable<Card> {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((kind == null) ? 0 : kind.hashCode());
-        result = prime * result + ((suit == null) ? 0 : suit.hashCode());
-        return result;
+        return id;
     }
 
     @Override
@@ -41,14 +68,7 @@ public class Card implements Comparable<Card> {
         if (getClass() != obj.getClass()) {
             return false;
         }
-        Card other = (Card) obj;
-        if (kind != other.kind) {
-            return false;
-        }
-        if (suit != other.suit) {
-            return false;
-        }
-        return true;
+        return id == ((Card) obj).id;
     }
 
     public Kind getKind() {
@@ -59,6 +79,10 @@ public class Card implements Comparable<Card> {
         return suit;
     }
 
+    public int getId() {
+        return id;
+    }
+
     public boolean notEquals(Card card) {
         return !this.equals(card);
     }
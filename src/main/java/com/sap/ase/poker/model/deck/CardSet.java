@@ -0,0 +1,141 @@
+package com.sap.ase.poker.model.deck;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * An immutable set of cards, stored as one bit per card id (see Card.getId()). Unions, lookups and the rank
+ * and suit masks used by the hand evaluators are single long operations. The cards are iterated by id.
+ */
+public final class CardSet implements Iterable<Card> {
+
+    public static final CardSet EMPTY = new CardSet(0L);
+
+    private static final long ALL_CARDS = (1L << Card.AMOUNT) - 1;
+    private static final int KINDS = Kind.values().length;
+    private static final int KIND_MASK = (1 << KINDS) - 1;
+
+    private final long mask;
+
+    private CardSet(long mask) {
+        this.mask = mask;
+    }
+
+    public static CardSet ofMask(long mask) {
+        if ((mask & ~ALL_CARDS) != 0) {
+            throw new IllegalArgumentException("No cards for the bits " + Long.toHexString(mask & ~ALL_CARDS));
+        }
+        return mask == 0 ? EMPTY : new CardSet(mask);
+    }
+
+    public static CardSet of(Card... cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= 1L << card.getId();
+        }
+        return ofMask(mask);
+    }
+
+    public static CardSet of(Collection<Card> cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= 1L << card.getId();
+        }
+        return ofMask(mask);
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public CardSet with(Card card) {
+        return new CardSet(mask | 1L << card.getId());
+    }
+
+    public CardSet union(CardSet other) {
+        return new CardSet(mask | other.mask);
+    }
+
+    public boolean contains(Card card) {
+        return (mask & 1L << card.getId()) != 0;
+    }
+
+    public boolean containsAny(CardSet other) {
+        return (mask & other.mask) != 0;
+    }
+
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    // 13-bit mask of the kinds (bit = Kind.ordinal()) of the cards with the given suit
+    public int suitMask(Suit suit) {
+        return (int) (mask >>> suit.ordinal() * KINDS) & KIND_MASK;
+    }
+
+    // 13-bit mask of the kinds which are present in any suit
+    public int rankMask() {
+        int ranks = 0;
+        for (Suit suit : Suit.values()) {
+            ranks |= suitMask(suit);
+        }
+        return ranks;
+    }
+
+    public List<Card> toList() {
+        List<Card> cards = new ArrayList<>(size());
+        forEach(cards::add);
+        return cards;
+    }
+
+    public Stream<Card> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private long remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                Card card = Card.ofId(Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+                return card;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CardSet && mask == ((CardSet) obj).mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        return stream().map(Card::toString).collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -1,7 +1,6 @@
 package com.sap.ase.poker.model.deck;
 
-import java.util.List;
-
 public interface CardShuffler {
-    List<Card> shuffle(List<Card> cards);
+    // the position of the next card to deal among the remaining ones, from 0 to remaining - 1
+    int pick(int remaining);
 }
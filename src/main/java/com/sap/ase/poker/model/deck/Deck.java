@@ -3,29 +3,66 @@ package com.sap.ase.poker.model.deck;
 import java.util.ArrayList;
 import java.util.List;
 
+/*
+ * The deck is shuffled lazily while it is dealt (Fisher-Yates): every draw swaps a random remaining card to
+ * the cursor, so a hand only pays for the cards it uses. The order is kept as card ids, and shuffling only
+ * moves the cursor back to the top.
+ */
 public class Deck {
-    private List<Card> cards;
+    private final byte[] order;
     private final CardShuffler cardShuffler;
-    private final List<Card> pokerCardsSupply;
+    private int next;
 
     public Deck(List<Card> pokerCardsSupply, CardShuffler cardShuffler) {
-        this.pokerCardsSupply = new ArrayList<>(pokerCardsSupply);
-        this.cards = new ArrayList<>(pokerCardsSupply);
+        this.order = new byte[pokerCardsSupply.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (byte) pokerCardsSupply.get(i).getId();
+        }
         this.cardShuffler = cardShuffler;
     }
 
+    // the cards which are left to draw
     public List<Card> getCards() {
-        return cards;
+        List<Card> remaining = new ArrayList<>(order.length - next);
+        for (int i = next; i < order.length; i++) {
+            remaining.add(Card.ofId(order[i]));
+        }
+        return remaining;
+    }
+
+    // a deck of the cards of this one from the given kind up, shuffled the same way
+    public Deck withKindsFrom(Kind lowestKind) {
+        List<Card> cards = new ArrayList<>();
+        for (byte id : order) {
+            Card card = Card.ofId(id);
+            if (card.getKind().compareTo(lowestKind) >= 0) {
+                cards.add(card);
+            }
+        }
+        return new Deck(cards, cardShuffler);
     }
 
     public Card draw() {
-        if (cards.isEmpty()) {
+        if (next == order.length) {
             throw new OutOfCardsException("No cards left to draw.");
         }
-        return cards.remove(0);
+        int picked = next + cardShuffler.pick(order.length - next);
+        byte card = order[picked];
+        order[picked] = order[next];
+        order[next++] = card;
+        return Card.ofId(card);
+    }
+
+    public CardSet deal(int amount) {
+        long cards = 0L;
+        for (int i = 0; i < amount; i++) {
+            cards |= 1L << draw().getId();
+        }
+        return CardSet.ofMask(cards);
     }
 
+    // every remaining card is equally likely on each draw, so the previous order does not need to be undone
     public void shuffle() {
-        cards = cardShuffler.shuffle(pokerCardsSupply);
+        next = 0;
     }
 }
@@ -2,17 +2,13 @@ package com.sap.ase.poker.model.deck;
 
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class RandomCardShuffler implements CardShuffler {
 
     @Override
-    public List<Card> shuffle(List<Card> cards) {
-        ArrayList<Card> shuffled = new ArrayList<>(cards);
-        Collections.shuffle(shuffled);
-        return new ArrayList<>(shuffled);
+    public int pick(int remaining) {
+        return ThreadLocalRandom.current().nextInt(remaining);
     }
 }
@@ -17,8 +17,6 @@ public class ShuffledDeckSupplier implements Supplier<Deck> {
     }
 
     public Deck get() {
-        Deck deck = new Deck(cardSupplier.get(), cardShuffler);
-        deck.shuffle();
-        return deck;
+        return new Deck(cardSupplier.get(), cardShuffler);
     }
 }
@@ -0,0 +1,73 @@
+package com.sap.ase.poker.model.equity;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/*
+ * Walks the boards which complete a partial board with every combination of the live cards, in colex order.
+ * A split halves the range of combination ranks, so parallel streams get balanced parts without walking them.
+ */
+class BoardSpliterator implements Spliterator.OfLong {
+
+    static final long SPLIT_SIZE = 16_384;
+
+    private final int[] live;
+    private final long board;
+    private final int[] combination;
+    private long index;
+    private final long end;
+    private boolean positioned;
+
+    BoardSpliterator(int[] live, int missing, long board) {
+        this(live, board, new int[missing], 0, Combinations.binomial(live.length, missing));
+    }
+
+    private BoardSpliterator(int[] live, long board, int[] combination, long index, long end) {
+        this.live = live;
+        this.board = board;
+        this.combination = combination;
+        this.index = index;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (index >= end) {
+            return false;
+        }
+        if (!positioned) {
+            Combinations.unrank(index, combination);
+            positioned = true;
+        } else {
+            Combinations.next(combination, live.length);
+        }
+        long cards = board;
+        for (int position : combination) {
+            cards |= 1L << live[position];
+        }
+        index++;
+        action.accept(cards);
+        return true;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        if (positioned || end - index < 2 * SPLIT_SIZE) {
+            return null;
+        }
+        long middle = index + (end - index) / 2;
+        BoardSpliterator prefix = new BoardSpliterator(live, board, new int[combination.length], index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE | DISTINCT;
+    }
+}
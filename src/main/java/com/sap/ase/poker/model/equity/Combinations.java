@@ -0,0 +1,67 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+
+/*
+ * k-subsets of {0, ..., n - 1} as ascending int arrays, ranked in colex order: the rank of c[0] < ... < c[k - 1]
+ * is the sum of binomial(c[i], i + 1). Colex ranks do not depend on n, so a range of ranks can be split and
+ * every part unranked on its own.
+ */
+public final class Combinations {
+
+    private static final long[][] BINOMIALS = new long[Card.AMOUNT + 1][Card.AMOUNT + 1];
+
+    static {
+        for (int n = 0; n <= Card.AMOUNT; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+    }
+
+    private Combinations() {
+    }
+
+    public static long binomial(int n, int k) {
+        if (k < 0 || n < 0 || k > n) {
+            return 0;
+        }
+        return BINOMIALS[n][k];
+    }
+
+    public static long rank(int[] combination) {
+        long rank = 0;
+        for (int i = 0; i < combination.length; i++) {
+            rank += binomial(combination[i], i + 1);
+        }
+        return rank;
+    }
+
+    // fills the combination with the given rank, combination.length is k
+    public static void unrank(long rank, int[] combination) {
+        for (int i = combination.length - 1; i >= 0; i--) {
+            int element = i;
+            while (binomial(element + 1, i + 1) <= rank) {
+                element++;
+            }
+            combination[i] = element;
+            rank -= binomial(element, i + 1);
+        }
+    }
+
+    // moves to the combination with the next rank, returns false if it was the last one below n
+    public static boolean next(int[] combination, int n) {
+        for (int i = 0; i < combination.length; i++) {
+            int limit = i + 1 < combination.length ? combination[i + 1] : n;
+            if (combination[i] + 1 < limit) {
+                combination[i]++;
+                for (int j = 0; j < i; j++) {
+                    combination[j] = j;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
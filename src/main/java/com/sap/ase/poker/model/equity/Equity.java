@@ -0,0 +1,48 @@
+package com.sap.ase.poker.model.equity;
+
+/*
+ * The all-in equity of every player, in the order of the hole cards it was calculated for. The equity of a
+ * player is its share of the pot over all boards: a win counts 1, a tie between n players counts 1/n.
+ */
+public class Equity {
+
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] shares;
+    private final long boards;
+    private final double standardError;
+
+    public Equity(long[] wins, long[] ties, double[] shares, long boards, double standardError) {
+        this.wins = wins.clone();
+        this.ties = ties.clone();
+        this.shares = shares.clone();
+        this.boards = boards;
+        this.standardError = standardError;
+    }
+
+    public int getPlayers() {
+        return shares.length;
+    }
+
+    public double getWin(int player) {
+        return (double) wins[player] / boards;
+    }
+
+    public double getTie(int player) {
+        return (double) ties[player] / boards;
+    }
+
+    public double getEquity(int player) {
+        return shares[player] / boards;
+    }
+
+    // the amount of boards which were evaluated
+    public long getBoards() {
+        return boards;
+    }
+
+    // the largest standard error of the equities, 0 if every board was evaluated
+    public double getStandardError() {
+        return standardError;
+    }
+}
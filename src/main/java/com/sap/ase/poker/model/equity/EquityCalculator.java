@@ -0,0 +1,230 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.rules.HandRules;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Estimates the all-in equity of known hole cards by dealing random run-outs of the board. The samples are
+ * dealt in rounds on a fork-join pool, every task with its own SplittableRandom, and the rounds stop as soon
+ * as the equities are accurate enough, the sample limit is reached or the time budget is used up. The table
+ * gets it as a bean on the pool of EquityConfig, for the all-in equities before the flop.
+ */
+public class EquityCalculator {
+
+    public static final int MAX_SAMPLES = 1_000_000;
+    public static final double TARGET_ERROR = 0.001;
+    public static final long TIME_BUDGET_MILLIS = 1_000;
+
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 9;
+    static final int HOLE_CARDS = 2;
+    static final int BOARD_CARDS = 5;
+
+    private static final int ROUND_SAMPLES = 65_536;
+    private static final int TASK_SAMPLES = 4_096;
+
+    private final HandRules handRules;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+
+    public EquityCalculator(HandRules handRules) {
+        this(handRules, ForkJoinPool.commonPool());
+    }
+
+    public EquityCalculator(HandRules handRules, ForkJoinPool pool) {
+        this(handRules, pool, new SplittableRandom());
+    }
+
+    EquityCalculator(HandRules handRules, ForkJoinPool pool, SplittableRandom random) {
+        this.handRules = handRules;
+        this.pool = pool;
+        this.random = random;
+    }
+
+    public Equity calculate(List<CardSet> holeCards, CardSet board) {
+        return calculate(holeCards, board, MAX_SAMPLES, TARGET_ERROR, TIME_BUDGET_MILLIS);
+    }
+
+    public Equity calculate(List<CardSet> holeCards, CardSet board, int maxSamples, double targetError,
+                            long timeBudgetMillis) {
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("At least 1 sample needed");
+        }
+        long[] hands = validate(holeCards, board);
+        if (board.size() == BOARD_CARDS) {
+            Tally tally = new Tally(hands.length);
+            tally.add(handRules, hands, board.getMask());
+            return tally.toEquity(0);
+        }
+
+        SplittableRandom roundRandom;
+        synchronized (random) {
+            roundRandom = random.split();
+        }
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        Tally total = new Tally(hands.length);
+        do {
+            int samples = Math.min(ROUND_SAMPLES, maxSamples - (int) total.boards);
+            total.merge(pool.invoke(new SampleTask(hands, board.getMask(), samples, roundRandom.split())));
+        } while (total.boards < maxSamples && total.standardError() > targetError && System.nanoTime() < deadline);
+        return total.toEquity(total.standardError());
+    }
+
+    static long[] validate(List<CardSet> holeCards, CardSet board) {
+        if (holeCards.size() < MIN_PLAYERS || holeCards.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("2 to 9 players needed");
+        }
+        if (board.size() > BOARD_CARDS) {
+            throw new IllegalArgumentException("At most 5 board cards allowed");
+        }
+        long[] hands = new long[holeCards.size()];
+        long dealt = board.getMask();
+        for (int player = 0; player < hands.length; player++) {
+            CardSet hand = holeCards.get(player);
+            if (hand.size() != HOLE_CARDS) {
+                throw new IllegalArgumentException("2 hole cards needed for every player");
+            }
+            if ((dealt & hand.getMask()) != 0) {
+                throw new IllegalArgumentException("A card is dealt more than once");
+            }
+            dealt |= hand.getMask();
+            hands[player] = hand.getMask();
+        }
+        return hands;
+    }
+
+    // the ids of all cards which are not in the given mask
+    static int[] liveCards(long dealt) {
+        int[] live = new int[Card.AMOUNT - Long.bitCount(dealt)];
+        int next = 0;
+        for (int id = 0; id < Card.AMOUNT; id++) {
+            if ((dealt & 1L << id) == 0) {
+                live[next++] = id;
+            }
+        }
+        return live;
+    }
+
+    // the wins, ties and pot shares of every player over a number of boards
+    static class Tally {
+        final long[] wins;
+        final long[] ties;
+        final double[] shares;
+        private final long[] cards;
+        private final int[] strengths;
+        long boards;
+
+        Tally(int players) {
+            wins = new long[players];
+            ties = new long[players];
+            shares = new double[players];
+            cards = new long[players];
+            strengths = new int[players];
+        }
+
+        void add(HandRules handRules, long[] hands, long board) {
+            for (int player = 0; player < hands.length; player++) {
+                cards[player] = board | hands[player];
+            }
+            handRules.evaluate(cards, strengths);
+            int best = -1;
+            int winners = 0;
+            for (int player = 0; player < hands.length; player++) {
+                if (strengths[player] > best) {
+                    best = strengths[player];
+                    winners = 1;
+                } else if (strengths[player] == best) {
+                    winners++;
+                }
+            }
+            for (int player = 0; player < hands.length; player++) {
+                if (strengths[player] == best) {
+                    if (winners == 1) {
+                        wins[player]++;
+                    } else {
+                        ties[player]++;
+                    }
+                    shares[player] += 1.0 / winners;
+                }
+            }
+            boards++;
+        }
+
+        void merge(Tally other) {
+            for (int player = 0; player < wins.length; player++) {
+                wins[player] += other.wins[player];
+                ties[player] += other.ties[player];
+                shares[player] += other.shares[player];
+            }
+            boards += other.boards;
+        }
+
+        // binomial estimate of the largest standard error of the equities
+        double standardError() {
+            double error = 0;
+            for (double share : shares) {
+                double equity = share / boards;
+                error = Math.max(error, Math.sqrt(equity * (1 - equity) / boards));
+            }
+            return error;
+        }
+
+        Equity toEquity(double standardError) {
+            return new Equity(wins, ties, shares, boards, standardError);
+        }
+    }
+
+    private class SampleTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] hands;
+        private final long board;
+        private final int samples;
+        private final SplittableRandom random;
+
+        SampleTask(long[] hands, long board, int samples, SplittableRandom random) {
+            this.hands = hands;
+            this.board = board;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (samples > TASK_SAMPLES) {
+                SampleTask first = new SampleTask(hands, board, samples / 2, random.split());
+                first.fork();
+                Tally tally = new SampleTask(hands, board, samples - samples / 2, random).compute();
+                tally.merge(first.join());
+                return tally;
+            }
+
+            long dealt = board;
+            for (long hand : hands) {
+                dealt |= hand;
+            }
+            int[] live = liveCards(dealt);
+            int missing = BOARD_CARDS - Long.bitCount(board);
+            Tally tally = new Tally(hands.length);
+            for (int sample = 0; sample < samples; sample++) {
+                long runOut = board;
+                // partial Fisher-Yates, the live cards do not need to be restored between samples
+                for (int i = 0; i < missing; i++) {
+                    int picked = i + random.nextInt(live.length - i);
+                    int card = live[picked];
+                    live[picked] = live[i];
+                    live[i] = card;
+                    runOut |= 1L << card;
+                }
+                tally.add(handRules, hands, runOut);
+            }
+            return tally;
+        }
+    }
+}
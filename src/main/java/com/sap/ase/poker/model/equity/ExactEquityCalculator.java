@@ -0,0 +1,100 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.equity.EquityCalculator.Tally;
+import com.sap.ase.poker.model.rules.HandRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+
+/*
+ * Calculates the exact all-in equity by evaluating every board which completes the known board, on a parallel
+ * stream over the colex ranks of the missing cards, which runs in the given pool. The results of the most recent
+ * situations are cached, heads-up situations which only differ by a permutation of the suits share one entry. The
+ * table gets it as a bean on the pool of EquityConfig, for the all-in equities from the flop on.
+ */
+public class ExactEquityCalculator {
+
+    static final int CACHE_SIZE = 4_096;
+
+    private static final HandIndexer[] HEADS_UP = headsUpIndexers();
+
+    private final HandRules handRules;
+    private final ForkJoinPool pool;
+    private final LruCache<List<Long>, Equity> cache;
+
+    public ExactEquityCalculator(HandRules handRules) {
+        this(handRules, ForkJoinPool.commonPool());
+    }
+
+    public ExactEquityCalculator(HandRules handRules, ForkJoinPool pool) {
+        this(handRules, pool, CACHE_SIZE);
+    }
+
+    ExactEquityCalculator(HandRules handRules, ForkJoinPool pool, int cacheSize) {
+        this.handRules = handRules;
+        this.pool = pool;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    public Equity calculate(List<CardSet> holeCards, CardSet board) {
+        long[] hands = EquityCalculator.validate(holeCards, board);
+        List<Long> situation = situation(hands, board.getMask());
+        Equity equity = cache.get(situation);
+        if (equity == null) {
+            equity = enumerate(hands, board.getMask());
+            cache.put(situation, equity);
+        }
+        return equity;
+    }
+
+    // the amount of boards which complete the given board when the hole cards are dealt
+    public static long boards(int players, CardSet board) {
+        int unseen = Card.AMOUNT - players * EquityCalculator.HOLE_CARDS - board.size();
+        return Combinations.binomial(unseen, EquityCalculator.BOARD_CARDS - board.size());
+    }
+
+    // heads-up situations are keyed by their suit isomorphism class, others by their cards
+    private static List<Long> situation(long[] hands, long board) {
+        int boardCards = Long.bitCount(board);
+        if (hands.length == 2) {
+            long index = boardCards == 0 ? HEADS_UP[0].index(hands[0], hands[1])
+                    : HEADS_UP[boardCards].index(hands[0], hands[1], board);
+            return Arrays.asList((long) boardCards, index);
+        }
+        List<Long> situation = new ArrayList<>(hands.length + 1);
+        for (long hand : hands) {
+            situation.add(hand);
+        }
+        situation.add(board);
+        return situation;
+    }
+
+    private static HandIndexer[] headsUpIndexers() {
+        HandIndexer[] indexers = new HandIndexer[EquityCalculator.BOARD_CARDS + 1];
+        indexers[0] = new HandIndexer(EquityCalculator.HOLE_CARDS, EquityCalculator.HOLE_CARDS);
+        for (int boardCards = 1; boardCards < indexers.length; boardCards++) {
+            indexers[boardCards] = new HandIndexer(EquityCalculator.HOLE_CARDS, EquityCalculator.HOLE_CARDS, boardCards);
+        }
+        return indexers;
+    }
+
+    private Equity enumerate(long[] hands, long board) {
+        long dealt = board;
+        for (long hand : hands) {
+            dealt |= hand;
+        }
+        BoardSpliterator boards = new BoardSpliterator(EquityCalculator.liveCards(dealt),
+                EquityCalculator.BOARD_CARDS - Long.bitCount(board), board);
+        // a parallel stream started in a task of a pool splits into that pool
+        Tally tally = pool.submit(() -> StreamSupport.longStream(boards, true).collect(
+                () -> new Tally(hands.length),
+                (result, cards) -> result.add(handRules, hands, cards),
+                Tally::merge)).join();
+        return tally.toEquity(0);
+    }
+}
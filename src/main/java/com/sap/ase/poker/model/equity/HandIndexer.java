@@ -0,0 +1,249 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+
+import java.util.Arrays;
+
+/*
+ * Maps hands which are dealt in rounds (hole cards, then the board, or the hole cards of several players) to
+ * dense indexes, such that two hands get the same index exactly when a permutation of the suits turns one into
+ * the other. Caches keyed by these indexes hold one entry for up to 24 equivalent hands.
+ *
+ * Every suit of a hand is described by its sequence (how many cards of the suit are dealt in every round) and
+ * by the index of its ranks within that sequence. The hand up to suit permutations is the multiset of these
+ * four descriptions: the suits are sorted, the sorted sequences select a configuration with its own range of
+ * indexes, and suits with the same sequence are ranked as a multiset within it.
+ */
+public class HandIndexer {
+
+    private static final int SUITS = Suit.values().length;
+    private static final int RANKS = Kind.values().length;
+    private static final int RANK_BITS = (1 << RANKS) - 1;
+    private static final int MAX_SEQUENCES = 256;
+
+    private final int[] cardsPerRound;
+    private final int[] sequences;
+    private final int[][][] counts;
+    private final long[][] sequenceSizes;
+    private final long[][] configurations;
+    private final long[][] offsets;
+    private final long[] sizes;
+
+    public HandIndexer(int... cardsPerRound) {
+        if (cardsPerRound.length == 0 || Arrays.stream(cardsPerRound).anyMatch(cards -> cards < 1)
+                || Arrays.stream(cardsPerRound).sum() > SUITS * RANKS) {
+            throw new IllegalArgumentException("Every round needs at least 1 card, at most 52 cards in total");
+        }
+        this.cardsPerRound = cardsPerRound.clone();
+        int rounds = cardsPerRound.length;
+        sequences = new int[rounds];
+        counts = new int[rounds][][];
+        sequenceSizes = new long[rounds][];
+        configurations = new long[rounds][];
+        offsets = new long[rounds][];
+        sizes = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            sequences[round] = (round == 0 ? 1 : sequences[round - 1]) * (cardsPerRound[round] + 1);
+            if (sequences[round] > MAX_SEQUENCES) {
+                throw new IllegalArgumentException("Too many cards per round to index");
+            }
+            countSequences(round);
+            enumerateConfigurations(round);
+        }
+    }
+
+    public int getRounds() {
+        return cardsPerRound.length;
+    }
+
+    // the amount of hands of the first rounds which are not equivalent
+    public long size(int rounds) {
+        return sizes[rounds - 1];
+    }
+
+    public long index(CardSet... rounds) {
+        long[] masks = new long[rounds.length];
+        for (int round = 0; round < rounds.length; round++) {
+            masks[round] = rounds[round].getMask();
+        }
+        return index(masks);
+    }
+
+    // the index of the cards of the first rounds, below size(rounds.length)
+    public long index(long... rounds) {
+        int round = validate(rounds);
+        int[] suitSequences = new int[SUITS];
+        long[] suitIndexes = new long[SUITS];
+        for (int suit = 0; suit < SUITS; suit++) {
+            long index = 0;
+            long multiplier = 1;
+            int used = 0;
+            int sequence = 0;
+            int radix = 1;
+            for (int i = 0; i <= round; i++) {
+                int ranks = (int) (rounds[i] >>> suit * RANKS) & RANK_BITS;
+                int count = Integer.bitCount(ranks);
+                index += multiplier * rankIndex(ranks, used);
+                multiplier *= Combinations.binomial(RANKS - Integer.bitCount(used), count);
+                used |= ranks;
+                sequence += count * radix;
+                radix *= cardsPerRound[i] + 1;
+            }
+            // insertion sort, descending by sequence, then by index
+            int position = suit;
+            while (position > 0 && (suitSequences[position - 1] < sequence
+                    || suitSequences[position - 1] == sequence && suitIndexes[position - 1] < index)) {
+                suitSequences[position] = suitSequences[position - 1];
+                suitIndexes[position] = suitIndexes[position - 1];
+                position--;
+            }
+            suitSequences[position] = sequence;
+            suitIndexes[position] = index;
+        }
+
+        int configuration = Arrays.binarySearch(configurations[round], key(round, suitSequences));
+        long index = offsets[round][configuration];
+        long multiplier = 1;
+        for (int first = 0, last; first < SUITS; first = last) {
+            last = first + 1;
+            while (last < SUITS && suitSequences[last] == suitSequences[first]) {
+                last++;
+            }
+            // the multiset a[0] <= ... <= a[m - 1] has the colex rank of the set a[k] + k
+            long group = 0;
+            for (int k = 0; k < last - first; k++) {
+                group += choose(suitIndexes[last - 1 - k] + k, k + 1);
+            }
+            index += multiplier * group;
+            multiplier *= multichoose(sequenceSizes[round][suitSequences[first]], last - first);
+        }
+        return index;
+    }
+
+    private int validate(long[] rounds) {
+        if (rounds.length == 0 || rounds.length > cardsPerRound.length) {
+            throw new IllegalArgumentException("1 to " + cardsPerRound.length + " rounds allowed");
+        }
+        long dealt = 0;
+        for (int round = 0; round < rounds.length; round++) {
+            if (Long.bitCount(rounds[round]) != cardsPerRound[round]) {
+                throw new IllegalArgumentException(cardsPerRound[round] + " cards needed in round " + round);
+            }
+            if ((dealt & rounds[round]) != 0) {
+                throw new IllegalArgumentException("A card is dealt more than once");
+            }
+            dealt |= rounds[round];
+        }
+        if (dealt >>> Card.AMOUNT != 0) {
+            throw new IllegalArgumentException("Unknown card in " + Long.toHexString(dealt));
+        }
+        return rounds.length - 1;
+    }
+
+    // the colex rank of the ranks among the ranks which are not used yet
+    private static long rankIndex(int ranks, int used) {
+        long rank = 0;
+        int k = 1;
+        for (int remaining = ranks; remaining != 0; remaining &= remaining - 1) {
+            int bit = Integer.numberOfTrailingZeros(remaining);
+            int position = bit - Integer.bitCount(used & (1 << bit) - 1);
+            rank += Combinations.binomial(position, k++);
+        }
+        return rank;
+    }
+
+    private void countSequences(int round) {
+        counts[round] = new int[sequences[round]][round + 1];
+        sequenceSizes[round] = new long[sequences[round]];
+        for (int sequence = 0; sequence < sequences[round]; sequence++) {
+            long size = 1;
+            int used = 0;
+            for (int i = 0, rest = sequence; i <= round; rest /= cardsPerRound[i] + 1, i++) {
+                int count = rest % (cardsPerRound[i] + 1);
+                counts[round][sequence][i] = count;
+                size *= Combinations.binomial(RANKS - used, count);
+                used += count;
+            }
+            sequenceSizes[round][sequence] = size;
+        }
+    }
+
+    // all sorted sequences of the four suits which add up to the cards of every round, in ascending key order
+    private void enumerateConfigurations(int round) {
+        int n = sequences[round];
+        long[] keys = new long[n];
+        long[] starts = new long[n];
+        int configurations = 0;
+        long offset = 0;
+        int[] suits = new int[SUITS];
+        for (suits[0] = 0; suits[0] < n; suits[0]++) {
+            for (suits[1] = 0; suits[1] <= suits[0]; suits[1]++) {
+                for (suits[2] = 0; suits[2] <= suits[1]; suits[2]++) {
+                    for (suits[3] = 0; suits[3] <= suits[2]; suits[3]++) {
+                        long size = configurationSize(round, suits);
+                        if (size > 0) {
+                            if (configurations == keys.length) {
+                                keys = Arrays.copyOf(keys, 2 * configurations);
+                                starts = Arrays.copyOf(starts, 2 * configurations);
+                            }
+                            keys[configurations] = key(round, suits);
+                            starts[configurations++] = offset;
+                            offset += size;
+                        }
+                    }
+                }
+            }
+        }
+        this.configurations[round] = Arrays.copyOf(keys, configurations);
+        this.offsets[round] = Arrays.copyOf(starts, configurations);
+        this.sizes[round] = offset;
+    }
+
+    private long configurationSize(int round, int[] suits) {
+        for (int i = 0; i <= round; i++) {
+            int cards = 0;
+            for (int suit : suits) {
+                cards += counts[round][suit][i];
+            }
+            if (cards != cardsPerRound[i]) {
+                return 0;
+            }
+        }
+        long size = 1;
+        for (int first = 0, last; first < SUITS; first = last) {
+            last = first + 1;
+            while (last < SUITS && suits[last] == suits[first]) {
+                last++;
+            }
+            size *= multichoose(sequenceSizes[round][suits[first]], last - first);
+        }
+        return size;
+    }
+
+    private long key(int round, int[] suits) {
+        long key = 0;
+        for (int suit : suits) {
+            key = key * sequences[round] + suit;
+        }
+        return key;
+    }
+
+    private static long choose(long n, int k) {
+        if (n < k) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    // the amount of multisets of k out of n values
+    private static long multichoose(long n, int k) {
+        return choose(n + k - 1, k);
+    }
+}
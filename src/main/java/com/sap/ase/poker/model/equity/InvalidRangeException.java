@@ -0,0 +1,9 @@
+package com.sap.ase.poker.model.equity;
+
+public class InvalidRangeException extends RuntimeException {
+    private static final long serialVersionUID = -6210983622712907421L;
+
+    public InvalidRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sap.ase.poker.model.equity;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * A bounded cache which drops the least recently used entry when it is full.
+ */
+final class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    LruCache(int capacity) {
+        entries = Collections.synchronizedMap(new LinkedHashMap<K, V>(capacity, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    V get(K key) {
+        return entries.get(key);
+    }
+
+    void put(K key, V value) {
+        entries.put(key, value);
+    }
+}
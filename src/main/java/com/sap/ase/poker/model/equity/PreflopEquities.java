@@ -0,0 +1,133 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.rules.HandRules;
+import com.sap.ase.poker.model.rules.LookupTableHandEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.OptionalDouble;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Serves preflop equities from the PreflopEquityTable file, by default in a directory of the user. The file is
+ * only mapped when nobody else can write it (see LookupTableHandEvaluator.isPrivate). When it does not exist yet,
+ * is not private or is invalid, the first request starts generating it in the background and the equities are
+ * unavailable until it is written. The generation runs on its own fork-join pool of low priority threads, so it
+ * neither competes with the showdowns at normal priority nor occupies the common pool. A failed generation, or
+ * a generated file which cannot be mapped, is remembered: the equities stay unavailable until the next start
+ * instead of restarting the generation on every request.
+ */
+@Component
+public class PreflopEquities {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreflopEquities.class);
+
+    private final Path file;
+    private final PreflopEquityGenerator generator;
+    private final Executor executor;
+    private final int matchupSamples;
+    private final int multiwaySamples;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean generating;
+    private volatile boolean failed;
+    private volatile PreflopEquityTable table;
+
+    @Autowired
+    public PreflopEquities(@Value("${poker.equity.preflop-table:${user.home}/.poker/preflop-equity-v"
+                                   + PreflopEquityTable.VERSION + ".bin}") String file,
+                           @Value("${poker.equity.preflop-parallelism:0}") int parallelism, HandRules handRules) {
+        this(Paths.get(file), handRules, lowPriorityPool(parallelism));
+    }
+
+    // the parallel streams of the generator and the tasks of both calculators run in the pool of the generation
+    private PreflopEquities(Path file, HandRules handRules, ForkJoinPool pool) {
+        this(file, new PreflopEquityGenerator(new EquityCalculator(handRules, pool, new SplittableRandom()),
+                        new RangeEquityCalculator(handRules, pool, new SplittableRandom())), pool,
+                PreflopEquityGenerator.MATCHUP_SAMPLES, PreflopEquityGenerator.MULTIWAY_SAMPLES);
+    }
+
+    PreflopEquities(Path file, PreflopEquityGenerator generator, Executor executor, int matchupSamples,
+                    int multiwaySamples) {
+        this.file = file;
+        this.generator = generator;
+        this.executor = executor;
+        this.matchupSamples = matchupSamples;
+        this.multiwaySamples = multiwaySamples;
+    }
+
+    // half of the processors unless configured, at least one thread
+    static ForkJoinPool lowPriorityPool(int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("preflop-equity-generator-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, false);
+    }
+
+    // the equity of the hole cards against the given amount of random hands
+    public OptionalDouble equity(CardSet holeCards, int opponents) {
+        PreflopEquityTable equities = table();
+        return equities == null ? OptionalDouble.empty() : OptionalDouble.of(equities.equity(holeCards, opponents));
+    }
+
+    public OptionalDouble equity(CardSet holeCards, CardSet opponentHoleCards) {
+        PreflopEquityTable equities = table();
+        return equities == null ? OptionalDouble.empty()
+                : OptionalDouble.of(equities.equity(holeCards, opponentHoleCards));
+    }
+
+    private PreflopEquityTable table() {
+        if (table == null && !failed && !generating && isPrivate(file)) {
+            try {
+                table = new PreflopEquityTable(file);
+            } catch (IOException e) {
+                // a file of an earlier version is regenerated, a freshly generated one stays unavailable
+                failed = started.get();
+                LOGGER.warn("Cannot map the preflop equities from {}", file, e);
+            }
+        }
+        if (table == null && !failed && started.compareAndSet(false, true)) {
+            generating = true;
+            executor.execute(this::generate);
+        }
+        return table;
+    }
+
+    private void generate() {
+        try {
+            LOGGER.info("Generating the preflop equities to {}", file);
+            generator.write(file, matchupSamples, multiwaySamples);
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            LOGGER.warn("Cannot generate the preflop equities to {}, they stay unavailable", file, e);
+        } finally {
+            generating = false;
+        }
+    }
+
+    // owned by the user of this JVM and not writable by anybody else
+    static boolean isPrivate(Path file) {
+        try {
+            UserPrincipal user = file.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            return LookupTableHandEvaluator.isPrivate(file, user);
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+}
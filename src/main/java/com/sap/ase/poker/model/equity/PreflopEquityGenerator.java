@@ -0,0 +1,155 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.rules.HandRules;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.sap.ase.poker.model.equity.PreflopEquityTable.KINDS;
+import static com.sap.ase.poker.model.equity.PreflopEquityTable.MAX_OPPONENTS;
+import static com.sap.ase.poker.model.equity.PreflopEquityTable.STARTING_HANDS;
+
+/*
+ * Writes the tables of PreflopEquityTable. Heads-up matchups which only differ by a permutation of the suits
+ * have the same equity (see HandIndexer), and the reversed matchup has the complementary equity, so only one
+ * matchup of every such class is sampled, about 47,000 of the 1326 * 1326 matchups. The parallel streams run in
+ * the fork-join pool of the calling thread, see PreflopEquities, and in the common pool otherwise.
+ */
+public class PreflopEquityGenerator {
+
+    public static final int MATCHUP_SAMPLES = 20_000;
+    public static final int MULTIWAY_SAMPLES = 100_000;
+
+    private static final long TIME_BUDGET_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final HandIndexer MATCHUPS = new HandIndexer(EquityCalculator.HOLE_CARDS, EquityCalculator.HOLE_CARDS);
+
+    private final EquityCalculator equityCalculator;
+    private final RangeEquityCalculator rangeEquityCalculator;
+
+    public PreflopEquityGenerator(EquityCalculator equityCalculator, RangeEquityCalculator rangeEquityCalculator) {
+        this.equityCalculator = equityCalculator;
+        this.rangeEquityCalculator = rangeEquityCalculator;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path target = Paths.get(args.length > 0 ? args[0] : "preflop-equity.bin");
+        int matchupSamples = args.length > 1 ? Integer.parseInt(args[1]) : MATCHUP_SAMPLES;
+        int multiwaySamples = args.length > 2 ? Integer.parseInt(args[2]) : MULTIWAY_SAMPLES;
+        HandRules handRules = new HandRules();
+        new PreflopEquityGenerator(new EquityCalculator(handRules), new RangeEquityCalculator(handRules))
+                .write(target, matchupSamples, multiwaySamples);
+    }
+
+    // writes next to the target first, so that readers never map a partially written file
+    public void write(Path target, int matchupSamples, int multiwaySamples) throws IOException {
+        short[] startingHands = startingHands(multiwaySamples);
+        short[] headsUp = headsUp(matchupSamples);
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "preflop-equity", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(PreflopEquityTable.MAGIC);
+            out.writeInt(PreflopEquityTable.VERSION);
+            for (short equity : startingHands) {
+                out.writeShort(equity);
+            }
+            for (short equity : headsUp) {
+                out.writeShort(equity);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    short[] startingHands(int samples) {
+        short[] equities = new short[STARTING_HANDS * MAX_OPPONENTS];
+        Range anyHand = Range.ofCombos(IntStream.range(0, Range.COMBOS).toArray());
+        IntStream.range(0, STARTING_HANDS).parallel().forEach(startingHand -> {
+            Range hand = Range.ofCombos(PreflopEquityTable.combo(representative(startingHand)));
+            for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+                List<Range> ranges = new ArrayList<>(Collections.nCopies(opponents + 1, anyHand));
+                ranges.set(0, hand);
+                Equity equity = rangeEquityCalculator.calculate(ranges, CardSet.EMPTY, samples, 0, TIME_BUDGET_MILLIS);
+                equities[startingHand * MAX_OPPONENTS + opponents - 1] = toShort(equity.getEquity(0));
+            }
+        });
+        return equities;
+    }
+
+    short[] headsUp(int samples) {
+        int[] matchups = new int[(int) MATCHUPS.size(2)];
+        Arrays.fill(matchups, -1);
+        int[] matchupOf = new int[Range.COMBOS * Range.COMBOS];
+        List<Integer> representatives = new ArrayList<>();
+        for (int first = 0; first < Range.COMBOS; first++) {
+            for (int second = first + 1; second < Range.COMBOS; second++) {
+                if ((Range.holeCardMask(first) & Range.holeCardMask(second)) == 0) {
+                    // a matchup and its reverse are one class, flipped ones get the complement of the equity
+                    int canonical = canonicalMatchup(first, second);
+                    int reversed = canonicalMatchup(second, first);
+                    boolean flipped = reversed < canonical;
+                    int matchup = matchups[Math.min(canonical, reversed)];
+                    if (matchup < 0) {
+                        matchup = representatives.size();
+                        matchups[Math.min(canonical, reversed)] = matchup;
+                        representatives.add(flipped ? second * Range.COMBOS + first : first * Range.COMBOS + second);
+                    }
+                    matchupOf[first * Range.COMBOS + second] = flipped ? ~matchup : matchup;
+                }
+            }
+        }
+
+        short[] matchupEquities = new short[representatives.size()];
+        IntStream.range(0, matchupEquities.length).parallel().forEach(matchup -> {
+            int representative = representatives.get(matchup);
+            List<CardSet> holeCards = Arrays.asList(Range.holeCards(representative / Range.COMBOS),
+                    Range.holeCards(representative % Range.COMBOS));
+            Equity equity = equityCalculator.calculate(holeCards, CardSet.EMPTY, samples, 0, TIME_BUDGET_MILLIS);
+            matchupEquities[matchup] = toShort(equity.getEquity(0));
+        });
+
+        short[] equities = new short[Range.COMBOS * Range.COMBOS];
+        for (int first = 0; first < Range.COMBOS; first++) {
+            for (int second = first + 1; second < Range.COMBOS; second++) {
+                if ((Range.holeCardMask(first) & Range.holeCardMask(second)) == 0) {
+                    int matchup = matchupOf[first * Range.COMBOS + second];
+                    short equity = matchupEquities[matchup < 0 ? ~matchup : matchup];
+                    short complement = (short) (0xFFFF - (equity & 0xFFFF));
+                    equities[first * Range.COMBOS + second] = matchup < 0 ? complement : equity;
+                    equities[second * Range.COMBOS + first] = matchup < 0 ? equity : complement;
+                }
+            }
+        }
+        return equities;
+    }
+
+    // the suit isomorphism class of the matchup of the first against the second combination
+    static int canonicalMatchup(int first, int second) {
+        return (int) MATCHUPS.index(Range.holeCardMask(first), Range.holeCardMask(second));
+    }
+
+    // two cards of the starting hand, see PreflopEquityTable.startingHand
+    static CardSet representative(int startingHand) {
+        int row = startingHand / KINDS;
+        int column = startingHand % KINDS;
+        if (row > column) {
+            return CardSet.ofMask(1L << row | 1L << column);
+        }
+        return CardSet.ofMask(1L << column | 1L << KINDS + row);
+    }
+
+    private static short toShort(double equity) {
+        return (short) Math.round(equity * PreflopEquityTable.SCALE);
+    }
+}
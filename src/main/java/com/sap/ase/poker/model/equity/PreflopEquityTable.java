@@ -0,0 +1,94 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Preflop equities, memory mapped from a file written by PreflopEquityGenerator (big-endian):
+ * MAGIC, VERSION, then STARTING_HANDS * MAX_OPPONENTS equities of a starting hand against 1 to 8 random hands,
+ * then Range.COMBOS * Range.COMBOS heads-up equities of a combination against another one.
+ * Every equity is an unsigned short, 65535 is an equity of 1. Combinations which share a card have an equity of 0.
+ */
+public class PreflopEquityTable {
+
+    static final int MAGIC = 0x504B4551;
+    static final int VERSION = 1;
+    static final int KINDS = Kind.values().length;
+    public static final int STARTING_HANDS = KINDS * KINDS;
+    public static final int MAX_OPPONENTS = 8;
+    static final double SCALE = 0xFFFF;
+
+    private final ShortBuffer startingHands;
+    private final ShortBuffer headsUp;
+
+    public PreflopEquityTable(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long expectedSize = 2L * Integer.BYTES
+                    + ((long) STARTING_HANDS * MAX_OPPONENTS + (long) Range.COMBOS * Range.COMBOS) * Short.BYTES;
+            if (channel.size() != expectedSize || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported preflop equity table: " + file);
+            }
+            startingHands = sliceShorts(buffer, STARTING_HANDS * MAX_OPPONENTS);
+            headsUp = sliceShorts(buffer, Range.COMBOS * Range.COMBOS);
+        }
+    }
+
+    /*
+     * The 169 starting hands as the cells of the usual 13 x 13 grid: pairs on the diagonal, suited hands at
+     * [high kind][low kind] and offsuit hands at [low kind][high kind].
+     */
+    public static int startingHand(CardSet holeCards) {
+        int first = firstCard(holeCards);
+        int second = secondCard(holeCards);
+        int high = Math.max(first % KINDS, second % KINDS);
+        int low = Math.min(first % KINDS, second % KINDS);
+        boolean suited = first / KINDS == second / KINDS;
+        return suited ? high * KINDS + low : low * KINDS + high;
+    }
+
+    public double equity(CardSet holeCards, int opponents) {
+        if (opponents < 1 || opponents > MAX_OPPONENTS) {
+            throw new IllegalArgumentException("1 to 8 opponents allowed");
+        }
+        return (startingHands.get(startingHand(holeCards) * MAX_OPPONENTS + opponents - 1) & 0xFFFF) / SCALE;
+    }
+
+    public double equity(CardSet holeCards, CardSet opponentHoleCards) {
+        if (holeCards.containsAny(opponentHoleCards)) {
+            throw new IllegalArgumentException("A card is dealt more than once");
+        }
+        return (headsUp.get(combo(holeCards) * Range.COMBOS + combo(opponentHoleCards)) & 0xFFFF) / SCALE;
+    }
+
+    static int combo(CardSet holeCards) {
+        return Range.combo(firstCard(holeCards), secondCard(holeCards));
+    }
+
+    private static int firstCard(CardSet holeCards) {
+        if (holeCards.size() != EquityCalculator.HOLE_CARDS) {
+            throw new IllegalArgumentException("2 hole cards needed");
+        }
+        return Long.numberOfTrailingZeros(holeCards.getMask());
+    }
+
+    private static int secondCard(CardSet holeCards) {
+        return Long.SIZE - 1 - Long.numberOfLeadingZeros(holeCards.getMask());
+    }
+
+    private static ShortBuffer sliceShorts(ByteBuffer buffer, int size) {
+        ByteBuffer slice = buffer.slice();
+        ((Buffer) slice).limit(size * Short.BYTES);
+        ((Buffer) buffer).position(buffer.position() + size * Short.BYTES);
+        return slice.asShortBuffer();
+    }
+}
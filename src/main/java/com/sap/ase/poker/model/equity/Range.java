@@ -0,0 +1,108 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+
+import java.util.Arrays;
+
+/*
+ * An immutable set of the 1326 possible hole card combinations, one bit per combination. The combination of
+ * the cards with the ids low < high has the colex index high * (high - 1) / 2 + low. Two ranges with the
+ * same combinations are equal, however they were written.
+ */
+public final class Range {
+
+    public static final int COMBOS = (int) Combinations.binomial(Card.AMOUNT, 2);
+
+    private static final int WORDS = (COMBOS + Long.SIZE - 1) / Long.SIZE;
+    private static final long[] HOLE_CARDS = new long[COMBOS];
+
+    static {
+        for (int high = 1; high < Card.AMOUNT; high++) {
+            for (int low = 0; low < high; low++) {
+                HOLE_CARDS[combo(low, high)] = 1L << low | 1L << high;
+            }
+        }
+    }
+
+    private final long[] bits;
+    private final int size;
+
+    Range(long[] bits) {
+        this.bits = Arrays.copyOf(bits, WORDS);
+        int combos = 0;
+        for (long word : this.bits) {
+            combos += Long.bitCount(word);
+        }
+        this.size = combos;
+    }
+
+    public static Range parse(String notation) {
+        return RangeParser.parse(notation);
+    }
+
+    // the index of the combination of two different cards, in any order
+    public static int combo(int firstId, int secondId) {
+        int low = Math.min(firstId, secondId);
+        int high = Math.max(firstId, secondId);
+        return high * (high - 1) / 2 + low;
+    }
+
+    public static CardSet holeCards(int combo) {
+        return CardSet.ofMask(HOLE_CARDS[combo]);
+    }
+
+    static long holeCardMask(int combo) {
+        return HOLE_CARDS[combo];
+    }
+
+    public static Range ofCombos(int... combos) {
+        long[] bits = emptyBits();
+        for (int combo : combos) {
+            bits[combo >>> 6] |= 1L << combo;
+        }
+        return new Range(bits);
+    }
+
+    static long[] emptyBits() {
+        return new long[WORDS];
+    }
+
+    public boolean contains(int combo) {
+        return (bits[combo >>> 6] & 1L << combo) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // the card masks of all combinations which do not use any of the dead cards
+    public long[] holeCardMasks(long deadCards) {
+        long[] masks = new long[size];
+        int next = 0;
+        for (int word = 0; word < WORDS; word++) {
+            for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                long cards = HOLE_CARDS[word * Long.SIZE + Long.numberOfTrailingZeros(remaining)];
+                if ((cards & deadCards) == 0) {
+                    masks[next++] = cards;
+                }
+            }
+        }
+        return Arrays.copyOf(masks, next);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Range && Arrays.equals(bits, ((Range) obj).bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return size + " combos";
+    }
+}
@@ -0,0 +1,163 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.equity.EquityCalculator.Tally;
+import com.sap.ase.poker.model.rules.HandRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Estimates the equity of ranges against each other. Every sample deals a random combination from each range
+ * and a random run-out; samples where two players would hold the same card are dealt again, so every valid
+ * deal is equally likely. Card removal is a single mask intersection. Results are cached by the ranges
+ * (which compare by their combinations) and the board, and a cached result only answers requests it is precise
+ * enough for: it reached their target error or was sampled at least as often as they allow.
+ */
+public class RangeEquityCalculator {
+
+    static final int CACHE_SIZE = 1_024;
+
+    private static final int ROUND_SAMPLES = 65_536;
+    private static final int TASK_SAMPLES = 4_096;
+    private static final int MAX_DEALS_PER_SAMPLE = 100;
+
+    private final HandRules handRules;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+    private final LruCache<List<Object>, Equity> cache = new LruCache<>(CACHE_SIZE);
+
+    public RangeEquityCalculator(HandRules handRules) {
+        this(handRules, ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    RangeEquityCalculator(HandRules handRules, ForkJoinPool pool, SplittableRandom random) {
+        this.handRules = handRules;
+        this.pool = pool;
+        this.random = random;
+    }
+
+    public Equity calculate(List<Range> ranges, CardSet board) {
+        return calculate(ranges, board, EquityCalculator.MAX_SAMPLES, EquityCalculator.TARGET_ERROR,
+                EquityCalculator.TIME_BUDGET_MILLIS);
+    }
+
+    public Equity calculate(List<Range> ranges, CardSet board, int maxSamples, double targetError,
+                            long timeBudgetMillis) {
+        if (ranges.size() < EquityCalculator.MIN_PLAYERS || ranges.size() > EquityCalculator.MAX_PLAYERS) {
+            throw new IllegalArgumentException("2 to 9 ranges needed");
+        }
+        if (board.size() > EquityCalculator.BOARD_CARDS) {
+            throw new IllegalArgumentException("At most 5 board cards allowed");
+        }
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("At least 1 sample needed");
+        }
+        List<Object> query = new ArrayList<>(ranges);
+        query.add(board.getMask());
+        Equity cached = cache.get(query);
+        if (cached != null && isPreciseEnough(cached, maxSamples, targetError)) {
+            return cached;
+        }
+        Equity equity = sample(ranges, board.getMask(), maxSamples, targetError, timeBudgetMillis);
+        if (cached == null || equity.getBoards() > cached.getBoards()) {
+            cache.put(query, equity);
+        }
+        return equity;
+    }
+
+    // a cut short time budget does not make a result precise enough for anyone else
+    static boolean isPreciseEnough(Equity equity, int maxSamples, double targetError) {
+        return equity.getStandardError() <= targetError || equity.getBoards() >= maxSamples;
+    }
+
+    private Equity sample(List<Range> ranges, long board, int maxSamples, double targetError, long timeBudgetMillis) {
+        long[][] combos = new long[ranges.size()][];
+        for (int player = 0; player < combos.length; player++) {
+            combos[player] = ranges.get(player).holeCardMasks(board);
+            if (combos[player].length == 0) {
+                throw new IllegalArgumentException("The range of player " + player + " is empty on this board");
+            }
+        }
+
+        SplittableRandom roundRandom;
+        synchronized (random) {
+            roundRandom = random.split();
+        }
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        Tally total = new Tally(combos.length);
+        do {
+            int samples = Math.min(ROUND_SAMPLES, maxSamples - (int) total.boards);
+            Tally round = pool.invoke(new SampleTask(combos, board, samples, roundRandom.split()));
+            if (round.boards == 0) {
+                throw new IllegalArgumentException("The ranges cannot be dealt together");
+            }
+            total.merge(round);
+        } while (total.boards < maxSamples && total.standardError() > targetError && System.nanoTime() < deadline);
+        return total.toEquity(total.standardError());
+    }
+
+    private class SampleTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[][] combos;
+        private final long board;
+        private final int samples;
+        private final SplittableRandom random;
+
+        SampleTask(long[][] combos, long board, int samples, SplittableRandom random) {
+            this.combos = combos;
+            this.board = board;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (samples > TASK_SAMPLES) {
+                SampleTask first = new SampleTask(combos, board, samples / 2, random.split());
+                first.fork();
+                Tally tally = new SampleTask(combos, board, samples - samples / 2, random).compute();
+                tally.merge(first.join());
+                return tally;
+            }
+
+            long[] hands = new long[combos.length];
+            int missing = EquityCalculator.BOARD_CARDS - Long.bitCount(board);
+            Tally tally = new Tally(combos.length);
+            for (long deals = 0; tally.boards < samples && deals < (long) samples * MAX_DEALS_PER_SAMPLE; deals++) {
+                long dealt = deal(hands);
+                if (dealt != 0) {
+                    long runOut = board;
+                    for (int i = 0; i < missing; i++) {
+                        long card;
+                        do {
+                            card = 1L << random.nextInt(Card.AMOUNT);
+                        } while ((dealt & card) != 0);
+                        dealt |= card;
+                        runOut |= card;
+                    }
+                    tally.add(handRules, hands, runOut);
+                }
+            }
+            return tally;
+        }
+
+        // deals a combination of every range, returns all dealt cards or 0 if two combinations share a card
+        private long deal(long[] hands) {
+            long dealt = board;
+            for (int player = 0; player < hands.length; player++) {
+                hands[player] = combos[player][random.nextInt(combos[player].length)];
+                if ((dealt & hands[player]) != 0) {
+                    return 0;
+                }
+                dealt |= hands[player];
+            }
+            return dealt;
+        }
+    }
+}
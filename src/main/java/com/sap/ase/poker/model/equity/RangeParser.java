@@ -0,0 +1,135 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Parses the usual range notation, a comma separated list of:
+ * - pairs: "77", "77+" (sevens to aces) or "99-66"
+ * - two kinds, suited (s), offsuit (o) or both: "AKs", "KQo", "AK", "ATs+" (ace-ten to ace-king) or "A5s-A2s"
+ * - single combinations: "AhKd"
+ * Kinds are written 2-9, T, J, Q, K, A and suits h, d, s, c.
+ */
+final class RangeParser {
+
+    private static final String KINDS = "23456789TJQKA";
+    private static final String SUITS = "dhsc";
+    private static final String KIND = "([2-9TJQKA])";
+
+    private static final Pattern COMBO = Pattern.compile(KIND + "([hdsc])" + KIND + "([hdsc])");
+    private static final Pattern HANDS = Pattern.compile(KIND + KIND + "([so]?)(\\+?)");
+    private static final Pattern SPAN = Pattern.compile(KIND + KIND + "([so]?)-" + KIND + KIND + "([so]?)");
+
+    private RangeParser() {
+    }
+
+    static Range parse(String notation) {
+        long[] bits = Range.emptyBits();
+        for (String token : notation.split(",")) {
+            String hands = token.trim();
+            if (!hands.isEmpty()) {
+                add(bits, hands);
+            }
+        }
+        return new Range(bits);
+    }
+
+    private static void add(long[] bits, String hands) {
+        Matcher combo = COMBO.matcher(hands);
+        if (combo.matches()) {
+            int first = cardId(combo.group(1), combo.group(2));
+            int second = cardId(combo.group(3), combo.group(4));
+            if (first == second) {
+                throw new InvalidRangeException("The same card twice in " + hands);
+            }
+            set(bits, Range.combo(first, second));
+            return;
+        }
+        Matcher span = SPAN.matcher(hands);
+        if (span.matches()) {
+            addSpan(bits, hands, span);
+            return;
+        }
+        Matcher matcher = HANDS.matcher(hands);
+        if (!matcher.matches()) {
+            throw new InvalidRangeException("Unknown hands " + hands);
+        }
+        int high = Math.max(kind(matcher.group(1)), kind(matcher.group(2)));
+        int low = Math.min(kind(matcher.group(1)), kind(matcher.group(2)));
+        String suitedness = matcher.group(3);
+        boolean andBetter = !matcher.group(4).isEmpty();
+        if (high == low) {
+            requireNoSuitedness(hands, suitedness);
+            addKinds(bits, high, high, suitedness, andBetter ? Kind.ACE.ordinal() : high, true);
+        } else {
+            addKinds(bits, high, low, suitedness, andBetter ? high - 1 : low, false);
+        }
+    }
+
+    // "99-66" or "A5s-A2s", the spans are inclusive and may be written in either order
+    private static void addSpan(long[] bits, String hands, Matcher span) {
+        int firstHigh = kind(span.group(1));
+        int firstLow = kind(span.group(2));
+        int lastHigh = kind(span.group(4));
+        int lastLow = kind(span.group(5));
+        String suitedness = span.group(3);
+        if (!suitedness.equals(span.group(6))) {
+            throw new InvalidRangeException("Different suitedness in " + hands);
+        }
+        if (firstHigh == firstLow && lastHigh == lastLow) {
+            requireNoSuitedness(hands, suitedness);
+            addKinds(bits, Math.min(firstHigh, lastHigh), Math.min(firstHigh, lastHigh), suitedness,
+                    Math.max(firstHigh, lastHigh), true);
+        } else if (firstHigh == lastHigh && firstHigh > firstLow && firstHigh > lastLow) {
+            addKinds(bits, firstHigh, Math.min(firstLow, lastLow), suitedness, Math.max(firstLow, lastLow), false);
+        } else {
+            throw new InvalidRangeException("Unknown span " + hands);
+        }
+    }
+
+    /*
+     * Adds the pairs from -> to (pairs == true) or the hands of the high kind with every kicker from -> to.
+     */
+    private static void addKinds(long[] bits, int high, int from, String suitedness, int to, boolean pairs) {
+        for (int kind = from; kind <= to; kind++) {
+            int first = pairs ? kind : high;
+            for (int firstSuit = 0; firstSuit < SUITS.length(); firstSuit++) {
+                for (int secondSuit = 0; secondSuit < SUITS.length(); secondSuit++) {
+                    boolean suited = firstSuit == secondSuit;
+                    boolean wanted = pairs ? firstSuit < secondSuit
+                            : suitedness.isEmpty() || suited == suitedness.equals("s");
+                    if (wanted) {
+                        set(bits, Range.combo(id(first, firstSuit), id(kind, secondSuit)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void requireNoSuitedness(String hands, String suitedness) {
+        if (!suitedness.isEmpty()) {
+            throw new InvalidRangeException("Pairs cannot be suited or offsuit: " + hands);
+        }
+    }
+
+    private static void set(long[] bits, int combo) {
+        bits[combo >>> 6] |= 1L << combo;
+    }
+
+    private static int kind(String kind) {
+        return KINDS.indexOf(kind);
+    }
+
+    private static int cardId(String kind, String suit) {
+        return id(kind(kind), SUITS.indexOf(suit));
+    }
+
+    // SUITS is in the order of Suit, so the index is the suit ordinal
+    private static int id(int kind, int suit) {
+        return Card.of(Kind.values()[kind], Suit.values()[suit]).getId();
+    }
+}
@@ -8,8 +8,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public class Flush extends Hand {
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.topRanks;
 
+public class Flush extends Hand {
 
     private static final int FLUSH_RANK = 6;
 
@@ -22,12 +23,20 @@ public class Flush extends Hand {
         return FLUSH_RANK;
     }
 
+    @Override
+    int findStrength(RankMasks masks) {
+        int flush = masks.flush();
+        if (flush == 0) {
+            throw new InvalidHandException("No Flush Found");
+        }
+        return topRanks(flush, MAX_HAND_CARD_AMOUNT);
+    }
+
     @Override
     protected List<Card> findRelevantCards(List<Card> cards) {
         Map<Suit, List<Card>> suitMap = cards.stream().
                 collect(Collectors.groupingBy(Card::getSuit));
 
-
         for (List<Card> possibleFlush :
                 suitMap.values()) {
             if (possibleFlush.size() < 5) {
@@ -38,9 +47,4 @@ public class Flush extends Hand {
 
         throw new InvalidHandException("No Flush Found");
     }
-
-    @Override
-    protected int compareRelevantCards(Hand hand) {
-        return new HighCard(cards).compareRelevantCards(new HighCard(hand.getRelevantCards()));
-    }
 }
@@ -9,6 +9,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.highest;
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.topRanks;
+
 public class FourOfAKind extends Hand {
 
     public static final int FOUR_OF_A_KIND_RANK = 8;
@@ -23,15 +26,17 @@ public class FourOfAKind extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        return findFourOfAKind(cards);
+    int findStrength(RankMasks masks) {
+        if (masks.quads == 0) {
+            throw new InvalidHandException("FourOfAKind Not Found");
+        }
+        int quads = highest(masks.quads);
+        return (quads + 1) << 4 | topRanks(RankMasks.without(masks.any, quads), 1);
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        int rank = this.getRelevantCards().get(0).getKind().getRank();
-        int otherRank = hand.getRelevantCards().get(0).getKind().getRank();
-        return rank - otherRank;
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return findFourOfAKind(cards);
     }
 
     private List<Card> findFourOfAKind(List<Card> cards) {
@@ -10,6 +10,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.highest;
+
 public class FullHouse extends Hand {
 
     private static final int FULL_HOUSE_RANK = 7;
@@ -24,16 +26,18 @@ public class FullHouse extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        return findFullHouse(cards);
+    int findStrength(RankMasks masks) {
+        if (masks.trips == 0 || (masks.pairs == 0 && Integer.bitCount(masks.trips) < 2)) {
+            throw new InvalidHandException("FullHouse Not Found");
+        }
+        int trips = highest(masks.trips);
+        int pair = highest(RankMasks.without(masks.trips, trips) | masks.pairs);
+        return (trips + 1) << 4 | (pair + 1);
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        ThreeOfAKind threeOfAKind = new ThreeOfAKind(cards);
-        ThreeOfAKind otherThreeOfAKind = new ThreeOfAKind(hand.getRelevantCards());
-
-        return threeOfAKind.compareTo(otherThreeOfAKind);
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return findFullHouse(cards);
     }
 
     private List<Card> findFullHouse(List<Card> cards) {
@@ -1,6 +1,7 @@
 package com.sap.ase.poker.model.hands;
 
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.rules.HandEvaluator;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -10,60 +11,81 @@ import java.util.stream.Collectors;
 public abstract class Hand implements Comparable<Hand> {
     public static final int MAX_HAND_CARD_AMOUNT = 5;
 
-    protected List<Card> cards = new ArrayList<>();
-    protected List<Card> relevantCards = new ArrayList<>();
-    protected List<Card> kickerCards = new ArrayList<>();
+    private final List<Card> availableCards;
+    private final long strength;
 
-    public Hand(List<Card> cards) {
-        List<Card> relevantCards = findRelevantCards(cards);
-        this.cards.addAll(relevantCards);
-        List<Card> kickerCards = findKickerCards(cards);
+    protected List<Card> cards;
+    protected List<Card> relevantCards;
+    protected List<Card> kickerCards;
 
-        this.cards.addAll(kickerCards);
-        this.relevantCards.addAll(relevantCards);
-        this.kickerCards.addAll(kickerCards);
+    public Hand(List<Card> cards) {
+        this.availableCards = cards;
+        this.strength = (long) getRank() << HandEvaluator.CATEGORY_SHIFT | findStrength(new RankMasks(cards));
     }
 
     public abstract int getRank();
 
+    /*
+     * Returns the relevant ranks followed by the kicker ranks of this hand packed into 4-bit slots, most
+     * significant first, or throws an InvalidHandException if the cards do not contain this hand.
+     */
+    abstract int findStrength(RankMasks masks);
+
     abstract protected List<Card> findRelevantCards(List<Card> cards);
 
-    protected List<Card> findKickerCards(List<Card> cards) {
-        List<Card> potentialKickerCards = findUnusedCards(cards);
-        potentialKickerCards.sort(Card::compareTo);
+    // category, relevant ranks and kickers packed into one key, the same value the HandEvaluator returns
+    public long getStrength() {
+        return strength;
+    }
+
+    private List<Card> findKickerCards(List<Card> cards, List<Card> relevantCards) {
+        List<Card> potentialKickerCards = cards.stream().filter(card -> !relevantCards.contains(card))
+                .sorted(Card::compareTo).collect(Collectors.toList());
 
-        int amountOfNeededKickerCards = MAX_HAND_CARD_AMOUNT - this.cards.size();
+        int amountOfNeededKickerCards = MAX_HAND_CARD_AMOUNT - relevantCards.size();
         return potentialKickerCards.subList(potentialKickerCards.size() - amountOfNeededKickerCards,
                 potentialKickerCards.size());
     }
 
-    private List<Card> findUnusedCards(List<Card> cards) {
-        return cards.stream().filter(card -> !this.cards.contains(card)).collect(Collectors.toList());
+    private void materializeCards() {
+        if (cards != null) {
+            return;
+        }
+        relevantCards = new ArrayList<>(findRelevantCards(availableCards));
+        kickerCards = new ArrayList<>(findKickerCards(availableCards, relevantCards));
+        cards = new ArrayList<>(relevantCards);
+        cards.addAll(kickerCards);
     }
 
     public List<Card> getCards() {
+        materializeCards();
         return this.cards;
     }
 
     public void setCards(List<Card> cards) {
+        materializeCards();
         this.cards = cards;
     }
 
     @Override
     public int compareTo(Hand hand) {
-        int rankComparisonResult = this.getRank() - hand.getRank();
-
-        if (rankComparisonResult != 0) {
-            return rankComparisonResult;
-        } else {
-            int relevantCardsComparisonResult = compareRelevantCards(hand);
-
-            if (relevantCardsComparisonResult != 0) {
-                return relevantCardsComparisonResult;
-            } else {
-                return compareKickerCards(hand);
-            }
+        return Long.compare(this.strength, hand.strength);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
         }
+        if (!(obj instanceof Hand)) {
+            return false;
+        }
+        return strength == ((Hand) obj).strength;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(strength);
     }
 
     protected List<Card> sortCardsDescending(List<Card> cards) {
@@ -77,36 +99,13 @@ public abstract class Hand implements Comparable<Hand> {
         return cards.stream().sorted(Card::compareTo).collect(Collectors.toList());
     }
 
-    protected abstract int compareRelevantCards(Hand hand);
-
-    private int compareKickerCards(Hand hand) {
-
-        List<Card> kickerCardsOfHand1 = this.getKickerCards();
-        List<Card> kickerCardsOfHand2 = hand.getKickerCards();
-
-        if (kickerCardsOfHand1.isEmpty() && kickerCardsOfHand2.isEmpty()) {
-            return 0;
-        }
-
-        kickerCardsOfHand1.sort(Card::compareTo);
-        kickerCardsOfHand2.sort(Card::compareTo);
-
-        int kickerCardsComparison;
-
-        int i = 0;
-        do {
-            kickerCardsComparison = kickerCardsOfHand1.get(i).compareTo(kickerCardsOfHand2.get(i));
-            i++;
-        } while (kickerCardsComparison == 0 && i < kickerCardsOfHand1.size());
-
-        return kickerCardsComparison;
-    }
-
     public List<Card> getKickerCards() {
+        materializeCards();
         return kickerCards;
     }
 
     public List<Card> getRelevantCards() {
+        materializeCards();
         return relevantCards;
     }
 }
@@ -1,11 +1,11 @@
 package com.sap.ase.poker.model.hands;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.sap.ase.poker.model.deck.Card;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.topRanks;
+
 public class HighCard extends Hand {
 
     public static final int HIGH_CARD_RANK = 1;
@@ -20,32 +20,12 @@ public class HighCard extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        List<Card> restCards =
-                cards.stream().filter(card -> !getCards().contains(card)).sorted(Card::compareTo)
-                        .collect(Collectors.toList());
-        return restCards.subList(restCards.size() - 5, restCards.size());
+    int findStrength(RankMasks masks) {
+        return topRanks(masks.any, MAX_HAND_CARD_AMOUNT);
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        List<Card> relevantCards1 = this.getRelevantCards();
-        List<Card> relevantCards2 = hand.getRelevantCards();
-
-        //ensure descending ordering of cards (e.g. ACE, KING, ...
-        Collections.sort(relevantCards1, Collections.reverseOrder(Card::compareTo));
-        Collections.sort(relevantCards2, Collections.reverseOrder(Card::compareTo));
-
-        for (int i = 0; i < relevantCards1.size(); i++) {
-            Card card1 = relevantCards1.get(i);
-            Card card2 = relevantCards2.get(i);
-
-            int cardComparisonResult = card1.compareTo(card2);
-            if (cardComparisonResult != 0) {
-                return cardComparisonResult;
-            }
-        }
-
-        return 0;
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return sortCardsDescending(cards).subList(0, MAX_HAND_CARD_AMOUNT);
     }
 }
@@ -4,11 +4,15 @@ import com.sap.ase.poker.model.InvalidHandException;
 import com.sap.ase.poker.model.deck.Card;
 import com.sap.ase.poker.model.deck.Kind;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.highest;
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.topRanks;
+
 public class Pair extends Hand {
 
     public static final int PAIR_RANK = 2;
@@ -23,25 +27,24 @@ public class Pair extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        return findPair(cards);
+    int findStrength(RankMasks masks) {
+        if (masks.pairs == 0) {
+            throw new InvalidHandException("Pair Not found");
+        }
+        int pair = highest(masks.pairs);
+        return (pair + 1) << 12 | topRanks(RankMasks.without(masks.any, pair), 3);
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        Integer pairRank = this.getRelevantCards().stream().map(card -> card.getKind().getRank())
-                .max(Integer::compareTo).get();
-        Integer otherPairRank = hand.getRelevantCards().stream().map(card -> card.getKind().getRank())
-                .max(Integer::compareTo).get();
-
-        return pairRank - otherPairRank;
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return findPair(cards);
     }
 
     private List<Card> findPair(List<Card> cards) {
         Map<Kind, List<Card>> kindGroups = cards.stream().collect(Collectors.groupingBy(Card::getKind));
         Optional<List<Card>> pair =
-                kindGroups.values().stream().filter(group -> group.size() == 2).findFirst();
-
+                kindGroups.values().stream().filter(group -> group.size() == 2)
+                        .max(Comparator.comparing(group -> group.get(0)));
 
         return pair.orElseThrow(() -> new InvalidHandException("Pair Not found"));
     }
@@ -0,0 +1,45 @@
+package com.sap.ase.poker.model.hands;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.rules.BitmaskHandEvaluator;
+
+import java.util.List;
+
+/*
+ * 13-bit rank masks (bit = Kind.ordinal()) of a list of cards, built in one pass so that the hands can
+ * compute their strength without grouping, sorting or copying the cards. The masks are combined with the
+ * helpers of BitmaskHandEvaluator.
+ */
+final class RankMasks {
+
+    private static final int SUITS = 4;
+
+    final int[] suits = new int[SUITS];
+    final int any;
+    final int pairs;
+    final int trips;
+    final int quads;
+
+    RankMasks(List<Card> cards) {
+        CardSet cardSet = CardSet.of(cards);
+        for (Suit suit : Suit.values()) {
+            suits[suit.ordinal()] = cardSet.suitMask(suit);
+        }
+        int atLeastTwo = BitmaskHandEvaluator.atLeastTwo(suits[0], suits[1], suits[2], suits[3]);
+        int atLeastThree = BitmaskHandEvaluator.atLeastThree(suits[0], suits[1], suits[2], suits[3]);
+        any = suits[0] | suits[1] | suits[2] | suits[3];
+        quads = suits[0] & suits[1] & suits[2] & suits[3];
+        trips = atLeastThree & ~quads;
+        pairs = atLeastTwo & ~atLeastThree;
+    }
+
+    int flush() {
+        return BitmaskHandEvaluator.flushRanks(suits[0], suits[1], suits[2], suits[3]);
+    }
+
+    static int without(int ranks, int rank) {
+        return ranks & ~(1 << rank);
+    }
+}
@@ -2,12 +2,12 @@ package com.sap.ase.poker.model.hands;
 
 import com.sap.ase.poker.model.InvalidHandException;
 import com.sap.ase.poker.model.deck.Card;
-import com.sap.ase.poker.model.deck.Kind;
-import com.sap.ase.poker.model.deck.Suit;
 
-import java.util.Arrays;
 import java.util.List;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.ACE;
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.straightHigh;
+
 public class RoyalFlush extends Hand {
     private static final int ROYAL_FLUSH_RANK = 10;
 
@@ -21,34 +21,15 @@ public class RoyalFlush extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        StraightFlush straightFlush;
-        try {
-            straightFlush = new StraightFlush(cards);
-        } catch (InvalidHandException exception) {
+    int findStrength(RankMasks masks) {
+        if (straightHigh(masks.flush()) != ACE) {
             throw new InvalidHandException("No royal flush present");
         }
-        List<Card> relevantCards = straightFlush.getRelevantCards();
-        if (cardsContainOnlyRoyalKinds(relevantCards)) {
-            return relevantCards;
-        }
-        throw new InvalidHandException("No royal flush present");
-    }
-
-    private boolean cardsContainOnlyRoyalKinds(List<Card> relevantCards) {
-        Suit suit = relevantCards.get(0).getSuit();
-
-        return relevantCards.containsAll(Arrays.asList(
-                new Card(Kind.ACE, suit),
-                new Card(Kind.KING, suit),
-                new Card(Kind.QUEEN, suit),
-                new Card(Kind.JACK, suit),
-                new Card(Kind.TEN, suit)
-        ));
+        return ACE + 1;
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        return 0;
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return new StraightFlush(cards).getRelevantCards();
     }
 }
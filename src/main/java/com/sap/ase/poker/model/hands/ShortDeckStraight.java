@@ -0,0 +1,19 @@
+package com.sap.ase.poker.model.hands;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+
+import java.util.List;
+
+// a straight of the short deck, where the ace also makes the nine high straight A-6-7-8-9
+public class ShortDeckStraight extends Straight {
+
+    public ShortDeckStraight(List<Card> cards) {
+        super(cards);
+    }
+
+    @Override
+    Kind lowestKind() {
+        return Kind.SIX;
+    }
+}
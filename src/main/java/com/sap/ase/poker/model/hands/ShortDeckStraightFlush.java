@@ -0,0 +1,23 @@
+package com.sap.ase.poker.model.hands;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+
+import java.util.List;
+
+public class ShortDeckStraightFlush extends StraightFlush {
+
+    public ShortDeckStraightFlush(List<Card> cards) {
+        super(cards);
+    }
+
+    @Override
+    Kind lowestKind() {
+        return Kind.SIX;
+    }
+
+    @Override
+    Straight straight(List<Card> cards) {
+        return new ShortDeckStraight(cards);
+    }
+}
@@ -2,9 +2,12 @@ package com.sap.ase.poker.model.hands;
 
 import com.sap.ase.poker.model.InvalidHandException;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.straightHigh;
 
 public class Straight extends Hand {
     private final static int STRAIGHT_RANK = 5;
@@ -19,57 +22,45 @@ public class Straight extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        List<Card> sorted = sortCardsAscending(cards);
-        if (isFiveCardStraight(cards)) {
-            return cards;
+    int findStrength(RankMasks masks) {
+        int high = straightHigh(masks.any, lowestKind().ordinal());
+        if (high < 0) {
+            throw new InvalidHandException("No straight present");
         }
-        for (Card card : sorted) {
-            List<Card> oneCardRemoved =
-                    sorted.stream().filter(card::notEquals).collect(Collectors.toList());
-
-            if (isFiveCardStraight(oneCardRemoved)) {
-                return oneCardRemoved;
-            }
-            for (Card card2 : oneCardRemoved) {
-                List<Card> possibleHand =
-                        oneCardRemoved.stream().filter(card2::notEquals).collect(Collectors.toList());
+        return high + 1;
+    }
 
-                if (isFiveCardStraight(possibleHand)) {
-                    return possibleHand;
-                }
+    @Override
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        Card[] cardsByKind = new Card[Kind.ACE.ordinal() + 1];
+        for (Card card : cards) {
+            cardsByKind[card.getKind().ordinal()] = card;
+        }
+        int lowest = lowestKind().ordinal();
+        for (int high = Kind.ACE.ordinal(); high >= lowest + MAX_HAND_CARD_AMOUNT - 2; high--) {
+            List<Card> straight = findStraightEndingAt(cardsByKind, high, lowest);
+            if (straight != null) {
+                return straight;
             }
         }
         throw new InvalidHandException("No straight present");
     }
 
-    private boolean isFiveCardStraight(List<Card> cards) {
-        return cards.size() == 5 && isStraight(cards);
+    // the ace also counts as the card below the lowest kind of the deck
+    Kind lowestKind() {
+        return Kind.TWO;
     }
 
-
-    private boolean isStraight(List<Card> possibleHand) {
-        List<Card> cards = sortCardsDescending(possibleHand);
-
-        int previousRank = -1;
-        for (Card card : cards) {
-            int rank = card.getKind().getRank();
-            if (previousRank == -1) {
-                previousRank = rank;
-                continue;
-            }
-            int difference = previousRank - rank;
-
-            if (difference != 1) {
-                return false;
+    private List<Card> findStraightEndingAt(Card[] cardsByKind, int high, int lowest) {
+        List<Card> straight = new ArrayList<>(MAX_HAND_CARD_AMOUNT);
+        for (int kind = high; kind > high - MAX_HAND_CARD_AMOUNT; kind--) {
+            // the ace also counts as the lowest card of a five high straight
+            Card card = cardsByKind[kind < lowest ? Kind.ACE.ordinal() : kind];
+            if (card == null) {
+                return null;
             }
-            previousRank = rank;
+            straight.add(card);
         }
-        return true;
-    }
-
-    @Override
-    protected int compareRelevantCards(Hand hand) {
-        return new HighCard(cards).compareRelevantCards(new HighCard(hand.getRelevantCards()));
+        return straight;
     }
 }
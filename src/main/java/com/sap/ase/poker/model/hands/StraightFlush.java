@@ -2,11 +2,14 @@ package com.sap.ase.poker.model.hands;
 
 import com.sap.ase.poker.model.InvalidHandException;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
 import com.sap.ase.poker.model.deck.Suit;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.straightHigh;
+
 public class StraightFlush extends Hand {
 
     private static final int STRAIGHT_FLUSH_RANK = 9;
@@ -21,24 +24,30 @@ public class StraightFlush extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        try {
-            Flush flush = new Flush(cards);
-            Suit suit = flush.getRelevantCards().get(0).getSuit();
-
-            List<Card> cardsOfSameSuit =
-                    cards.stream().filter(card -> card.getSuit().equals(suit)).collect(Collectors.toList());
-
-            Straight straight = new Straight(cardsOfSameSuit);
-            return straight.getRelevantCards();
-        } catch (InvalidHandException e) {
+    int findStrength(RankMasks masks) {
+        int high = straightHigh(masks.flush(), lowestKind().ordinal());
+        if (high < 0) {
             throw new InvalidHandException("No straight flush present");
         }
+        return high + 1;
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        Card highestCard = hand.getRelevantCards().get(0);
-        return this.getRelevantCards().get(0).compareTo(highestCard);
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        Suit suit = new Flush(cards).getRelevantCards().get(0).getSuit();
+
+        List<Card> cardsOfSameSuit =
+                cards.stream().filter(card -> card.getSuit().equals(suit)).collect(Collectors.toList());
+
+        return straight(cardsOfSameSuit).getRelevantCards();
+    }
+
+    // the straight rules of the deck, see Straight.lowestKind()
+    Kind lowestKind() {
+        return Kind.TWO;
+    }
+
+    Straight straight(List<Card> cards) {
+        return new Straight(cards);
     }
 }
@@ -4,11 +4,15 @@ import com.sap.ase.poker.model.InvalidHandException;
 import com.sap.ase.poker.model.deck.Card;
 import com.sap.ase.poker.model.deck.Kind;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.highest;
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.topRanks;
+
 public class ThreeOfAKind extends Hand {
 
     public static final int THREE_OF_A_KIND_RANK = 4;
@@ -23,22 +27,24 @@ public class ThreeOfAKind extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        return findThreeOfAKind(cards);
+    int findStrength(RankMasks masks) {
+        if (masks.trips == 0) {
+            throw new InvalidHandException("ThreeOfAKind Not Found");
+        }
+        int trips = highest(masks.trips);
+        return (trips + 1) << 8 | topRanks(RankMasks.without(masks.any, trips), 2);
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        int rank = this.getRelevantCards().get(0).getKind().getRank();
-        int otherRank = hand.getRelevantCards().get(0).getKind().getRank();
-
-        return rank - otherRank;
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return findThreeOfAKind(cards);
     }
 
     private List<Card> findThreeOfAKind(List<Card> cards) {
         Map<Kind, List<Card>> kindGroups = cards.stream().collect(Collectors.groupingBy(Card::getKind));
         Optional<List<Card>> quadruple =
-                kindGroups.values().stream().filter(group -> group.size() == 3).findFirst();
+                kindGroups.values().stream().filter(group -> group.size() == 3)
+                        .max(Comparator.comparing(group -> group.get(0)));
 
         return quadruple.orElseThrow(() -> new InvalidHandException("ThreeOfAKind Not Found"));
     }
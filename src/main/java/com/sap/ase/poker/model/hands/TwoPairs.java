@@ -5,10 +5,14 @@ import com.sap.ase.poker.model.deck.Card;
 import com.sap.ase.poker.model.deck.Kind;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.highest;
+import static com.sap.ase.poker.model.rules.BitmaskHandEvaluator.topRanks;
+
 public class TwoPairs extends Hand {
 
     public static final int TWO_PAIRS_RANK = 3;
@@ -23,37 +27,28 @@ public class TwoPairs extends Hand {
     }
 
     @Override
-    protected List<Card> findRelevantCards(List<Card> cards) {
-        return findTwoPairs(cards);
+    int findStrength(RankMasks masks) {
+        if (Integer.bitCount(masks.pairs) < 2) {
+            throw new InvalidHandException("Two PairsNotFound");
+        }
+        int highPair = highest(masks.pairs);
+        int lowPair = highest(RankMasks.without(masks.pairs, highPair));
+        int kickers = RankMasks.without(RankMasks.without(masks.any, highPair), lowPair);
+        return (highPair + 1) << 8 | (lowPair + 1) << 4 | topRanks(kickers, 1);
     }
 
     @Override
-    protected int compareRelevantCards(Hand hand) {
-        Integer highestPairRank = this.getRelevantCards().stream().map(card -> card.getKind().getRank())
-                .max(Integer::compareTo).get();
-        Integer otherHighestPairRank =
-                hand.getRelevantCards().stream().map(card -> card.getKind().getRank())
-                        .max(Integer::compareTo).get();
-
-        int highestPairComparison = highestPairRank - otherHighestPairRank;
-        if (highestPairComparison != 0) {
-            return highestPairComparison;
-        } else {
-            Integer lowestPairRank =
-                    this.getRelevantCards().stream().map(card -> card.getKind().getRank())
-                            .min(Integer::compareTo).get();
-            Integer otherLowestPairRank =
-                    hand.getRelevantCards().stream().map(card -> card.getKind().getRank())
-                            .min(Integer::compareTo).get();
-
-            return lowestPairRank - otherLowestPairRank;
-        }
+    protected List<Card> findRelevantCards(List<Card> cards) {
+        return findTwoPairs(cards);
     }
 
     private List<Card> findTwoPairs(List<Card> cards) {
         Map<Kind, List<Card>> kindGroups = cards.stream().collect(Collectors.groupingBy(Card::getKind));
         List<Card> twoPairs =
-                kindGroups.values().stream().filter(group -> group.size() == 2).flatMap(Collection::stream)
+                kindGroups.values().stream().filter(group -> group.size() == 2)
+                        .sorted(Comparator.comparing((List<Card> group) -> group.get(0)).reversed())
+                        .limit(2)
+                        .flatMap(Collection::stream)
                         .collect(Collectors.toList());
 
         if (twoPairs.size() != 4) {
@@ -0,0 +1,211 @@
+package com.sap.ase.poker.model.rules;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+
+/*
+ * Evaluates the cards in a single pass over the four 13-bit suit masks, without lookup tables. On a
+ * BoardState only the hole cards are added to the rank multiplicities of the board. The static helpers on
+ * rank masks are shared with the Hand classes, which compute the same strength from their cards.
+ * A batch runs on the Vector API where the JVM has it (see VectorBitmaskBatch), and one hand at a time otherwise.
+ */
+public class BitmaskHandEvaluator implements HandEvaluator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BitmaskHandEvaluator.class);
+
+    private static final int SUIT_MASK = (1 << SUIT_SIZE) - 1;
+    public static final int ACE = SUIT_SIZE - 1;
+    static final String VECTOR_BATCH = "com.sap.ase.poker.model.rules.VectorBitmaskBatch";
+    private static final int VECTOR_BATCH_CHECKS = 1024;
+
+    private static final HandEvaluator VECTOR = vectorBatch(VECTOR_BATCH);
+
+    @Override
+    public int evaluate(long cards) {
+        int first = (int) cards & SUIT_MASK;
+        int second = (int) (cards >>> SUIT_SIZE) & SUIT_MASK;
+        int third = (int) (cards >>> 2 * SUIT_SIZE) & SUIT_MASK;
+        int fourth = (int) (cards >>> 3 * SUIT_SIZE) & SUIT_MASK;
+
+        int any = first | second | third | fourth;
+        int quads = first & second & third & fourth;
+        return evaluate(cards, any, atLeastTwo(first, second, third, fourth), atLeastThree(first, second, third, fourth),
+                quads);
+    }
+
+    @Override
+    public int evaluate(BoardState board, long holeCards) {
+        int any = board.any;
+        int atLeastTwo = board.atLeastTwo;
+        int atLeastThree = board.atLeastThree;
+        int quads = board.quads;
+        for (long remaining = holeCards; remaining != 0; remaining &= remaining - 1) {
+            int rank = 1 << Long.numberOfTrailingZeros(remaining) % SUIT_SIZE;
+            quads |= atLeastThree & rank;
+            atLeastThree |= atLeastTwo & rank;
+            atLeastTwo |= any & rank;
+            any |= rank;
+        }
+        return evaluate(board.getCards() | holeCards, any, atLeastTwo, atLeastThree, quads);
+    }
+
+    @Override
+    public void evaluate(long[] cards, int[] strengths) {
+        if (VECTOR != null) {
+            VECTOR.evaluate(cards, strengths);
+        } else {
+            HandEvaluator.super.evaluate(cards, strengths);
+        }
+    }
+
+    public static boolean isBatchVectorized() {
+        return VECTOR != null;
+    }
+
+    /*
+     * The batch of the given class, which needs the Vector API. It is only used when it ranks random hands like
+     * the single-hand evaluation, so that a JDK with a different version of the incubating API falls back safely.
+     */
+    static HandEvaluator vectorBatch(String className) {
+        HandEvaluator batch;
+        try {
+            batch = Class.forName(className).asSubclass(HandEvaluator.class).getDeclaredConstructor().newInstance();
+            long[] hands = new long[VECTOR_BATCH_CHECKS];
+            SplittableRandom random = new SplittableRandom(1);
+            for (int hand = 0; hand < hands.length; hand++) {
+                while (Long.bitCount(hands[hand]) < 7) {
+                    hands[hand] |= 1L << random.nextInt(4 * SUIT_SIZE);
+                }
+            }
+            int[] strengths = new int[hands.length];
+            batch.evaluate(hands, strengths);
+            HandEvaluator single = new BitmaskHandEvaluator();
+            for (int hand = 0; hand < hands.length; hand++) {
+                if (strengths[hand] != single.evaluate(hands[hand])) {
+                    LOGGER.warn("The batch {} ranks {} differently, hands are ranked one at a time", className,
+                            Long.toHexString(hands[hand]));
+                    return null;
+                }
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // before Java 16, or without --add-modules jdk.incubator.vector
+            LOGGER.debug("No Vector API for {}, hands are ranked one at a time", className, e);
+            return null;
+        }
+        LOGGER.info("Batches of hands are ranked with the Vector API by {}", className);
+        return batch;
+    }
+
+    private static int evaluate(long cards, int any, int atLeastTwo, int atLeastThree, int quads) {
+        int flush = flushRanks((int) cards & SUIT_MASK, (int) (cards >>> SUIT_SIZE) & SUIT_MASK,
+                (int) (cards >>> 2 * SUIT_SIZE) & SUIT_MASK, (int) (cards >>> 3 * SUIT_SIZE) & SUIT_MASK);
+        if (flush != 0) {
+            int straightFlushHigh = straightHigh(flush);
+            if (straightFlushHigh == ACE) {
+                return pack(ROYAL_FLUSH, straightFlushHigh + 1);
+            }
+            if (straightFlushHigh >= 0) {
+                return pack(STRAIGHT_FLUSH, straightFlushHigh + 1);
+            }
+        }
+
+        int trips = atLeastThree & ~quads;
+        int pairs = atLeastTwo & ~atLeastThree;
+
+        if (quads != 0) {
+            int quad = highest(quads);
+            return pack(FOUR_OF_A_KIND, topRanks(1 << quad, 1) << 4 | topRanks(any & ~(1 << quad), 1));
+        }
+        if (trips != 0 && (pairs != 0 || Integer.bitCount(trips) > 1)) {
+            int trip = highest(trips);
+            int pair = highest((trips & ~(1 << trip)) | pairs);
+            return pack(FULL_HOUSE, (trip + 1) << 4 | (pair + 1));
+        }
+        if (flush != 0) {
+            return pack(FLUSH, topRanks(flush, 5));
+        }
+        int straight = straightHigh(any);
+        if (straight >= 0) {
+            return pack(STRAIGHT, straight + 1);
+        }
+        if (trips != 0) {
+            int trip = highest(trips);
+            return pack(THREE_OF_A_KIND, (trip + 1) << 8 | topRanks(any & ~(1 << trip), 2));
+        }
+        if (Integer.bitCount(pairs) > 1) {
+            int highPair = highest(pairs);
+            int lowPair = highest(pairs & ~(1 << highPair));
+            int kicker = topRanks(any & ~(1 << highPair) & ~(1 << lowPair), 1);
+            return pack(TWO_PAIRS, (highPair + 1) << 8 | (lowPair + 1) << 4 | kicker);
+        }
+        if (pairs != 0) {
+            int pair = highest(pairs);
+            return pack(PAIR, (pair + 1) << 12 | topRanks(any & ~(1 << pair), 3));
+        }
+        return pack(HIGH_CARD, topRanks(any, 5));
+    }
+
+    // the ranks held in at least two of the four suit masks
+    public static int atLeastTwo(int first, int second, int third, int fourth) {
+        return (first & second) | (first & third) | (first & fourth)
+                | (second & third) | (second & fourth) | (third & fourth);
+    }
+
+    public static int atLeastThree(int first, int second, int third, int fourth) {
+        return (first & second & third) | (first & second & fourth)
+                | (first & third & fourth) | (second & third & fourth);
+    }
+
+    // the suit mask of at least five cards, 0 without a flush
+    public static int flushRanks(int first, int second, int third, int fourth) {
+        if (Integer.bitCount(first) >= 5) {
+            return first;
+        }
+        if (Integer.bitCount(second) >= 5) {
+            return second;
+        }
+        if (Integer.bitCount(third) >= 5) {
+            return third;
+        }
+        if (Integer.bitCount(fourth) >= 5) {
+            return fourth;
+        }
+        return 0;
+    }
+
+    // returns the rank index of the highest card of the best straight, -1 if there is none
+    public static int straightHigh(int ranks) {
+        return straightHigh(ranks, 0);
+    }
+
+    // the ace also counts as the card below the lowest kind of the deck
+    public static int straightHigh(int ranks, int lowestKind) {
+        int withLowAce = ranks >>> lowestKind << 1 | (ranks >>> ACE & 1);
+        int runs = withLowAce & withLowAce >>> 1 & withLowAce >>> 2 & withLowAce >>> 3 & withLowAce >>> 4;
+        if (runs == 0) {
+            return -1;
+        }
+        return highest(runs) + 3 + lowestKind;
+    }
+
+    // packs the given amount of highest ranks into 4-bit slots, using Kind.rank so that an empty slot is 0
+    public static int topRanks(int ranks, int amount) {
+        int packed = 0;
+        for (int i = 0; i < amount; i++) {
+            int rank = ranks == 0 ? -1 : highest(ranks);
+            packed = packed << 4 | (rank + 1);
+            ranks &= ~(1 << rank);
+        }
+        return packed;
+    }
+
+    public static int highest(int ranks) {
+        return 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+
+    private static int pack(int category, int ranks) {
+        return category << CATEGORY_SHIFT | ranks;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+
+/*
+ * The community cards together with their rank multiplicities: the ranks held at least once, twice, three
+ * and four times, as 13-bit masks. Dealing a street only adds the new cards to the previous state, and a
+ * player's hand is evaluated by adding just the hole cards to the state every player shares.
+ */
+public final class BoardState {
+
+    public static final BoardState EMPTY = new BoardState(0, 0, 0, 0, 0);
+
+    private final long cards;
+    final int any;
+    final int atLeastTwo;
+    final int atLeastThree;
+    final int quads;
+
+    private BoardState(long cards, int any, int atLeastTwo, int atLeastThree, int quads) {
+        this.cards = cards;
+        this.any = any;
+        this.atLeastTwo = atLeastTwo;
+        this.atLeastThree = atLeastThree;
+        this.quads = quads;
+    }
+
+    public static BoardState of(CardSet communityCards) {
+        return EMPTY.with(communityCards.getMask());
+    }
+
+    public BoardState with(long dealt) {
+        if ((cards & dealt) != 0 || dealt >>> Card.AMOUNT != 0) {
+            throw new IllegalArgumentException("Cards dealt twice or unknown: " + Long.toHexString(dealt));
+        }
+        int once = any;
+        int twice = atLeastTwo;
+        int thrice = atLeastThree;
+        int four = quads;
+        for (long remaining = dealt; remaining != 0; remaining &= remaining - 1) {
+            int rank = 1 << Long.numberOfTrailingZeros(remaining) % HandEvaluator.SUIT_SIZE;
+            four |= thrice & rank;
+            thrice |= twice & rank;
+            twice |= once & rank;
+            once |= rank;
+        }
+        return new BoardState(cards | dealt, once, twice, thrice, four);
+    }
+
+    public long getCards() {
+        return cards;
+    }
+
+    public int size() {
+        return Long.bitCount(cards);
+    }
+}
@@ -0,0 +1,121 @@
+package com.sap.ase.poker.model.rules;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongToIntFunction;
+
+/*
+ * A bounded cache of hand strengths keyed by the card mask, in primitive arrays without boxing. The table is
+ * split into stripes with a lock each, so threads evaluating different hands rarely wait for each other. A key
+ * lives in one of PROBES consecutive slots of its stripe (slots are never emptied, so a lookup stops at the
+ * first empty slot). A full window evicts with a clock: hits set a reference bit, an insert clears the bits of
+ * the window until it finds a slot which was not referenced since the last pass.
+ */
+public final class EvaluationCache {
+
+    static final int STRIPES = 64;
+    static final int PROBES = 8;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int capacity;
+
+    public EvaluationCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The cache needs a capacity of at least 1");
+        }
+        int perStripe = Math.max(PROBES, (capacity + STRIPES - 1) / STRIPES);
+        int slots = Integer.highestOneBit(perStripe - 1) << 1;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            stripes[stripe] = new Stripe(slots);
+        }
+        this.capacity = slots * STRIPES;
+    }
+
+    // the cached strength of the cards, or the evaluated one which is then cached
+    public int get(long cards, LongToIntFunction evaluation) {
+        long hash = mix(cards);
+        Stripe stripe = stripes[(int) (hash >>> Long.SIZE - Integer.numberOfTrailingZeros(STRIPES))];
+        int start = (int) hash & stripe.keys.length - 1;
+        synchronized (stripe) {
+            int strength = stripe.find(cards, start);
+            if (strength >= 0) {
+                hits.increment();
+                return strength;
+            }
+        }
+        misses.increment();
+        int strength = evaluation.applyAsInt(cards);
+        synchronized (stripe) {
+            stripe.insert(cards, strength, start);
+        }
+        return strength;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // the amount of slots, the requested capacity rounded up to a power of two per stripe
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // the finalizer of MurmurHash3, card masks differ in few bits
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        return key ^ key >>> 33;
+    }
+
+    private static final class Stripe {
+        private final long[] keys;
+        private final int[] strengths;
+        private final boolean[] referenced;
+
+        Stripe(int slots) {
+            keys = new long[slots];
+            strengths = new int[slots];
+            referenced = new boolean[slots];
+        }
+
+        // the strength of the cards, -1 if they are not cached
+        int find(long cards, int start) {
+            for (int probe = 0; probe < PROBES; probe++) {
+                int slot = start + probe & keys.length - 1;
+                if (keys[slot] == cards) {
+                    referenced[slot] = true;
+                    return strengths[slot];
+                }
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        void insert(long cards, int strength, int start) {
+            int victim = -1;
+            for (int probe = 0; probe < PROBES && victim < 0; probe++) {
+                int slot = start + probe & keys.length - 1;
+                if (keys[slot] == 0 || keys[slot] == cards || !referenced[slot]) {
+                    victim = slot;
+                } else {
+                    referenced[slot] = false;
+                }
+            }
+            if (victim < 0) {
+                victim = start;
+            }
+            keys[victim] = cards;
+            strengths[victim] = strength;
+            referenced[victim] = false;
+        }
+    }
+}
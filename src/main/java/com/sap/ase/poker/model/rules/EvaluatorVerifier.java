@@ -0,0 +1,227 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.equity.Combinations;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Evaluates every one of the C(52, 7) = 133,784,560 hands with a candidate evaluator and compares each strength
+ * with the reference evaluator, by default the Hand classes (see HandClassEvaluator), which share no tables with
+ * the engines. The colex ranks of the hands are split in halves on a fork-join pool until a range is small enough;
+ * a range unranks its first hand once and walks on to the next hands with Gosper's hack. The categories of the
+ * candidate are counted, a complete run also has to match the known category frequencies as a second check.
+ * Run it with the file of the lookup tables to verify as argument, or without one to verify the bundled tables.
+ */
+public class EvaluatorVerifier {
+
+    public static final int HAND_CARDS = 7;
+    public static final long HANDS = Combinations.binomial(Card.AMOUNT, HAND_CARDS);
+    // the amount of 7-card hands of every category, by HandEvaluator category, royal flushes counted separately
+    public static final long[] CATEGORY_FREQUENCIES = {0, 23_294_460, 58_627_800, 31_433_400, 6_461_620,
+            6_180_020, 4_047_644, 3_473_184, 224_848, 37_260, 4_324};
+
+    static final long SPLIT_SIZE = 1 << 20;
+    static final int BATCH_SIZE = 4_096;
+    static final int MAX_REPORTED_MISMATCHES = 20;
+
+    private final HandEvaluator reference;
+
+    public EvaluatorVerifier() {
+        this(new HandClassEvaluator());
+    }
+
+    public EvaluatorVerifier(HandEvaluator reference) {
+        this.reference = reference;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Report report = new EvaluatorVerifier().verify(candidate(args));
+        System.out.println(report);
+        System.exit(report.isCorrect() ? 0 : 1);
+    }
+
+    static HandEvaluator candidate(String... args) throws IOException {
+        return args.length > 0 ? new LookupTableHandEvaluator(Paths.get(args[0])) : LookupTableHandEvaluator.fromResource();
+    }
+
+    public Report verify(HandEvaluator candidate) {
+        return verify(candidate, 0, HANDS, ForkJoinPool.commonPool());
+    }
+
+    // the hands with the colex ranks from (inclusive) to to (exclusive)
+    public Report verify(HandEvaluator candidate, long from, long to, ForkJoinPool pool) {
+        if (from < 0 || to > HANDS || from > to) {
+            throw new IllegalArgumentException("Ranks between 0 and " + HANDS + " needed");
+        }
+        long start = System.nanoTime();
+        Report report = pool.invoke(new VerifyTask(candidate, from, to));
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    // the first hand of the range as a card mask
+    static long unrank(long rank) {
+        int[] combination = new int[HAND_CARDS];
+        Combinations.unrank(rank, combination);
+        long cards = 0;
+        for (int id : combination) {
+            cards |= 1L << id;
+        }
+        return cards;
+    }
+
+    // the hand with the next colex rank, the same amount of bits
+    static long next(long cards) {
+        long lowest = cards & -cards;
+        long ripple = cards + lowest;
+        return ((ripple ^ cards) >>> 2) / lowest | ripple;
+    }
+
+    public static final class Report {
+        private final long[] categories = new long[HandEvaluator.ROYAL_FLUSH + 1];
+        private final List<Long> mismatches = new ArrayList<>();
+        private long hands;
+        private long mismatchCount;
+        private long nanos;
+
+        Report() {
+        }
+
+        Report(long[] categories, long hands) {
+            System.arraycopy(categories, 0, this.categories, 0, categories.length);
+            this.hands = hands;
+        }
+
+        // categories which do not exist are counted as category 0
+        void add(int category) {
+            categories[category > 0 && category < categories.length ? category : 0]++;
+            hands++;
+        }
+
+        void mismatch(long cards) {
+            if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                mismatches.add(cards);
+            }
+            mismatchCount++;
+        }
+
+        void merge(Report other) {
+            for (int category = 0; category < categories.length; category++) {
+                categories[category] += other.categories[category];
+            }
+            for (long cards : other.mismatches) {
+                if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                    mismatches.add(cards);
+                }
+            }
+            hands += other.hands;
+            mismatchCount += other.mismatchCount;
+        }
+
+        public long getHands() {
+            return hands;
+        }
+
+        public long getCategoryCount(int category) {
+            return categories[category];
+        }
+
+        public long getMismatchCount() {
+            return mismatchCount;
+        }
+
+        // the card masks of the first mismatches
+        public List<Long> getMismatches() {
+            return Collections.unmodifiableList(mismatches);
+        }
+
+        public double getHandsPerSecond() {
+            return nanos == 0 ? 0 : hands * 1e9 / nanos;
+        }
+
+        public boolean matchesKnownFrequencies() {
+            return hands == HANDS && Arrays.equals(categories, CATEGORY_FREQUENCIES);
+        }
+
+        // no mismatches, and the known frequencies if every hand was verified
+        public boolean isCorrect() {
+            return mismatchCount == 0 && (hands != HANDS || matchesKnownFrequencies());
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("%,d hands in %.1f s, %,.0f hands/s%n", hands, nanos / 1e9, getHandsPerSecond()));
+            for (int category = HandEvaluator.HIGH_CARD; category < categories.length; category++) {
+                text.append(String.format("category %2d: %,12d%n", category, categories[category]));
+            }
+            if (hands == HANDS) {
+                text.append(matchesKnownFrequencies() ? "category frequencies match"
+                        : "category frequencies DIFFER from " + Arrays.toString(CATEGORY_FREQUENCIES)).append('\n');
+            }
+            text.append(String.format("%,d mismatches", mismatchCount));
+            for (long cards : mismatches) {
+                text.append(String.format("%n  %013x", cards));
+            }
+            return text.toString();
+        }
+    }
+
+    private class VerifyTask extends RecursiveTask<Report> {
+        private static final long serialVersionUID = 1L;
+
+        private final HandEvaluator candidate;
+        private final long from;
+        private final long to;
+
+        VerifyTask(HandEvaluator candidate, long from, long to) {
+            this.candidate = candidate;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Report compute() {
+            if (to - from > SPLIT_SIZE) {
+                long middle = from + (to - from) / 2;
+                VerifyTask first = new VerifyTask(candidate, from, middle);
+                first.fork();
+                Report report = new VerifyTask(candidate, middle, to).compute();
+                report.merge(first.join());
+                return report;
+            }
+
+            Report report = new Report();
+            long[] batch = new long[BATCH_SIZE];
+            int[] strengths = new int[BATCH_SIZE];
+            int[] expected = new int[BATCH_SIZE];
+            long cards = from < to ? unrank(from) : 0;
+            for (long rank = from; rank < to; ) {
+                int size = (int) Math.min(BATCH_SIZE, to - rank);
+                long[] hands = size == BATCH_SIZE ? batch : Arrays.copyOf(batch, size);
+                for (int hand = 0; hand < size; hand++) {
+                    hands[hand] = cards;
+                    cards = next(cards);
+                }
+                candidate.evaluate(hands, strengths);
+                reference.evaluate(hands, expected);
+                for (int hand = 0; hand < size; hand++) {
+                    report.add(candidate.category(strengths[hand]));
+                    if (strengths[hand] != expected[hand]) {
+                        report.mismatch(hands[hand]);
+                    }
+                }
+                rank += size;
+            }
+            return report;
+        }
+    }
+}
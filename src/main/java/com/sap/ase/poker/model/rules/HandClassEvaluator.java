@@ -0,0 +1,64 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.InvalidHandException;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.hands.Hand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * Ranks the cards with the Hand classes: the creation functions are tried from the best hand down, and the first
+ * hand the cards contain gives the strength. It is far slower than the engines and has no tables and no single
+ * pass, so it is the reference the engines are verified against. In the short deck a flush beats a full house,
+ * the strengths swap the two categories like the ShortDeckHandEvaluator.
+ */
+public class HandClassEvaluator implements HandEvaluator {
+
+    private final List<Function<List<Card>, Hand>> bestFirst;
+    private final boolean shortDeck;
+
+    public HandClassEvaluator() {
+        this(HandRules.CREATION_FUNCTIONS, false);
+    }
+
+    private HandClassEvaluator(List<Function<List<Card>, Hand>> creationFunctions, boolean shortDeck) {
+        bestFirst = new ArrayList<>(creationFunctions);
+        if (shortDeck) {
+            Collections.swap(bestFirst, FLUSH - 1, FULL_HOUSE - 1);
+        }
+        Collections.reverse(bestFirst);
+        this.shortDeck = shortDeck;
+    }
+
+    public static HandClassEvaluator shortDeck() {
+        return new HandClassEvaluator(HandRules.SHORT_DECK_CREATION_FUNCTIONS, true);
+    }
+
+    @Override
+    public int evaluate(long cards) {
+        List<Card> cardList = CardSet.ofMask(cards).toList();
+        for (Function<List<Card>, Hand> creationFunction : bestFirst) {
+            Hand hand;
+            try {
+                hand = creationFunction.apply(cardList);
+            } catch (InvalidHandException e) {
+                // the cards do not contain this hand, try the next lower one
+                continue;
+            }
+            int strength = (int) hand.getStrength();
+            return shortDeck ? ShortDeckHandEvaluator.reorder(strength) : strength;
+        }
+        // a high card is always present
+        throw new IllegalStateException("No hand present");
+    }
+
+    @Override
+    public int category(int strength) {
+        int category = strength >>> CATEGORY_SHIFT;
+        return shortDeck ? ShortDeckHandEvaluator.swapFlushAndFullHouse(category) : category;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+
+import java.util.Collection;
+
+/*
+ * Ranks a set of cards encoded as a 52-bit mask (bit = suit * 13 + kind). Every implementation returns
+ * the same packed strength, so engines can be swapped per deployment: bits 20-23 hold the hand category
+ * (the same numbers as Hand.getRank()) and bits 0-19 hold up to five 4-bit ranks (Kind.rank),
+ * relevant ranks first, then kickers. A higher strength is a better hand, equal strengths split the pot.
+ */
+public interface HandEvaluator {
+
+    int CATEGORY_SHIFT = 20;
+
+    int HIGH_CARD = 1;
+    int PAIR = 2;
+    int TWO_PAIRS = 3;
+    int THREE_OF_A_KIND = 4;
+    int STRAIGHT = 5;
+    int FLUSH = 6;
+    int FULL_HOUSE = 7;
+    int FOUR_OF_A_KIND = 8;
+    int STRAIGHT_FLUSH = 9;
+    int ROYAL_FLUSH = 10;
+
+    int SUIT_SIZE = 13;
+
+    int evaluate(long cards);
+
+    // the strength of the board plus the hole cards, engines may reuse the partial state of the board
+    default int evaluate(BoardState board, long holeCards) {
+        return evaluate(board.getCards() | holeCards);
+    }
+
+    // the strengths of many hands in one call, for simulations; an engine which can rank hands side by side overrides it
+    default void evaluate(long[] cards, int[] strengths) {
+        checkBatch(cards, strengths);
+        for (int hand = 0; hand < cards.length; hand++) {
+            strengths[hand] = evaluate(cards[hand]);
+        }
+    }
+
+    default int category(int strength) {
+        return strength >>> CATEGORY_SHIFT;
+    }
+
+    static void checkBatch(long[] cards, int[] strengths) {
+        if (strengths.length < cards.length) {
+            throw new IllegalArgumentException("Room for " + cards.length + " strengths needed");
+        }
+    }
+
+    static long toMask(Collection<Card> cards) {
+        return CardSet.of(cards).getMask();
+    }
+}
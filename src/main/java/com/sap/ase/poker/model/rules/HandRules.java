@@ -1,45 +1,205 @@
 package com.sap.ase.poker.model.rules;
 
-import com.sap.ase.poker.model.InvalidHandException;
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
 import com.sap.ase.poker.model.hands.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
 public class HandRules {
 
+    // ordered by hand rank, the creation function for a rank is at index rank - 1
     public static final List<Function<List<Card>, Hand>> CREATION_FUNCTIONS =
             Arrays.asList(
-                    RoyalFlush::new,
-                    StraightFlush::new,
-                    FourOfAKind::new,
-                    FullHouse::new,
-                    Flush::new,
-                    Straight::new,
+                    HighCard::new,
+                    Pair::new,
+                    TwoPairs::new,
                     ThreeOfAKind::new,
+                    Straight::new,
+                    Flush::new,
+                    FullHouse::new,
+                    FourOfAKind::new,
+                    StraightFlush::new,
+                    RoyalFlush::new);
+
+    // the short deck has its own straights, see ShortDeckStraight
+    static final List<Function<List<Card>, Hand>> SHORT_DECK_CREATION_FUNCTIONS =
+            Arrays.asList(
+                    HighCard::new,
+                    Pair::new,
                     TwoPairs::new,
-                    Pair::new);
+                    ThreeOfAKind::new,
+                    ShortDeckStraight::new,
+                    Flush::new,
+                    FullHouse::new,
+                    FourOfAKind::new,
+                    ShortDeckStraightFlush::new,
+                    RoyalFlush::new);
+
+    private static final int HAND_CARD_AMOUNT = 7;
+    private static final int MIN_HAND_CARD_AMOUNT = 5;
 
-    public Hand findBestHand(List<Card> handCards) {
-        if (handCards.size() != 7) {
+    private final HandEvaluator evaluator;
+    private final EvaluationCache cache;
+    private final OmahaEvaluator omahaEvaluator;
+    private final HandEvaluator shortDeckEvaluator;
+
+    public HandRules() {
+        this(new BitmaskHandEvaluator());
+    }
+
+    public HandRules(HandEvaluator evaluator) {
+        this(evaluator, null);
+    }
+
+    // a cache size of 0 evaluates every hand, which is faster when hands rarely repeat
+    @Autowired
+    public HandRules(HandEvaluator evaluator, @Value("${poker.evaluator.cache-size:0}") int cacheSize) {
+        this(evaluator, cacheSize > 0 ? new EvaluationCache(cacheSize) : null);
+    }
+
+    public HandRules(HandEvaluator evaluator, EvaluationCache cache) {
+        this(evaluator, cache, new ShortDeckHandEvaluator());
+    }
+
+    private HandRules(HandEvaluator evaluator, EvaluationCache cache, HandEvaluator shortDeckEvaluator) {
+        this.evaluator = evaluator;
+        this.cache = cache;
+        this.omahaEvaluator = new OmahaEvaluator(evaluator);
+        this.shortDeckEvaluator = shortDeckEvaluator;
+    }
+
+    // the rules ranking every variant with the Hand classes, see HandClassEvaluator
+    public static HandRules reference() {
+        return new HandRules(new HandClassEvaluator(), null, HandClassEvaluator.shortDeck());
+    }
+
+    public Hand findBestHand(CardSet handCards) {
+        int category = evaluator.category(evaluate(handCards.getMask()));
+        return CREATION_FUNCTIONS.get(category - 1).apply(handCards.toList());
+    }
+
+    public int evaluate(long cards) {
+        if (Long.bitCount(cards) != HAND_CARD_AMOUNT) {
             throw new InvalidAmountOfCardsException("7 cards needed");
         }
-
-        return findHandCombinations(handCards);
+        return strength(cards);
     }
 
-    private Hand findHandCombinations(List<Card> cards) {
+    public int evaluate(BoardState board, long holeCards) {
+        if (board.size() + Long.bitCount(holeCards) != HAND_CARD_AMOUNT) {
+            throw new InvalidAmountOfCardsException("7 cards needed");
+        }
+        return strength(board, holeCards);
+    }
 
-        for (Function<List<Card>, Hand> createHand : CREATION_FUNCTIONS) {
-            try {
-                return createHand.apply(cards);
-            } catch (InvalidHandException ignored) {
+    // the strengths of many hands of 7 cards, a cache is consulted per hand and bypasses the batch of the engine
+    public void evaluate(long[] cards, int[] strengths) {
+        for (long hand : cards) {
+            if (Long.bitCount(hand) != HAND_CARD_AMOUNT) {
+                throw new InvalidAmountOfCardsException("7 cards needed");
             }
         }
-        return new HighCard(cards);
+        if (cache == null) {
+            evaluator.evaluate(cards, strengths);
+            return;
+        }
+        HandEvaluator.checkBatch(cards, strengths);
+        for (int hand = 0; hand < cards.length; hand++) {
+            strengths[hand] = cache.get(cards[hand], evaluator::evaluate);
+        }
+    }
+
+    // the best hand of 5 to 7 cards, for the hand a player holds before the river
+    public Hand findBestPartialHand(CardSet cards) {
+        int category = evaluator.category(evaluatePartial(cards.getMask()));
+        return CREATION_FUNCTIONS.get(category - 1).apply(cards.toList());
+    }
+
+    public int evaluatePartial(long cards) {
+        int amount = Long.bitCount(cards);
+        if (amount < MIN_HAND_CARD_AMOUNT || amount > HAND_CARD_AMOUNT) {
+            throw new InvalidAmountOfCardsException("5 to 7 cards needed");
+        }
+        return strength(cards);
+    }
+
+    public int evaluatePartial(BoardState board, long holeCards) {
+        int amount = board.size() + Long.bitCount(holeCards);
+        if (amount < MIN_HAND_CARD_AMOUNT || amount > HAND_CARD_AMOUNT) {
+            throw new InvalidAmountOfCardsException("5 to 7 cards needed");
+        }
+        return strength(board, holeCards);
+    }
+
+    // the strength of the hand a player holds with the board so far, made by the rules of the variant
+    public int evaluate(GameVariant variant, BoardState board, long holeCards) {
+        if (isOmaha(variant)) {
+            return omahaEvaluator.evaluate(board, holeCards);
+        }
+        if (variant == GameVariant.SHORT_DECK) {
+            return shortDeckEvaluator.evaluate(board, holeCards);
+        }
+        return evaluatePartial(board, holeCards);
+    }
+
+    // whether the board and the hole cards make a hand yet
+    public boolean hasHand(GameVariant variant, BoardState board, long holeCards) {
+        if (isOmaha(variant)) {
+            return board.size() >= OmahaEvaluator.USED_BOARD_CARDS && Long.bitCount(holeCards) == OmahaEvaluator.HOLE_CARDS;
+        }
+        return board.size() + Long.bitCount(holeCards) >= MIN_HAND_CARD_AMOUNT;
+    }
+
+    public Hand findBestHand(GameVariant variant, BoardState board, long holeCards) {
+        long cards = isOmaha(variant) ? omahaEvaluator.findBestCards(board, holeCards)
+                : board.getCards() | holeCards;
+        if (variant == GameVariant.SHORT_DECK) {
+            int category = shortDeckEvaluator.category(shortDeckEvaluator.evaluate(cards));
+            return SHORT_DECK_CREATION_FUNCTIONS.get(category - 1).apply(CardSet.ofMask(cards).toList());
+        }
+        int category = evaluator.category(evaluatePartial(cards));
+        return CREATION_FUNCTIONS.get(category - 1).apply(CardSet.ofMask(cards).toList());
+    }
+
+    // the high and the low strength of an Omaha hand, see OmahaEvaluator.high() and low()
+    public long evaluateHiLo(BoardState board, long holeCards) {
+        return omahaEvaluator.evaluateHiLo(board, holeCards);
+    }
+
+    private static boolean isOmaha(GameVariant variant) {
+        return variant == GameVariant.OMAHA || variant == GameVariant.OMAHA_HI_LO;
+    }
+
+    public HandEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    // the evaluator whose category() applies to the strengths of the variant
+    public HandEvaluator getEvaluator(GameVariant variant) {
+        return variant == GameVariant.SHORT_DECK ? shortDeckEvaluator : evaluator;
+    }
+
+    public Optional<EvaluationCache> getCache() {
+        return Optional.ofNullable(cache);
+    }
+
+    private int strength(long cards) {
+        return cache == null ? evaluator.evaluate(cards) : cache.get(cards, evaluator::evaluate);
+    }
+
+    private int strength(BoardState board, long holeCards) {
+        if (cache == null) {
+            return evaluator.evaluate(board, holeCards);
+        }
+        return cache.get(board.getCards() | holeCards, cards -> evaluator.evaluate(board, holeCards));
     }
 }
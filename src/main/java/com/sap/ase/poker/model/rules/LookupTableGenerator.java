@@ -0,0 +1,119 @@
+package com.sap.ase.poker.model.rules;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+
+import static com.sap.ase.poker.model.rules.HandEvaluator.SUIT_SIZE;
+import static com.sap.ase.poker.model.rules.LookupTableHandEvaluator.*;
+
+/*
+ * Writes the tables of the LookupTableHandEvaluator, using the BitmaskHandEvaluator as reference.
+ * Run it with the target file as argument whenever the table layout changes.
+ */
+public class LookupTableGenerator {
+
+    public static final String DEFAULT_TARGET = "src/main/resources" + LookupTableHandEvaluator.RESOURCE;
+
+    private final HandEvaluator reference = new BitmaskHandEvaluator();
+    private int[] strengthsDescending;
+
+    public static void main(String[] args) throws IOException {
+        Path target = Paths.get(args.length > 0 ? args[0] : DEFAULT_TARGET);
+        new LookupTableGenerator().write(target);
+        System.out.printf("Hand rank tables written to %s%n", target.toAbsolutePath());
+    }
+
+    public void write(Path target) throws IOException {
+        strengthsDescending = distinctStrengths();
+        if (target.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strengthsDescending.length);
+            for (int strength : strengthsDescending) {
+                out.writeInt(strength);
+            }
+            writeShorts(out, flushClasses());
+            writeShorts(out, patternClasses());
+        }
+    }
+
+    private int[] distinctStrengths() {
+        TreeSet<Integer> strengths = new TreeSet<>();
+        forEachPattern(MIN_CARDS, pattern -> strengths.add(reference.evaluate(pattern)));
+        for (int ranks = 0; ranks < FLUSH_TABLE_SIZE; ranks++) {
+            if (Integer.bitCount(ranks) == MIN_CARDS) {
+                strengths.add(reference.evaluate(ranks));
+            }
+        }
+        if (strengths.size() != EQUIVALENCE_CLASSES) {
+            throw new IllegalStateException("Expected " + EQUIVALENCE_CLASSES + " equivalence classes, found "
+                    + strengths.size());
+        }
+        return strengths.descendingSet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private short[] flushClasses() {
+        short[] classes = new short[FLUSH_TABLE_SIZE];
+        for (int ranks = 0; ranks < FLUSH_TABLE_SIZE; ranks++) {
+            if (Integer.bitCount(ranks) >= MIN_CARDS) {
+                classes[ranks] = equivalenceClass(ranks);
+            }
+        }
+        return classes;
+    }
+
+    private short[] patternClasses() {
+        short[] classes = new short[PATTERNS.size()];
+        for (int cardCount = MIN_CARDS; cardCount <= MAX_CARDS; cardCount++) {
+            int count = cardCount;
+            forEachPattern(count, pattern -> {
+                int index = LookupTableHandEvaluator.patternIndex(suitRanks(pattern, 0), suitRanks(pattern, 1),
+                        suitRanks(pattern, 2), suitRanks(pattern, 3), count);
+                classes[index] = equivalenceClass(pattern);
+            });
+        }
+        return classes;
+    }
+
+    private short equivalenceClass(long cards) {
+        int strength = reference.evaluate(cards);
+        // strengths are sorted descending, so the best hand is class 1
+        int lower = 0;
+        int upper = strengthsDescending.length - 1;
+        while (lower <= upper) {
+            int middle = (lower + upper) >>> 1;
+            if (strengthsDescending[middle] > strength) {
+                lower = middle + 1;
+            } else if (strengthsDescending[middle] < strength) {
+                upper = middle - 1;
+            } else {
+                return (short) (middle + 1);
+            }
+        }
+        throw new IllegalStateException("Unknown hand strength " + strength);
+    }
+
+    private void forEachPattern(int cardCount, LongConsumer consumer) {
+        PATTERNS.forEach(cardCount, consumer);
+    }
+
+    private static int suitRanks(long cards, int suit) {
+        return (int) (cards >>> suit * SUIT_SIZE) & ((1 << SUIT_SIZE) - 1);
+    }
+
+    private static void writeShorts(DataOutputStream out, short[] values) throws IOException {
+        out.writeInt(values.length);
+        for (short value : values) {
+            out.writeShort(value);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.sap.ase.poker.model.rules;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+
+/*
+ * Looks up the equivalence class (1 = royal flush ... 7462 = seven high) of five to seven cards in
+ * precomputed tables. The tables are memory mapped from a file, so they live outside of the heap and
+ * every JVM on a host shares the same page cache pages. Flushes are indexed by the 13-bit rank mask of
+ * the flush suit, all other hands by a perfect hash of their rank counts. The tables are written by
+ * LookupTableGenerator.
+ */
+public class LookupTableHandEvaluator implements HandEvaluator {
+
+    public static final String RESOURCE = "/evaluator/hand-ranks.bin";
+
+    static final int MAGIC = 0x504B4852;
+    static final int VERSION = 1;
+    static final int EQUIVALENCE_CLASSES = 7462;
+    static final int FLUSH_TABLE_SIZE = 1 << SUIT_SIZE;
+    static final int MIN_CARDS = RankPatterns.MIN_CARDS;
+    static final int MAX_CARDS = RankPatterns.MAX_CARDS;
+    static final RankPatterns PATTERNS = new RankPatterns(SUIT_SIZE);
+
+    private static final int SUIT_MASK = (1 << SUIT_SIZE) - 1;
+
+    private final int[] strengths;
+    private final ShortBuffer flushClasses;
+    private final ShortBuffer patternClasses;
+
+    public LookupTableHandEvaluator(Path tables) throws IOException {
+        try (FileChannel channel = FileChannel.open(tables, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported hand rank tables: " + tables);
+            }
+            strengths = new int[readSize(buffer, EQUIVALENCE_CLASSES) + 1];
+            for (int equivalenceClass = 1; equivalenceClass < strengths.length; equivalenceClass++) {
+                strengths[equivalenceClass] = buffer.getInt();
+            }
+            flushClasses = sliceShorts(buffer, readSize(buffer, FLUSH_TABLE_SIZE));
+            patternClasses = sliceShorts(buffer, readSize(buffer, PATTERNS.size()));
+        }
+    }
+
+    public static LookupTableHandEvaluator fromResource() throws IOException {
+        URL resource = LookupTableHandEvaluator.class.getResource(RESOURCE);
+        if (resource == null) {
+            throw new FileNotFoundException(RESOURCE);
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return new LookupTableHandEvaluator(Paths.get(resource.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        // packaged in a jar, extract it to a location that all JVMs on the host map
+        try (InputStream in = resource.openStream()) {
+            return new LookupTableHandEvaluator(extract(in, Paths.get(System.getProperty("java.io.tmpdir"))));
+        }
+    }
+
+    /*
+     * Copies the tables to a private temporary file first and names the shared file after their SHA-256. An
+     * existing shared file is only mapped when it is private to the user of this JVM (see isPrivate) and its
+     * content has that hash, anything else at that path is replaced. When it cannot be replaced, e.g. because
+     * another user owns it, the private copy is mapped.
+     */
+    static Path extract(InputStream in, Path directory) throws IOException {
+        Path temporary = Files.createTempFile(directory, "poker-hand-ranks", ".tmp");
+        MessageDigest digest = sha256();
+        try (InputStream digested = new DigestInputStream(in, digest)) {
+            Files.copy(digested, temporary, StandardCopyOption.REPLACE_EXISTING);
+        }
+        String hash = hex(digest.digest());
+        Path target = directory.resolve("poker-hand-ranks-v" + VERSION + "-" + hash.substring(0, 16) + ".bin");
+        if (isPrivate(target, Files.getOwner(temporary)) && hasHash(target, hash)) {
+            Files.delete(temporary);
+            return target;
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } catch (IOException e) {
+            temporary.toFile().deleteOnExit();
+            return temporary;
+        }
+    }
+
+    /*
+     * Whether the file is a regular file of the owner that nobody else may write, so that it cannot be rewritten
+     * after its hash was checked while it is mapped. Without POSIX permissions no existing file is trusted.
+     */
+    public static boolean isPrivate(Path file, UserPrincipal owner) {
+        try {
+            PosixFileAttributes attributes = Files.readAttributes(file, PosixFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+            Set<PosixFilePermission> permissions = attributes.permissions();
+            return attributes.isRegularFile() && attributes.owner().equals(owner)
+                    && !permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    // links are never followed, unreadable files do not match
+    static boolean hasHash(Path file, String hash) {
+        if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        try {
+            return hash.equals(hex(sha256().digest(Files.readAllBytes(file))));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform supports SHA-256", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public int evaluate(long cards) {
+        return strengths[equivalenceClass(cards)];
+    }
+
+    public int equivalenceClass(long cards) {
+        int offset = tableOffset(cards);
+        return offset < 0 ? flushClasses.get(~offset) : patternClasses.get(offset);
+    }
+
+    // the index into the flush table as its complement, or the index into the pattern table
+    private static int tableOffset(long cards) {
+        int cardCount = Long.bitCount(cards);
+        if (cardCount < MIN_CARDS || cardCount > MAX_CARDS) {
+            throw new InvalidAmountOfCardsException("5 to 7 cards needed");
+        }
+        int first = (int) cards & SUIT_MASK;
+        int second = (int) (cards >>> SUIT_SIZE) & SUIT_MASK;
+        int third = (int) (cards >>> 2 * SUIT_SIZE) & SUIT_MASK;
+        int fourth = (int) (cards >>> 3 * SUIT_SIZE) & SUIT_MASK;
+
+        int flush = BitmaskHandEvaluator.flushRanks(first, second, third, fourth);
+        if (flush != 0) {
+            return ~flush;
+        }
+        return patternIndex(first, second, third, fourth, cardCount);
+    }
+
+    static int patternIndex(int first, int second, int third, int fourth, int cardCount) {
+        return PATTERNS.index(first, second, third, fourth, cardCount);
+    }
+
+    private static int readSize(ByteBuffer buffer, int expected) throws IOException {
+        int size = buffer.getInt();
+        if (size != expected) {
+            throw new IOException("Unexpected hand rank table size " + size + ", expected " + expected);
+        }
+        return size;
+    }
+
+    private static ShortBuffer sliceShorts(ByteBuffer buffer, int size) {
+        ByteBuffer slice = buffer.slice();
+        ((Buffer) slice).limit(size * Short.BYTES);
+        ((Buffer) buffer).position(buffer.position() + size * Short.BYTES);
+        return slice.asShortBuffer();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sap.ase.poker.model.rules;
+
+/*
+ * Evaluates ace-to-five lows with the eight-or-better qualifier on a 8-bit rank mask, the ace as bit 0 and the
+ * two to the eight as bits 1 to 7. Straights and flushes do not count and a pair never makes a low, so the
+ * low of five different ranks compares by its highest card first, which is the numeric order of the mask.
+ * A low strength is the inverted mask, a higher strength is the better low like a high strength.
+ */
+public final class LowHandEvaluator {
+
+    public static final int NO_LOW = -1;
+
+    static final int LOW_HAND_CARDS = 5;
+
+    private static final int LOW_RANKS = 0xFF;
+    private static final int SUIT_MASK = (1 << HandEvaluator.SUIT_SIZE) - 1;
+    private static final int ACE = HandEvaluator.SUIT_SIZE - 1;
+
+    private LowHandEvaluator() {
+    }
+
+    // the best low of 5 to 7 cards, NO_LOW if they do not hold five different ranks of an eight or lower
+    public static int evaluate(long cards) {
+        int ranks = lowRanks(cards);
+        if (Integer.bitCount(ranks) < LOW_HAND_CARDS) {
+            return NO_LOW;
+        }
+        while (Integer.bitCount(ranks) > LOW_HAND_CARDS) {
+            ranks &= ~Integer.highestOneBit(ranks);
+        }
+        return strength(ranks);
+    }
+
+    // the different ranks of the cards which count for a low
+    static int lowRanks(long cards) {
+        int any = (int) cards & SUIT_MASK | (int) (cards >>> HandEvaluator.SUIT_SIZE) & SUIT_MASK
+                | (int) (cards >>> 2 * HandEvaluator.SUIT_SIZE) & SUIT_MASK
+                | (int) (cards >>> 3 * HandEvaluator.SUIT_SIZE) & SUIT_MASK;
+        return (any << 1 | any >>> ACE) & LOW_RANKS;
+    }
+
+    // the strength of a low of exactly five ranks
+    static int strength(int ranks) {
+        return LOW_RANKS ^ ranks;
+    }
+}
@@ -0,0 +1,130 @@
+package com.sap.ase.poker.model.rules;
+
+import java.util.Arrays;
+
+/*
+ * Evaluates Omaha hands, which are made of exactly two of the four hole cards and three of the board cards.
+ * The BoardState of every three board cards is built once per call and the six pairs of hole cards are added
+ * to it, so a river showdown costs 60 evaluations of five cards on the rank multiplicities, no Hand objects.
+ * Hi/lo evaluates the low in the same pass, from the low ranks of every pair and every three board cards.
+ */
+public class OmahaEvaluator {
+
+    public static final int HOLE_CARDS = 4;
+
+    static final int USED_BOARD_CARDS = 3;
+
+    private static final int USED_HOLE_CARDS = 2;
+    private static final int MAX_BOARD_CARDS = 5;
+
+    private final HandEvaluator evaluator;
+
+    public OmahaEvaluator(HandEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    public int evaluate(BoardState board, long holeCards) {
+        long[] pairs = pairs(holeCards);
+        int best = -1;
+        for (BoardState triple : triples(board)) {
+            for (long pair : pairs) {
+                best = Math.max(best, evaluator.evaluate(triple, pair));
+            }
+        }
+        return best;
+    }
+
+    // the high strength in the upper and the low strength in the lower half, see high() and low()
+    public long evaluateHiLo(BoardState board, long holeCards) {
+        long[] pairs = pairs(holeCards);
+        int[] pairLows = new int[pairs.length];
+        for (int pair = 0; pair < pairs.length; pair++) {
+            pairLows[pair] = lowRanks(pairs[pair], USED_HOLE_CARDS);
+        }
+        int high = -1;
+        int low = LowHandEvaluator.NO_LOW;
+        for (BoardState triple : triples(board)) {
+            int tripleLow = lowRanks(triple.getCards(), USED_BOARD_CARDS);
+            for (int pair = 0; pair < pairs.length; pair++) {
+                high = Math.max(high, evaluator.evaluate(triple, pairs[pair]));
+                if (tripleLow != 0 && pairLows[pair] != 0 && (tripleLow & pairLows[pair]) == 0) {
+                    low = Math.max(low, LowHandEvaluator.strength(tripleLow | pairLows[pair]));
+                }
+            }
+        }
+        return (long) high << Integer.SIZE | low & 0xFFFFFFFFL;
+    }
+
+    public static int high(long hiLo) {
+        return (int) (hiLo >>> Integer.SIZE);
+    }
+
+    // LowHandEvaluator.NO_LOW if no two hole cards make an eight-or-better low with three board cards
+    public static int low(long hiLo) {
+        return (int) hiLo;
+    }
+
+    // the five cards of the best hand
+    public long findBestCards(BoardState board, long holeCards) {
+        long[] pairs = pairs(holeCards);
+        int best = -1;
+        long bestCards = 0;
+        for (BoardState triple : triples(board)) {
+            for (long pair : pairs) {
+                int strength = evaluator.evaluate(triple, pair);
+                if (strength > best) {
+                    best = strength;
+                    bestCards = triple.getCards() | pair;
+                }
+            }
+        }
+        return bestCards;
+    }
+
+    // the low ranks of the cards if every card has a different one, 0 otherwise
+    private static int lowRanks(long cards, int amount) {
+        int ranks = LowHandEvaluator.lowRanks(cards);
+        return Integer.bitCount(ranks) == amount ? ranks : 0;
+    }
+
+    private static long[] pairs(long holeCards) {
+        if (Long.bitCount(holeCards) != HOLE_CARDS) {
+            throw new InvalidAmountOfCardsException("4 hole cards needed");
+        }
+        return subsets(holeCards, USED_HOLE_CARDS);
+    }
+
+    private static BoardState[] triples(BoardState board) {
+        if (board.size() < USED_BOARD_CARDS || board.size() > MAX_BOARD_CARDS) {
+            throw new InvalidAmountOfCardsException("3 to 5 board cards needed");
+        }
+        long[] masks = subsets(board.getCards(), USED_BOARD_CARDS);
+        BoardState[] triples = new BoardState[masks.length];
+        for (int i = 0; i < masks.length; i++) {
+            triples[i] = BoardState.EMPTY.with(masks[i]);
+        }
+        return triples;
+    }
+
+    // every subset of the given size, stepping through the combinations of the card indexes in Gosper's order
+    private static long[] subsets(long cards, int size) {
+        int[] ids = new int[Long.bitCount(cards)];
+        int next = 0;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            ids[next++] = Long.numberOfTrailingZeros(remaining);
+        }
+        long[] subsets = new long[1 << ids.length];
+        int found = 0;
+        for (int combination = (1 << size) - 1; combination < 1 << ids.length; ) {
+            long subset = 0;
+            for (int bits = combination; bits != 0; bits &= bits - 1) {
+                subset |= 1L << ids[Integer.numberOfTrailingZeros(bits)];
+            }
+            subsets[found++] = subset;
+            int lowest = combination & -combination;
+            int carried = combination + lowest;
+            combination = carried | ((combination ^ carried) >>> 2) / lowest;
+        }
+        return Arrays.copyOf(subsets, found);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.CardSet;
+
+/*
+ * The cards of a player's next street which improve the hand to a better category, out of the cards the player
+ * cannot see: neither on the board nor in the player's own hand.
+ */
+public final class Outs {
+
+    private final CardSet improving;
+    private final int unseen;
+
+    public Outs(CardSet improving, int unseen) {
+        this.improving = improving;
+        this.unseen = unseen;
+    }
+
+    public CardSet getImproving() {
+        return improving;
+    }
+
+    public int getUnseen() {
+        return unseen;
+    }
+
+    // the chance that the next card improves the hand
+    public double getOdds() {
+        return unseen == 0 ? 0 : improving.size() / (double) unseen;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.GameVariant;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Finds the outs of a player on the flop and the turn by dealing each card the player cannot see to the shared
+ * BoardState and adding the player's hole cards to it, at most 47 evaluations. Only the board and the player's
+ * own hole cards are used, so the outs never reveal anything about the hands of the other players. In Omaha
+ * every evaluation picks the best of up to 60 hands of five cards.
+ */
+@Component
+public class OutsCalculator {
+
+    private static final int FLOP = 3;
+    private static final int TURN = 4;
+
+    private final HandRules handRules;
+
+    public OutsCalculator(HandRules handRules) {
+        this.handRules = handRules;
+    }
+
+    // the outs of every player with hole cards, none before the flop and on the river
+    public Map<String, Outs> calculate(BoardState board, List<Player> activePlayers) {
+        return calculate(GameVariant.HOLDEM, board, activePlayers);
+    }
+
+    // every player's outs are calculated from that player's point of view only
+    public Map<String, Outs> calculate(GameVariant variant, BoardState board, List<Player> activePlayers) {
+        Map<String, Outs> outs = new HashMap<>();
+        for (Player player : activePlayers) {
+            calculate(variant, board, player.getHandCards().getMask())
+                    .ifPresent(playerOuts -> outs.put(player.getId(), playerOuts));
+        }
+        return outs;
+    }
+
+    public Optional<Outs> calculate(GameVariant variant, BoardState board, long holeCards) {
+        if (board.size() != FLOP && board.size() != TURN || !handRules.hasHand(variant, board, holeCards)) {
+            return Optional.empty();
+        }
+        int category = category(handRules.evaluate(variant, board, holeCards));
+        long improving = 0;
+        long unseen = deck(variant) & ~board.getCards() & ~holeCards;
+        for (long remaining = unseen; remaining != 0; remaining &= remaining - 1) {
+            long card = Long.lowestOneBit(remaining);
+            if (category(handRules.evaluate(variant, board.with(card), holeCards)) > category) {
+                improving |= card;
+            }
+        }
+        return Optional.of(new Outs(CardSet.ofMask(improving), Long.bitCount(unseen)));
+    }
+
+    // the category in the order of the strengths, in the short deck a flush improves a full house
+    private static int category(int strength) {
+        return strength >>> HandEvaluator.CATEGORY_SHIFT;
+    }
+
+    private static long deck(GameVariant variant) {
+        long cards = 0;
+        for (Suit suit : Suit.values()) {
+            for (Kind kind : Kind.values()) {
+                if (kind.compareTo(variant.getLowestKind()) >= 0) {
+                    cards |= 1L << Card.of(kind, suit).getId();
+                }
+            }
+        }
+        return cards;
+    }
+
+}
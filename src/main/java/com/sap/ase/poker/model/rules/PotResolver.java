@@ -0,0 +1,120 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Splits the pot into a main pot and side pots by the contributions of the players and pays every pot to the
+ * best ranked tier of the players who contributed up to it. Folded players only fill the pots. An odd chip
+ * goes to the winner of the pot who sits first at the table, so payouts never depend on anything else.
+ * In hi/lo games every pot is split in halves between its best high and its best low, the odd chip of the
+ * split goes to the high half. Without an eligible low the high takes the whole pot.
+ */
+public final class PotResolver {
+
+    private PotResolver() {
+    }
+
+    // the payout of every seated player, deadMoney is pot money which no contribution accounts for
+    public static Map<Player, Integer> payouts(List<List<Player>> tiers, List<Player> seats, int deadMoney) {
+        return payouts(tiers, Collections.emptyList(), seats, deadMoney);
+    }
+
+    public static Map<Player, Integer> payouts(List<List<Player>> tiers, List<List<Player>> lowTiers,
+                                               List<Player> seats, int deadMoney) {
+        Map<Player, Integer> payouts = new LinkedHashMap<>();
+        Map<Player, Integer> seatOf = new HashMap<>();
+        int[] contributions = new int[seats.size()];
+        for (Player player : seats) {
+            payouts.put(player, 0);
+            contributions[seatOf.size()] = player.getContribution();
+            seatOf.put(player, seatOf.size());
+        }
+        Arrays.sort(contributions);
+
+        // one pot per different contribution of the players who are still in the hand
+        int[] levels = tiers.stream().flatMap(List::stream).mapToInt(Player::getContribution).sorted().distinct()
+                .toArray();
+        Eligibility high = new Eligibility(tiers);
+        Eligibility low = new Eligibility(lowTiers);
+        int previous = 0;
+        int amount = deadMoney;
+        int filled = 0;
+        List<Player> winners = new ArrayList<>();
+        List<Player> lowWinners = new ArrayList<>();
+        for (int level : levels) {
+            // the contributions up to the level end in this pot, the larger ones fill it up to the level
+            while (filled < contributions.length && contributions[filled] <= level) {
+                amount += contributions[filled++] - previous;
+            }
+            amount += (contributions.length - filled) * (level - previous);
+            winners = high.best(level);
+            lowWinners = low.best(level);
+            splitHiLo(amount, winners, lowWinners, seatOf, payouts);
+            amount = 0;
+            previous = level;
+        }
+        // folded players may have put in more than anyone who is still in the hand
+        while (filled < contributions.length) {
+            amount += contributions[filled++] - previous;
+        }
+        splitHiLo(amount, winners, lowWinners, seatOf, payouts);
+        return payouts;
+    }
+
+    private static void splitHiLo(int amount, List<Player> winners, List<Player> lowWinners,
+                                  Map<Player, Integer> seatOf, Map<Player, Integer> payouts) {
+        int low = lowWinners.isEmpty() ? 0 : amount / 2;
+        split(amount - low, winners, seatOf, payouts);
+        split(low, lowWinners, seatOf, payouts);
+    }
+
+    private static void split(int amount, List<Player> winners, Map<Player, Integer> seatOf,
+                              Map<Player, Integer> payouts) {
+        if (amount == 0 || winners.isEmpty()) {
+            return;
+        }
+        winners.sort((first, second) -> Integer.compare(seatOf.get(first), seatOf.get(second)));
+        for (int i = 0; i < winners.size(); i++) {
+            int share = amount / winners.size() + (i < amount % winners.size() ? 1 : 0);
+            payouts.merge(winners.get(i), share, Integer::sum);
+        }
+    }
+
+    // the levels only rise, so the players of a tier who contributed less than a level never become eligible again
+    // and a tier without eligible players is never the best one again
+    private static final class Eligibility {
+        private final List<List<Player>> tiers = new ArrayList<>();
+        private int tier;
+        private int first;
+
+        Eligibility(List<List<Player>> tiers) {
+            for (List<Player> players : tiers) {
+                List<Player> byContribution = new ArrayList<>(players);
+                byContribution.sort(Comparator.comparingInt(Player::getContribution));
+                this.tiers.add(byContribution);
+            }
+        }
+
+        List<Player> best(int level) {
+            for (; tier < tiers.size(); tier++, first = 0) {
+                List<Player> players = tiers.get(tier);
+                while (first < players.size() && players.get(first).getContribution() < level) {
+                    first++;
+                }
+                if (first < players.size()) {
+                    return new ArrayList<>(players.subList(first, players.size()));
+                }
+            }
+            return new ArrayList<>();
+        }
+    }
+}
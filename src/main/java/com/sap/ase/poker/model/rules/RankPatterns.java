@@ -0,0 +1,105 @@
+package com.sap.ase.poker.model.rules;
+
+import java.util.function.LongConsumer;
+
+/*
+ * A perfect hash of the rank counts of 5 to 7 cards without a flush. The patterns of n cards are numbered
+ * densely from the offset of n on, by their counts from the highest kind down. Used for the tables of the
+ * full deck and of the short deck, which only differ in the amount of kinds.
+ */
+final class RankPatterns {
+
+    static final int MIN_CARDS = 5;
+    static final int MAX_CARDS = 7;
+    static final int MAX_KIND_COUNT = 4;
+
+    private static final int SUITS = 4;
+
+    private final int kinds;
+    private final int suitMask;
+    // offsets[n] is the index of the first pattern of n cards, offsets[MAX_CARDS + 1] the table size
+    private final int[] offsets = new int[MAX_CARDS + 2];
+    private final int[] prefixes;
+
+    RankPatterns(int kinds) {
+        this.kinds = kinds;
+        this.suitMask = (1 << kinds) - 1;
+        this.prefixes = new int[kinds * (MAX_CARDS + 1) * (MAX_KIND_COUNT + 1)];
+        // ways[k][cards] counts the ways to spread the cards over k kinds with at most four cards per kind
+        int[][] ways = new int[kinds + 1][MAX_CARDS + 1];
+        ways[0][0] = 1;
+        for (int k = 1; k <= kinds; k++) {
+            for (int cards = 0; cards <= MAX_CARDS; cards++) {
+                for (int count = 0; count <= Math.min(MAX_KIND_COUNT, cards); count++) {
+                    ways[k][cards] += ways[k - 1][cards - count];
+                }
+            }
+        }
+        for (int kind = 0; kind < kinds; kind++) {
+            for (int remaining = 0; remaining <= MAX_CARDS; remaining++) {
+                int patternsBefore = 0;
+                for (int count = 0; count <= MAX_KIND_COUNT; count++) {
+                    prefixes[prefixIndex(kind, remaining, count)] = patternsBefore;
+                    if (count <= remaining) {
+                        patternsBefore += ways[kind][remaining - count];
+                    }
+                }
+            }
+        }
+        for (int cards = MIN_CARDS; cards <= MAX_CARDS; cards++) {
+            offsets[cards + 1] = offsets[cards] + ways[kinds][cards];
+        }
+    }
+
+    int size() {
+        return offsets[MAX_CARDS + 1];
+    }
+
+    // the index of the pattern of the four suit masks, bit = kind
+    int index(int first, int second, int third, int fourth, int cardCount) {
+        int index = offsets[cardCount];
+        int remaining = cardCount;
+        for (int kind = kinds - 1; remaining > 0; kind--) {
+            int count = (first >>> kind & 1) + (second >>> kind & 1) + (third >>> kind & 1) + (fourth >>> kind & 1);
+            index += prefixes[prefixIndex(kind, remaining, count)];
+            remaining -= count;
+        }
+        return index;
+    }
+
+    int index(long cards) {
+        return index(suitRanks(cards, 0), suitRanks(cards, 1), suitRanks(cards, 2), suitRanks(cards, 3),
+                Long.bitCount(cards));
+    }
+
+    // calls the consumer with one card mask per rank pattern, the suits are dealt round robin so there is no flush
+    void forEach(int cardCount, LongConsumer consumer) {
+        forEach(kinds - 1, cardCount, 0, 0L, consumer);
+    }
+
+    private void forEach(int kind, int remaining, int dealt, long cards, LongConsumer consumer) {
+        if (remaining == 0) {
+            consumer.accept(cards);
+            return;
+        }
+        if (kind < 0) {
+            return;
+        }
+        long withKind = cards;
+        for (int count = 0; count <= Math.min(MAX_KIND_COUNT, remaining); count++) {
+            if (count > 0) {
+                int suit = (dealt + count - 1) % SUITS;
+                withKind |= 1L << (suit * HandEvaluator.SUIT_SIZE + kind);
+            }
+            forEach(kind - 1, remaining - count, dealt + count, withKind, consumer);
+        }
+    }
+
+    private int suitRanks(long cards, int suit) {
+        return (int) (cards >>> suit * HandEvaluator.SUIT_SIZE) & suitMask;
+    }
+
+    private int prefixIndex(int kind, int remaining, int count) {
+        return (kind * (MAX_CARDS + 1) + remaining) * (MAX_KIND_COUNT + 1) + count;
+    }
+}
@@ -0,0 +1,129 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.GameVariant;
+import com.sap.ase.poker.model.deck.CardSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/*
+ * Re-evaluates a fraction of the showdowns with the reference HandRules (the Hand classes, see HandClassEvaluator)
+ * on a single low priority thread, so that a faster engine can be rolled out under real load. The showdown itself
+ * is never delayed: when the bounded queue is full the sample is dropped. Every disagreement is logged with all
+ * cards and counted. An active engine of the same class as the reference could never disagree, so shadowing is off.
+ */
+@Component
+public class ShadowEvaluation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShadowEvaluation.class);
+
+    private final HandRules reference = HandRules.reference();
+    private final double rate;
+    private final Executor executor;
+    private final DoubleSupplier random;
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+
+    // the active engine of the HandRules whose showdowns are sampled
+    @Autowired
+    public ShadowEvaluation(HandEvaluator evaluator, @Value("${poker.evaluator.shadow-rate:0}") double rate,
+                            @Value("${poker.evaluator.shadow-queue-size:256}") int queueSize) {
+        this(shadowRate(evaluator, rate), queueSize);
+    }
+
+    private ShadowEvaluation(double rate, int queueSize) {
+        this(rate, rate > 0 ? lowPriorityExecutor(queueSize) : command -> {
+        }, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    ShadowEvaluation(double rate, Executor executor, DoubleSupplier random) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("A shadow rate between 0 and 1 needed");
+        }
+        this.rate = rate;
+        this.executor = executor;
+        this.random = random;
+    }
+
+    private static double shadowRate(HandEvaluator evaluator, double rate) {
+        if (rate > 0 && evaluator.getClass() == HandClassEvaluator.class) {
+            LOGGER.warn("The active hand evaluator {} is the reference, shadow evaluation is off",
+                    evaluator.getClass().getSimpleName());
+            return 0;
+        }
+        return rate;
+    }
+
+    // rejects samples while the queue is full
+    private static Executor lowPriorityExecutor(int queueSize) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), command -> {
+            Thread thread = new Thread(command, "shadow-evaluation");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return rate > 0;
+    }
+
+    // the high strengths of the showdown, one per player, as ranked by the active engine
+    public void sample(GameVariant variant, BoardState board, long[] holeCards, int[] strengths) {
+        if (!isEnabled() || random.getAsDouble() >= rate) {
+            return;
+        }
+        long[] hands = holeCards.clone();
+        int[] expected = strengths.clone();
+        samples.increment();
+        try {
+            executor.execute(() -> compare(variant, board, hands, expected));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    void compare(GameVariant variant, BoardState board, long[] holeCards, int[] strengths) {
+        for (int i = 0; i < holeCards.length; i++) {
+            String reference;
+            try {
+                int strength = variant.isHiLo() ? OmahaEvaluator.high(this.reference.evaluateHiLo(board, holeCards[i]))
+                        : this.reference.evaluate(variant, board, holeCards[i]);
+                if (strength == strengths[i]) {
+                    continue;
+                }
+                reference = Integer.toHexString(strength);
+            } catch (RuntimeException e) {
+                reference = e.toString();
+            }
+            mismatches.increment();
+            LOGGER.warn("Shadow evaluation mismatch in {}: board {}, hole cards {}, strength {}, reference {}",
+                    variant.getValue(), CardSet.ofMask(board.getCards()), CardSet.ofMask(holeCards[i]),
+                    Integer.toHexString(strengths[i]), reference);
+        }
+    }
+
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getMismatches() {
+        return mismatches.sum();
+    }
+}
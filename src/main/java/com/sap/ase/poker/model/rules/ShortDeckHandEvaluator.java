@@ -0,0 +1,100 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Kind;
+
+/*
+ * Evaluates hands of the 36 card short deck (six to ace). The ace also counts as the lowest card of the
+ * straight A-6-7-8-9, and a flush beats a full house because it is harder to make with nine cards per suit.
+ * Both are lookups on the 9-bit rank masks of the deck: flushes by the ranks of the flush suit, everything
+ * else by the rank pattern (see RankPatterns). The tables are small enough to be generated when the class is
+ * loaded, from the BitmaskHandEvaluator with the two rules of the short deck applied on top.
+ * In the returned strengths the categories of flush and full house trade places, so that comparing
+ * strengths ranks the hands by the short deck rules. category() reports the real category.
+ */
+public class ShortDeckHandEvaluator implements HandEvaluator {
+
+    public static final Kind LOWEST_KIND = Kind.SIX;
+
+    static final int KINDS = SUIT_SIZE - LOWEST_KIND.ordinal();
+
+    private static final int LOW = LOWEST_KIND.ordinal();
+    private static final int RANK_MASK = (1 << KINDS) - 1;
+    private static final long LOW_CARDS = 0xFL | 0xFL << SUIT_SIZE | 0xFL << 2 * SUIT_SIZE | 0xFL << 3 * SUIT_SIZE;
+    // A-6-7-8-9 in the 9-bit masks
+    private static final int LOW_STRAIGHT = 1 << KINDS - 1 | 0xF;
+    private static final int LOW_STRAIGHT_HIGH = Kind.NINE.rank;
+
+    private static final RankPatterns PATTERNS = new RankPatterns(KINDS);
+    private static final int[] FLUSHES = new int[1 << KINDS];
+    private static final int[] PATTERN_STRENGTHS = new int[PATTERNS.size()];
+
+    static {
+        HandEvaluator reference = new BitmaskHandEvaluator();
+        for (int ranks = 0; ranks < FLUSHES.length; ranks++) {
+            if (Integer.bitCount(ranks) >= RankPatterns.MIN_CARDS) {
+                int strength = reference.evaluate((long) ranks << LOW);
+                if ((ranks & LOW_STRAIGHT) == LOW_STRAIGHT && (strength >>> CATEGORY_SHIFT) < STRAIGHT_FLUSH) {
+                    strength = STRAIGHT_FLUSH << CATEGORY_SHIFT | LOW_STRAIGHT_HIGH;
+                }
+                FLUSHES[ranks] = reorder(strength);
+            }
+        }
+        for (int cards = RankPatterns.MIN_CARDS; cards <= RankPatterns.MAX_CARDS; cards++) {
+            PATTERNS.forEach(cards, pattern -> {
+                int strength = reference.evaluate(pattern << LOW);
+                int any = anyRanks(pattern);
+                if ((any & LOW_STRAIGHT) == LOW_STRAIGHT && (strength >>> CATEGORY_SHIFT) < STRAIGHT) {
+                    strength = STRAIGHT << CATEGORY_SHIFT | LOW_STRAIGHT_HIGH;
+                }
+                PATTERN_STRENGTHS[PATTERNS.index(pattern)] = reorder(strength);
+            });
+        }
+    }
+
+    @Override
+    public int evaluate(long cards) {
+        int cardCount = Long.bitCount(cards);
+        if (cardCount < RankPatterns.MIN_CARDS || cardCount > RankPatterns.MAX_CARDS) {
+            throw new InvalidAmountOfCardsException("5 to 7 cards needed");
+        }
+        if ((cards & LOW_CARDS) != 0) {
+            throw new IllegalArgumentException("The short deck has no cards below six");
+        }
+        long ranks = cards >>> LOW;
+        int first = (int) ranks & RANK_MASK;
+        int second = (int) (ranks >>> SUIT_SIZE) & RANK_MASK;
+        int third = (int) (ranks >>> 2 * SUIT_SIZE) & RANK_MASK;
+        int fourth = (int) (ranks >>> 3 * SUIT_SIZE) & RANK_MASK;
+
+        int flush = BitmaskHandEvaluator.flushRanks(first, second, third, fourth);
+        if (flush != 0) {
+            return FLUSHES[flush];
+        }
+        return PATTERN_STRENGTHS[PATTERNS.index(first, second, third, fourth, cardCount)];
+    }
+
+    @Override
+    public int category(int strength) {
+        return swapFlushAndFullHouse(strength >>> CATEGORY_SHIFT);
+    }
+
+    static int reorder(int strength) {
+        int category = swapFlushAndFullHouse(strength >>> CATEGORY_SHIFT);
+        return category << CATEGORY_SHIFT | strength & (1 << CATEGORY_SHIFT) - 1;
+    }
+
+    static int swapFlushAndFullHouse(int category) {
+        if (category == FLUSH) {
+            return FULL_HOUSE;
+        }
+        return category == FULL_HOUSE ? FLUSH : category;
+    }
+
+    private static int anyRanks(long cards) {
+        int any = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            any |= (int) (cards >>> suit * SUIT_SIZE) & RANK_MASK;
+        }
+        return any;
+    }
+}
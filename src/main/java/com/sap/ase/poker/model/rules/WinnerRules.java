@@ -1,47 +1,114 @@
 package com.sap.ase.poker.model.rules;
 
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.Player;
-import com.sap.ase.poker.model.deck.Card;
-import com.sap.ase.poker.model.hands.Hand;
+import com.sap.ase.poker.model.deck.CardSet;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 @Component
 public class WinnerRules {
 
     private final HandRules handRules;
+    private final ShadowEvaluation shadowEvaluation;
 
     public WinnerRules(HandRules handRules) {
+        this(handRules, new ShadowEvaluation(handRules.getEvaluator(), 0, 1));
+    }
+
+    @Autowired
+    public WinnerRules(HandRules handRules, ShadowEvaluation shadowEvaluation) {
         this.handRules = handRules;
+        this.shadowEvaluation = shadowEvaluation;
     }
 
+    public Winners findWinners(CardSet communityCards, List<Player> activePlayers) {
+        return findWinners(BoardState.of(communityCards), activePlayers);
+    }
 
-    public Winners findWinners(List<Card> communityCards, List<Player> activePlayers) {
-        Map.Entry<Hand, List<Player>> bestHand = mapPlayersToBestHand(activePlayers, communityCards);
+    /*
+     * Ranks every player exactly once into tiers of equal hands, best first. The board is evaluated once,
+     * every player only adds the hole cards to it.
+     */
+    public Winners findWinners(BoardState board, List<Player> activePlayers) {
+        return findWinners(GameVariant.HOLDEM, board, activePlayers);
+    }
 
-        return new Winners(bestHand.getValue(), bestHand.getKey());
+    public Winners findWinners(GameVariant variant, BoardState board, List<Player> activePlayers) {
+        int[] strengths = new int[activePlayers.size()];
+        int[] lows = new int[activePlayers.size()];
+        long[] holeCardMasks = new long[activePlayers.size()];
+        Map<String, Integer> handRanks = new HashMap<>();
+        for (int i = 0; i < strengths.length; i++) {
+            Player player = activePlayers.get(i);
+            long holeCards = player.getHandCards().getMask();
+            holeCardMasks[i] = holeCards;
+            if (variant.isHiLo()) {
+                // high and low in one pass over the combinations of hole and board cards
+                long hiLo = handRules.evaluateHiLo(board, holeCards);
+                strengths[i] = OmahaEvaluator.high(hiLo);
+                lows[i] = OmahaEvaluator.low(hiLo);
+            } else {
+                strengths[i] = variant == GameVariant.HOLDEM ? handRules.evaluate(board, holeCards)
+                        : handRules.evaluate(variant, board, holeCards);
+                lows[i] = LowHandEvaluator.NO_LOW;
+            }
+            handRanks.put(player.getId(), handRules.getEvaluator(variant).category(strengths[i]));
+        }
+        shadowEvaluation.sample(variant, board, holeCardMasks, strengths);
+
+        List<List<Player>> tiers = tiers(activePlayers, strengths);
+        List<List<Player>> lowTiers = tiers(activePlayers, lows);
+        if (tiers.isEmpty()) {
+            return new Winners(tiers, -1, null, handRanks);
+        }
+        long winningHoleCards = tiers.get(0).get(0).getHandCards().getMask();
+        return new Winners(tiers, lowTiers, Arrays.stream(strengths).max().getAsInt(),
+                handRules.findBestHand(variant, board, winningHoleCards), handRanks);
     }
 
-    private Map.Entry<Hand, List<Player>> mapPlayersToBestHand(List<Player> players,
-                                                               List<Card> communityCards) {
-        TreeMap<Hand, List<Player>> playerHands = new TreeMap<>();
-        for (Player player : players) {
-            Hand bestHand = handRules.findBestHand(combineCards(communityCards, player.getHandCards()));
-            if (!playerHands.containsKey(bestHand)) {
-                playerHands.put(bestHand, new ArrayList<>());
+    // the players grouped by equal strengths, best first, players without a strength are left out
+    private static List<List<Player>> tiers(List<Player> players, int[] strengths) {
+        Integer[] order = new Integer[players.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Integer.compare(strengths[second], strengths[first]));
+
+        List<List<Player>> tiers = new ArrayList<>();
+        for (int i = 0; i < order.length && strengths[order[i]] >= 0; i++) {
+            if (i == 0 || strengths[order[i]] != strengths[order[i - 1]]) {
+                tiers.add(new ArrayList<>());
             }
-            playerHands.get(bestHand).add(player);
+            tiers.get(tiers.size() - 1).add(players.get(order[i]));
         }
-        return playerHands.pollLastEntry();
+        return tiers;
     }
 
-    private List<Card> combineCards(List<Card> communityCards, List<Card> handCards) {
-        List<Card> availableCards = new ArrayList<>(handCards);
-        availableCards.addAll(communityCards);
-        return availableCards;
+    // the category of the hand every player holds with the board so far, players with fewer than 5 cards have none
+    public Map<String, Integer> rankHands(CardSet communityCards, List<Player> players) {
+        return rankHands(BoardState.of(communityCards), players);
+    }
+
+    public Map<String, Integer> rankHands(BoardState board, List<Player> players) {
+        return rankHands(GameVariant.HOLDEM, board, players);
+    }
+
+    public Map<String, Integer> rankHands(GameVariant variant, BoardState board, List<Player> players) {
+        Map<String, Integer> handRanks = new HashMap<>();
+        for (Player player : players) {
+            long holeCards = player.getHandCards().getMask();
+            if (handRules.hasHand(variant, board, holeCards)) {
+                int strength = handRules.evaluate(variant, board, holeCards);
+                handRanks.put(player.getId(), handRules.getEvaluator(variant).category(strength));
+            }
+        }
+        return handRanks;
     }
 }
@@ -4,17 +4,43 @@ import com.sap.ase.poker.model.Player;
 import com.sap.ase.poker.model.hands.Hand;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/*
+ * The result of a showdown. It is immutable, the winning hand is resolved with the ranking, so it can be served
+ * to every poll of the table until the next hand starts. The players are ranked into tiers, best hands first, and the players
+ * of one tier hold equal hands. In hi/lo games the players with a qualifying low are ranked into low tiers too.
+ */
 public class Winners {
 
-    List<Player> winners = new ArrayList<>();
-    Hand winningHand;
+    private final List<List<Player>> tiers;
+    private final List<List<Player>> lowTiers;
+    private final int strength;
+    private final Map<String, Integer> handRanks;
+    private final Hand winningHand;
 
-    public Winners(List<Player> winners, Hand winningHand) {
-        this.winners.addAll(winners);
+    // the winning hand is null when no cards were compared
+    public Winners(List<List<Player>> tiers, int strength, Hand winningHand, Map<String, Integer> handRanks) {
+        this(tiers, Collections.emptyList(), strength, winningHand, handRanks);
+    }
+
+    public Winners(List<List<Player>> tiers, List<List<Player>> lowTiers, int strength, Hand winningHand,
+                   Map<String, Integer> handRanks) {
+        this.tiers = copy(tiers);
+        this.lowTiers = copy(lowTiers);
+        this.strength = strength;
         this.winningHand = winningHand;
+        this.handRanks = Collections.unmodifiableMap(new HashMap<>(handRanks));
+    }
+
+    // the other players folded, so no cards are compared
+    public static Winners uncontested(Player winner) {
+        return new Winners(Collections.singletonList(Collections.singletonList(winner)), 0, null,
+                Collections.emptyMap());
     }
 
     public Optional<Hand> getWinningHand() {
@@ -22,6 +48,32 @@ public class Winners {
     }
 
     public List<Player> getWinners() {
-        return winners;
+        return tiers.isEmpty() ? Collections.emptyList() : tiers.get(0);
+    }
+
+    public List<List<Player>> getTiers() {
+        return tiers;
+    }
+
+    // empty unless some player holds a low in a hi/lo game
+    public List<List<Player>> getLowTiers() {
+        return lowTiers;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // the hand rank (see Hand.getRank()) of every player in the showdown by player id
+    public Map<String, Integer> getHandRanks() {
+        return handRanks;
+    }
+
+    private static List<List<Player>> copy(List<List<Player>> tiers) {
+        List<List<Player>> copy = new ArrayList<>();
+        for (List<Player> tier : tiers) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(tier)));
+        }
+        return Collections.unmodifiableList(copy);
     }
 }
@@ -4,14 +4,21 @@ import com.sap.ase.poker.data.PlayerNamesRepository;
 import com.sap.ase.poker.dto.BetRequestDto;
 import com.sap.ase.poker.dto.CardDto;
 import com.sap.ase.poker.dto.GetTableResponseDto;
+import com.sap.ase.poker.dto.OutsDto;
 import com.sap.ase.poker.dto.PlayerDto;
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.IllegalActionException;
 import com.sap.ase.poker.model.IllegalAmountException;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.equity.PreflopEquities;
+import com.sap.ase.poker.model.equity.PreflopEquityTable;
 import com.sap.ase.poker.service.TableService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.OptionalDouble;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,13 +31,19 @@ public class TableController {
 
 	private final PlayerNamesRepository playerNamesRepository;
 
-	public TableController(TableService tableService, PlayerNamesRepository playerNamesRepository) {
+	private final PreflopEquities preflopEquities;
+
+	public TableController(TableService tableService, PlayerNamesRepository playerNamesRepository,
+						   PreflopEquities preflopEquities) {
 		this.tableService = tableService;
 		this.playerNamesRepository = playerNamesRepository;
+		this.preflopEquities = preflopEquities;
 	}
 
 	@GetMapping
-	public GetTableResponseDto getTable(Principal principal) {
+	public GetTableResponseDto getTable(Principal principal,
+										@RequestParam(name = "outs", defaultValue = "false") boolean outs,
+										@RequestParam(name = "equity", defaultValue = "false") boolean equity) {
 		String playerId = principal.getName();
 		GetTableResponseDto tableStatus = new GetTableResponseDto();
 
@@ -43,6 +56,15 @@ public class TableController {
 		tableStatus.setState(tableService.getState().getValue());
 		tableStatus.setWinner(tableService.getWinner().map(PlayerDto::new).orElse(null));
 		tableStatus.setWinnerHand(tableService.getWinnerHand().stream().map(CardDto::new).collect(Collectors.toList()));
+		tableStatus.setWinningCards(tableService.getWinningCards().stream().map(CardDto::new).collect(Collectors.toList()));
+		tableStatus.setHandRank(tableService.getHandRanks().getOrDefault(playerId, 0));
+		tableStatus.setAllInEquities(tableService.getAllInEquities());
+		if (outs) {
+			tableStatus.setOuts(tableService.getOuts(playerId).map(OutsDto::new).orElse(null));
+		}
+		if (equity) {
+			tableStatus.setPreflopEquity(preflopEquity(playerId));
+		}
 		return tableStatus;
 	}
 
@@ -60,10 +82,28 @@ public class TableController {
 		tableService.performAction(betRequest.getType(), amount);
 	}
 
+	@PostMapping("/variant")
+	public ResponseEntity<Void> changeVariant(@RequestParam("name") String variant) {
+		tableService.setVariant(GameVariant.of(variant));
+		return ResponseEntity.noContent().build();
+	}
+
 	@PostMapping("/start")
 	public ResponseEntity<Void> start() {
 		tableService.start();
 		return ResponseEntity.noContent().build();
 
 	}
-}
\ No newline at end of file
+
+	// the equity of the hole cards against the other active players in Hold'em, only before the flop
+	private Double preflopEquity(String playerId) {
+		CardSet holeCards = tableService.getPlayerCards(playerId);
+		int opponents = Math.min(tableService.getActivePlayers().size() - 1, PreflopEquityTable.MAX_OPPONENTS);
+		if (tableService.getState() != GameState.PRE_FLOP || tableService.getVariant() != GameVariant.HOLDEM
+				|| holeCards.size() != 2 || opponents < 1) {
+			return null;
+		}
+		OptionalDouble preflopEquity = preflopEquities.equity(holeCards, opponents);
+		return preflopEquity.isPresent() ? preflopEquity.getAsDouble() : null;
+	}
+}
@@ -1,13 +1,28 @@
 package com.sap.ase.poker.service;
 
 import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.Action;
 import com.sap.ase.poker.model.IllegalActionException;
 import com.sap.ase.poker.model.IllegalAmountException;
 import com.sap.ase.poker.model.Player;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
 import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.equity.Equity;
+import com.sap.ase.poker.model.equity.EquityCalculator;
+import com.sap.ase.poker.model.equity.ExactEquityCalculator;
+import com.sap.ase.poker.model.hands.Hand;
+import com.sap.ase.poker.model.rules.BoardState;
+import com.sap.ase.poker.model.rules.HandRules;
+import com.sap.ase.poker.model.rules.Outs;
+import com.sap.ase.poker.model.rules.OutsCalculator;
+import com.sap.ase.poker.model.rules.PotResolver;
 import com.sap.ase.poker.model.rules.WinnerRules;
+import com.sap.ase.poker.model.rules.Winners;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -17,43 +32,95 @@ import java.util.stream.Collectors;
 @Service
 public class TableService {
 
+    // the table posts no blinds, so pot-limit bets into an empty pot may open with up to this amount
+    static final int MINIMUM_POT_LIMIT = 10;
+    // the all-in equities are sampled before the flop, this long at most
+    static final long ALL_IN_TIME_BUDGET_MILLIS = 250;
+    static final int FLOP_CARDS = 3;
+
     private final Supplier<Deck> deckSupplier;
     private final WinnerRules winnerRules;
+    private final OutsCalculator outsCalculator;
+    private final EquityCalculator equityCalculator;
+    private final ExactEquityCalculator exactEquityCalculator;
+    private final long allInTimeBudgetMillis;
     List<Player> players;
     GameState state;
+    GameVariant variant;
     Player currentPlayer;
-    List<Card> communityCards;
+    CardSet communityCards;
+    BoardState board;
     Player winner;
+    volatile Winners showdown;
+    Map<String, Integer> handRanks;
+    Map<String, Outs> outs;
+    // the hole cards of the active players and the board the all-in equities were calculated for
+    List<Long> allInSituation;
+    Map<String, Double> allInEquities;
+    Deck deck;
     int pot;
     int roundPlayers;
 
-    public TableService(Supplier<Deck> deckSupplier, WinnerRules winnerRules) {
+    TableService(Supplier<Deck> deckSupplier, WinnerRules winnerRules) {
+        this(deckSupplier, winnerRules, new OutsCalculator(new HandRules()), new EquityCalculator(new HandRules()),
+                new ExactEquityCalculator(new HandRules()), ALL_IN_TIME_BUDGET_MILLIS);
+    }
+
+    @Autowired
+    public TableService(Supplier<Deck> deckSupplier, WinnerRules winnerRules, OutsCalculator outsCalculator,
+                        EquityCalculator equityCalculator, ExactEquityCalculator exactEquityCalculator,
+                        @Value("${poker.equity.all-in-budget-millis:" + ALL_IN_TIME_BUDGET_MILLIS + "}")
+                                long allInTimeBudgetMillis) {
         this.deckSupplier = deckSupplier;
         this.winnerRules = winnerRules;
+        this.outsCalculator = outsCalculator;
+        this.equityCalculator = equityCalculator;
+        this.exactEquityCalculator = exactEquityCalculator;
+        this.allInTimeBudgetMillis = allInTimeBudgetMillis;
         this.players = new ArrayList<>();
         this.state = GameState.OPEN;
-        this.communityCards = new ArrayList<>();
+        this.variant = GameVariant.HOLDEM;
+        this.communityCards = CardSet.EMPTY;
+        this.board = BoardState.EMPTY;
+        this.handRanks = Collections.emptyMap();
+        this.outs = Collections.emptyMap();
     }
 
     public GameState getState() {
         return this.state;
     }
 
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    // the variant of the next hands, it can not change while a hand is played
+    public void setVariant(GameVariant variant) {
+        if (state != GameState.OPEN && state != GameState.ENDED) {
+            throw new IllegalActionException("The game variant can only be changed between hands.");
+        }
+        if (variant.getLowestKind() != this.variant.getLowestKind()) {
+            // the next hand builds the deck of the variant
+            deck = null;
+        }
+        this.variant = variant;
+    }
+
     public List<Player> getPlayers() {
         return this.players;
     }
 
-    public List<Card> getPlayerCards(String playerId) {
-        List<Card> cards = new ArrayList<>();
+    public CardSet getPlayerCards(String playerId) {
+        CardSet cards = CardSet.EMPTY;
         for(Player player: this.players){
             if(player.getId().equals(playerId)){
-                cards.addAll(player.getHandCards());
+                cards = cards.union(player.getHandCards());
             }
         }
         return cards;
     }
 
-    public List<Card> getCommunityCards() {
+    public CardSet getCommunityCards() {
         return communityCards;
     }
 
@@ -81,32 +148,133 @@ public class TableService {
         if (state != GameState.ENDED){
             return Optional.empty();
         }   else{
-            return Optional.ofNullable(getWinners().get(0));
+            return Optional.ofNullable(getShowdown().getWinners().get(0));
         }
     }
 
-    public List<Player> getWinners(){
+    // evaluated once per hand, the pots and every later poll are served from the stored ranking
+    Winners getShowdown() {
+        Winners ranking = showdown;
+        if (ranking != null) {
+            return ranking;
+        }
+        synchronized (this) {
+            if (showdown == null) {
+                List<Player> activePlayers = getActivePlayers();
+                if (activePlayers.size() == 1) {
+                    showdown = Winners.uncontested(activePlayers.get(0));
+                } else {
+                    showdown = winnerRules.findWinners(variant, getBoard(), activePlayers);
+                }
+            }
+            return showdown;
+        }
+    }
+
+    // the hand category of every active player, ranked once per street when the board changes
+    public Map<String, Integer> getHandRanks() {
+        return handRanks;
+    }
+
+    // the evaluation state of the community cards, only the cards dealt since the last call are added to it
+    BoardState getBoard() {
+        long dealt = communityCards.getMask() & ~board.getCards();
+        if ((board.getCards() & ~communityCards.getMask()) != 0) {
+            board = BoardState.of(communityCards);
+        } else if (dealt != 0) {
+            board = board.with(dealt);
+        }
+        return board;
+    }
+
+    // the outs of one active player, calculated once per street on the flop and the turn
+    public Optional<Outs> getOuts(String playerId) {
+        return Optional.ofNullable(outs.get(playerId));
+    }
+
+    /*
+     * The share of the pot every active player wins on average, by player id, while no more bets are possible in
+     * Hold'em, and empty otherwise. It is sampled within the time budget before the flop and enumerated exactly
+     * from the flop on, once for every board and set of players.
+     */
+    public synchronized Map<String, Double> getAllInEquities() {
         List<Player> activePlayers = getActivePlayers();
-        if(activePlayers.size() == 1){
-            return activePlayers;
-        } else {
-            return winnerRules.findWinners(communityCards, getActivePlayers()).getWinners();
+        if (!isAllIn(activePlayers)) {
+            return Collections.emptyMap();
+        }
+        List<CardSet> holeCards = new ArrayList<>();
+        List<Long> situation = new ArrayList<>();
+        for (Player player : activePlayers) {
+            holeCards.add(player.getHandCards());
+            situation.add(player.getHandCards().getMask());
         }
+        situation.add(communityCards.getMask());
+        if (!situation.equals(allInSituation)) {
+            Equity equity = communityCards.size() >= FLOP_CARDS
+                    ? exactEquityCalculator.calculate(holeCards, communityCards)
+                    : equityCalculator.calculate(holeCards, communityCards, EquityCalculator.MAX_SAMPLES,
+                    EquityCalculator.TARGET_ERROR, allInTimeBudgetMillis);
+            Map<String, Double> equities = new LinkedHashMap<>();
+            for (int player = 0; player < activePlayers.size(); player++) {
+                equities.put(activePlayers.get(player).getId(), equity.getEquity(player));
+            }
+            allInEquities = Collections.unmodifiableMap(equities);
+            allInSituation = situation;
+        }
+        return allInEquities;
     }
 
+    // at most one active player has cash left, and that player has nothing left to call
+    boolean isAllIn(List<Player> activePlayers) {
+        if (variant != GameVariant.HOLDEM || state == GameState.OPEN || state == GameState.ENDED
+                || activePlayers.size() < EquityCalculator.MIN_PLAYERS
+                || activePlayers.size() > EquityCalculator.MAX_PLAYERS) {
+            return false;
+        }
+        int currentMaxBet = getCurrentMaxBet();
+        int playersWithCash = 0;
+        for (Player player : activePlayers) {
+            if (player.getCash() > 0) {
+                playersWithCash++;
+                if (player.getBet() < currentMaxBet) {
+                    return false;
+                }
+            }
+        }
+        return playersWithCash <= 1;
+    }
+
+    // the hole cards of the winner, empty when the other players folded
     public List<Card> getWinnerHand() {
         Optional<Player> winner = getWinner();
         if (getActivePlayers().size() == 1 || !winner.isPresent()){
             return new ArrayList<>();
         }
-        return winner.get().getHandCards();
+        return winner.get().getHandCards().toList();
     }
 
-    public void resetGame() {
+    // the five cards of the winning hand
+    public List<Card> getWinningCards() {
+        if (state != GameState.ENDED){
+            return new ArrayList<>();
+        }
+        return getShowdown().getWinningHand()
+                .map(Hand::getCards)
+                .orElseGet(ArrayList::new);
+    }
+
+    public synchronized void resetGame() {
         this.state = GameState.OPEN;
-        this.communityCards = new ArrayList<>();
+        this.communityCards = CardSet.EMPTY;
         this.pot = 0;
         this.winner = null;
+        this.showdown = null;
+        for (Player player : players) {
+            player.clearContribution();
+        }
+        this.board = BoardState.EMPTY;
+        this.handRanks = Collections.emptyMap();
+        this.outs = Collections.emptyMap();
     }
 
     public void start() {
@@ -118,18 +286,30 @@ public class TableService {
         this.pot = 0;
         this.roundPlayers = 0;
         state = GameState.PRE_FLOP;
+        // the table keeps one deck per variant, a new hand reshuffles it instead of building another one
+        deck().shuffle();
         for(Player player: players){
-            List<Card> handCards = new ArrayList<>();
-            handCards.add(deckSupplier.get().draw());
-            handCards.add(deckSupplier.get().draw());
-
-            player.setHandCards(handCards);
+            player.setHandCards(dealCards(variant.getHoleCards()));
             player.setActive();
             this.roundPlayers = this.roundPlayers + 1;
         }
         this.currentPlayer = players.get(0);
     }
 
+    private CardSet dealCards(int amount) {
+        return deck().deal(amount);
+    }
+
+    private Deck deck() {
+        if (deck == null) {
+            deck = deckSupplier.get();
+            if (variant.getLowestKind() != Kind.TWO) {
+                deck = deck.withKindsFrom(variant.getLowestKind());
+            }
+        }
+        return deck;
+    }
+
     public void addPlayer(String playerId, String playerName) {
         boolean exists = players.stream().anyMatch(obj -> obj.getId().equals(playerId));
         if(!exists) {
@@ -159,9 +339,7 @@ public class TableService {
             this.roundEndActivities();
         }
 
-        if(this.state==GameState.ENDED){
-            distributeWinnings();
-        }else {
+        if(this.state!=GameState.ENDED){
             this.currentPlayer = this.getNextPlayer();
         }
     }
@@ -181,6 +359,8 @@ public class TableService {
 
         if((amount + currentPlayer.getBet()) <= currentMaxBet){
             throw new IllegalAmountException("Bet Amount is not higher than Current Bet.");
+        } else if (variant.isPotLimit() && amount > getPotLimit()) {
+            throw new IllegalAmountException("The betting amount exceeds the pot limit.");
         } else if (amount > currentPlayer.getCash()) {
             throw new IllegalAmountException("The player does not have enough cash to Bet this amount.");
         } else if (minimumCash < amount) {
@@ -188,6 +368,17 @@ public class TableService {
         }
         currentPlayer.bet(amount + currentPlayer.getBet());
     }
+
+    // the most the current player may bet: the call, then a raise by the pot including that call
+    public int getPotLimit() {
+        int call = getCurrentMaxBet() - currentPlayer.getBet();
+        int bets = 0;
+        for (Player player : players) {
+            bets += player.getBet();
+        }
+        return Math.max(MINIMUM_POT_LIMIT, call + pot + bets + call);
+    }
+
     public void handleCall(){
         int currentMaxBet = this.getCurrentMaxBet();
         if (currentMaxBet > currentPlayer.getCash()) {
@@ -261,20 +452,24 @@ public class TableService {
         this.roundPlayers = getActivePlayers().size();
 
         if(state == GameState.PRE_FLOP){
-            communityCards.add(deckSupplier.get().draw());
-            communityCards.add(deckSupplier.get().draw());
-            communityCards.add(deckSupplier.get().draw());
+            communityCards = communityCards.union(dealCards(3));
 
             state = GameState.FLOP;
         } else if (state == GameState.FLOP) {
-            communityCards.add(deckSupplier.get().draw());
+            communityCards = communityCards.union(dealCards(1));
             state = GameState.TURN;
         } else if (state == GameState.TURN) {
-            communityCards.add(deckSupplier.get().draw());
+            communityCards = communityCards.union(dealCards(1));
             state = GameState.RIVER;
         } else if (state == GameState.RIVER) {
             state = GameState.ENDED;
-            distributeWinnings();
+        }
+        // the hand ends here after the river and after the last fold, so the pots are paid exactly once
+        if (state == GameState.ENDED) {
+            resolvePots();
+        } else {
+            handRanks = Collections.unmodifiableMap(winnerRules.rankHands(variant, getBoard(), getActivePlayers()));
+            outs = Collections.unmodifiableMap(outsCalculator.calculate(variant, getBoard(), getActivePlayers()));
         }
     }
 
@@ -285,13 +480,19 @@ public class TableService {
         return activePlayers;
     }
 
-    public void distributeWinnings(){
-        List<Player> winners = getWinners();
-        for(Player winner: winners){
-            winner.addCash(pot/winners.size());
+    // pays the main pot and every side pot from the one showdown ranking, by what each player contributed
+    public void resolvePots(){
+        int contributed = 0;
+        for(Player player: players){
+            contributed += player.getContribution();
         }
+        Winners ranking = getShowdown();
+        Map<Player, Integer> payouts = PotResolver.payouts(ranking.getTiers(), ranking.getLowTiers(), players,
+                Math.max(0, pot - contributed));
+        payouts.forEach(Player::addCash);
         for(Player player: players){
             player.clearBet();
+            player.clearContribution();
         }
         pot = 0;
     }
@@ -0,0 +1,285 @@
+package com.sap.ase.poker.model.rules;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.function.IntConsumer;
+
+/*
+ * The batch of the BitmaskHandEvaluator on the Vector API (jdk.incubator.vector, Java 16 and later): every lane
+ * ranks one hand with the same rank mask arithmetic, 8 hands per instruction with 256-bit and 16 with 512-bit
+ * vectors. The lanes cannot branch, so the hands are ranked in blocks, one stage per category from the high card up:
+ * every stage blends its category into the lanes which have it, and skips a vector in which no lane has it. The
+ * masks of a block stay in arrays between the stages, a stage is small enough for the JIT to keep its vectors in
+ * registers, one method for all categories is not.
+ * The JDK has no vector count of leading zeros before Java 19, the highest rank is taken from the exponent of the
+ * mask converted to a float. The kickers are looked up hand by hand in a table of the top ranks of all 13-bit
+ * masks, once for the best category: the gather of JDK 17 crashes the JIT compiled code with 512-bit vectors.
+ * BitmaskHandEvaluator loads this class reflectively. Only JDKs with the Vector API compile it (see the vector-api
+ * profile), and it only loads when the JVM runs with --add-modules jdk.incubator.vector.
+ */
+final class VectorBitmaskBatch implements HandEvaluator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int BLOCK = 16 * LANES;
+    private static final int SUIT_MASK = (1 << SUIT_SIZE) - 1;
+    private static final int FLOAT_EXPONENT_SHIFT = 23;
+    // the exponent bias of a float, plus one for the doubled mask
+    private static final int FLOAT_EXPONENT_OFFSET = 128;
+    private static final int TOP_RANKS = 5;
+    // the five highest ranks of every rank mask, see BitmaskHandEvaluator.topRanks
+    private static final int[] TOP_FIVE = new int[1 << SUIT_SIZE];
+
+    static {
+        for (int ranks = 0; ranks < TOP_FIVE.length; ranks++) {
+            TOP_FIVE[ranks] = BitmaskHandEvaluator.topRanks(ranks, TOP_RANKS);
+        }
+    }
+
+    private final HandEvaluator scalar = new BitmaskHandEvaluator();
+
+    @Override
+    public int evaluate(long cards) {
+        return scalar.evaluate(cards);
+    }
+
+    // the hands which do not fill all lanes of a vector are ranked one by one
+    @Override
+    public void evaluate(long[] cards, int[] strengths) {
+        HandEvaluator.checkBatch(cards, strengths);
+        int vectorized = cards.length - cards.length % LANES;
+        if (vectorized > 0) {
+            new Block(Math.min(BLOCK, vectorized)).evaluate(cards, strengths, vectorized);
+        }
+        for (int hand = vectorized; hand < cards.length; hand++) {
+            strengths[hand] = scalar.evaluate(cards[hand]);
+        }
+    }
+
+    // the masks of the hands of one block, every stage fills some and reads others. The categories leave the
+    // strength without the kickers in heads, the ranks to take the kickers from and the shift of their top five
+    private static final class Block {
+        private final int[] first;
+        private final int[] second;
+        private final int[] third;
+        private final int[] fourth;
+        private final int[] flush;
+        private final int[] any;
+        private final int[] pairs;
+        private final int[] trips;
+        private final int[] quads;
+        private final int[] heads;
+        private final int[] kickers;
+        private final int[] shifts;
+        // the JIT compiles every stage on its own this way, inlined into one method they exceed its budget of nodes
+        // and the vectors are no longer kept in registers
+        private final IntConsumer[] stages = {this::highCards, this::pairs, this::twoPairs, this::threeOfAKinds,
+                this::straights, this::flushes, this::fullHouses, this::fourOfAKinds, this::straightFlushes};
+
+        Block(int size) {
+            first = new int[size];
+            second = new int[size];
+            third = new int[size];
+            fourth = new int[size];
+            flush = new int[size];
+            any = new int[size];
+            pairs = new int[size];
+            trips = new int[size];
+            quads = new int[size];
+            heads = new int[size];
+            kickers = new int[size];
+            shifts = new int[size];
+        }
+
+        void evaluate(long[] cards, int[] strengths, int length) {
+            for (int from = 0; from < length; from += first.length) {
+                int size = Math.min(first.length, length - from);
+                split(cards, from, size);
+                for (IntConsumer stage : stages) {
+                    for (int lane = 0; lane < size; lane += LANES) {
+                        stage.accept(lane);
+                    }
+                }
+                for (int hand = 0; hand < size; hand++) {
+                    strengths[from + hand] = heads[hand] | TOP_FIVE[kickers[hand]] >>> shifts[hand];
+                }
+            }
+        }
+
+        // the flushes are found hand by hand, the count of bits is one instruction for scalars only
+        private void split(long[] cards, int from, int size) {
+            for (int hand = 0; hand < size; hand++) {
+                long handCards = cards[from + hand];
+                int firstSuit = (int) handCards & SUIT_MASK;
+                int secondSuit = (int) (handCards >>> SUIT_SIZE) & SUIT_MASK;
+                int thirdSuit = (int) (handCards >>> 2 * SUIT_SIZE) & SUIT_MASK;
+                int fourthSuit = (int) (handCards >>> 3 * SUIT_SIZE) & SUIT_MASK;
+                first[hand] = firstSuit;
+                second[hand] = secondSuit;
+                third[hand] = thirdSuit;
+                fourth[hand] = fourthSuit;
+                flush[hand] = BitmaskHandEvaluator.flushRanks(firstSuit, secondSuit, thirdSuit, fourthSuit);
+            }
+        }
+
+        // see BitmaskHandEvaluator.atLeastTwo and atLeastThree
+        private void highCards(int lane) {
+            IntVector s1 = IntVector.fromArray(SPECIES, first, lane);
+            IntVector s2 = IntVector.fromArray(SPECIES, second, lane);
+            IntVector s3 = IntVector.fromArray(SPECIES, third, lane);
+            IntVector s4 = IntVector.fromArray(SPECIES, fourth, lane);
+            IntVector oneTwo = s1.and(s2);
+            IntVector threeFour = s3.and(s4);
+            IntVector oneOrTwo = s1.or(s2);
+            IntVector threeOrFour = s3.or(s4);
+            IntVector anyRanks = oneOrTwo.or(threeOrFour);
+            IntVector atLeastTwo = oneTwo.or(threeFour).or(oneOrTwo.and(threeOrFour));
+            IntVector atLeastThree = oneTwo.and(threeOrFour).or(threeFour.and(oneOrTwo));
+            IntVector fourOfAKind = oneTwo.and(threeFour);
+            anyRanks.intoArray(any, lane);
+            atLeastTwo.and(atLeastThree.not()).intoArray(pairs, lane);
+            atLeastThree.and(fourOfAKind.not()).intoArray(trips, lane);
+            fourOfAKind.intoArray(quads, lane);
+
+            IntVector.broadcast(SPECIES, HIGH_CARD << CATEGORY_SHIFT).intoArray(heads, lane);
+            anyRanks.intoArray(kickers, lane);
+            IntVector.zero(SPECIES).intoArray(shifts, lane);
+        }
+
+        private void pairs(int lane) {
+            IntVector pairRanks = IntVector.fromArray(SPECIES, pairs, lane);
+            VectorMask<Integer> hasPair = pairRanks.compare(VectorOperators.NE, 0);
+            if (hasPair.anyTrue()) {
+                IntVector pair = highest(pairRanks);
+                IntVector anyRanks = IntVector.fromArray(SPECIES, any, lane);
+                update(lane, hasPair, pack(PAIR, rank(pair).lanewise(VectorOperators.LSHL, 12)),
+                        without(anyRanks, pair), 3);
+            }
+        }
+
+        // the hands of two pairs have the high pair in the head of the pair and no longer in its kickers
+        private void twoPairs(int lane) {
+            IntVector pairRanks = IntVector.fromArray(SPECIES, pairs, lane);
+            VectorMask<Integer> hasTwoPairs = moreThanOne(pairRanks);
+            if (hasTwoPairs.anyTrue()) {
+                IntVector pairKickers = IntVector.fromArray(SPECIES, kickers, lane);
+                IntVector lowPair = highest(pairRanks.and(pairKickers));
+                IntVector ranks = IntVector.fromArray(SPECIES, heads, lane).and(0xF000)
+                        .lanewise(VectorOperators.LSHR, 4).or(rank(lowPair).lanewise(VectorOperators.LSHL, 4));
+                update(lane, hasTwoPairs, pack(TWO_PAIRS, ranks), without(pairKickers, lowPair), 1);
+            }
+        }
+
+        private void threeOfAKinds(int lane) {
+            IntVector tripRanks = IntVector.fromArray(SPECIES, trips, lane);
+            VectorMask<Integer> hasTrips = tripRanks.compare(VectorOperators.NE, 0);
+            if (hasTrips.anyTrue()) {
+                IntVector trip = highest(tripRanks);
+                IntVector anyRanks = IntVector.fromArray(SPECIES, any, lane);
+                update(lane, hasTrips, pack(THREE_OF_A_KIND, rank(trip).lanewise(VectorOperators.LSHL, 8)),
+                        without(anyRanks, trip), 2);
+            }
+        }
+
+        private void straights(int lane) {
+            IntVector straights = VectorBitmaskBatch.straights(IntVector.fromArray(SPECIES, any, lane));
+            VectorMask<Integer> hasStraight = straights.compare(VectorOperators.NE, 0);
+            if (hasStraight.anyTrue()) {
+                update(lane, hasStraight, pack(STRAIGHT, straightRank(straights)), IntVector.zero(SPECIES), 0);
+            }
+        }
+
+        private void flushes(int lane) {
+            IntVector flushRanks = IntVector.fromArray(SPECIES, flush, lane);
+            VectorMask<Integer> hasFlush = flushRanks.compare(VectorOperators.NE, 0);
+            if (hasFlush.anyTrue()) {
+                update(lane, hasFlush, IntVector.broadcast(SPECIES, FLUSH << CATEGORY_SHIFT), flushRanks, TOP_RANKS);
+            }
+        }
+
+        private void fullHouses(int lane) {
+            IntVector tripRanks = IntVector.fromArray(SPECIES, trips, lane);
+            IntVector pairRanks = IntVector.fromArray(SPECIES, pairs, lane);
+            VectorMask<Integer> hasFullHouse = tripRanks.compare(VectorOperators.NE, 0)
+                    .and(pairRanks.compare(VectorOperators.NE, 0).or(moreThanOne(tripRanks)));
+            if (hasFullHouse.anyTrue()) {
+                IntVector trip = highest(tripRanks);
+                IntVector pair = highest(without(tripRanks, trip).or(pairRanks));
+                IntVector ranks = rank(trip).lanewise(VectorOperators.LSHL, 4).or(rank(pair));
+                update(lane, hasFullHouse, pack(FULL_HOUSE, ranks), IntVector.zero(SPECIES), 0);
+            }
+        }
+
+        private void fourOfAKinds(int lane) {
+            IntVector quadRanks = IntVector.fromArray(SPECIES, quads, lane);
+            VectorMask<Integer> hasQuads = quadRanks.compare(VectorOperators.NE, 0);
+            if (hasQuads.anyTrue()) {
+                IntVector quad = highest(quadRanks);
+                IntVector anyRanks = IntVector.fromArray(SPECIES, any, lane);
+                update(lane, hasQuads, pack(FOUR_OF_A_KIND, rank(quad).lanewise(VectorOperators.LSHL, 4)),
+                        without(anyRanks, quad), 1);
+            }
+        }
+
+        private void straightFlushes(int lane) {
+            IntVector straightFlushes = VectorBitmaskBatch.straights(IntVector.fromArray(SPECIES, flush, lane));
+            VectorMask<Integer> hasStraightFlush = straightFlushes.compare(VectorOperators.NE, 0);
+            if (hasStraightFlush.anyTrue()) {
+                IntVector high = straightRank(straightFlushes);
+                VectorMask<Integer> royal = high.compare(VectorOperators.EQ, BitmaskHandEvaluator.ACE + 1);
+                IntVector head = pack(STRAIGHT_FLUSH, high).blend(pack(ROYAL_FLUSH, high), royal);
+                update(lane, hasStraightFlush, head, IntVector.zero(SPECIES), 0);
+            }
+        }
+
+        // the hands of the category are better than what the lower categories left
+        private void update(int lane, VectorMask<Integer> category, IntVector head, IntVector kicker, int amount) {
+            IntVector.fromArray(SPECIES, heads, lane).blend(head, category).intoArray(heads, lane);
+            IntVector.fromArray(SPECIES, kickers, lane).blend(kicker, category).intoArray(kickers, lane);
+            IntVector.fromArray(SPECIES, shifts, lane).blend(4 * (TOP_RANKS - amount), category)
+                    .intoArray(shifts, lane);
+        }
+    }
+
+    // the runs of five ranks by their lowest rank, the ace also below the two, see BitmaskHandEvaluator.straightHigh
+    private static IntVector straights(IntVector ranks) {
+        IntVector withLowAce = ranks.lanewise(VectorOperators.LSHL, 1)
+                .or(ranks.lanewise(VectorOperators.LSHR, BitmaskHandEvaluator.ACE).and(1));
+        IntVector runsOfTwo = withLowAce.and(withLowAce.lanewise(VectorOperators.LSHR, 1));
+        IntVector runsOfFour = runsOfTwo.and(runsOfTwo.lanewise(VectorOperators.LSHR, 2));
+        return runsOfFour.and(withLowAce.lanewise(VectorOperators.LSHR, 4));
+    }
+
+    // Kind.rank of the highest card of the best straight
+    private static IntVector straightRank(IntVector straights) {
+        return highest(straights).add(4);
+    }
+
+    private static VectorMask<Integer> moreThanOne(IntVector ranks) {
+        return ranks.and(ranks.sub(1)).compare(VectorOperators.NE, 0);
+    }
+
+    // the index of the highest bit of masks below 2^14, -1 for an empty mask: 2 * ranks + 1 is exact as a float
+    private static IntVector highest(IntVector ranks) {
+        return ranks.lanewise(VectorOperators.LSHL, 1).or(1)
+                .convert(VectorOperators.I2F, 0).reinterpretAsInts()
+                .lanewise(VectorOperators.LSHR, FLOAT_EXPONENT_SHIFT).sub(FLOAT_EXPONENT_OFFSET);
+    }
+
+    // Kind.rank of a rank index, 0 for -1
+    private static IntVector rank(IntVector index) {
+        return index.add(1);
+    }
+
+    // the shift count of -1 is masked to 31, a bit which no rank mask has
+    private static IntVector without(IntVector ranks, IntVector index) {
+        return ranks.and(IntVector.broadcast(SPECIES, 1).lanewise(VectorOperators.LSHL, index).not());
+    }
+
+    private static IntVector pack(int category, IntVector ranks) {
+        return ranks.or(category << CATEGORY_SHIFT);
+    }
+}
@@ -0,0 +1,77 @@
+package com.sap.ase.poker.model.deck;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardSetTest {
+
+    private static final Card ACE_OF_HEARTS = Card.of(Kind.ACE, Suit.HEARTS);
+    private static final Card KING_OF_HEARTS = Card.of(Kind.KING, Suit.HEARTS);
+    private static final Card TWO_OF_CLUBS = Card.of(Kind.TWO, Suit.CLUBS);
+
+    @Test
+    void of_ignoresDuplicateCards() {
+        CardSet cards = CardSet.of(Arrays.asList(ACE_OF_HEARTS, ACE_OF_HEARTS, KING_OF_HEARTS));
+
+        assertThat(cards.size()).isEqualTo(2);
+        assertThat(cards).isEqualTo(CardSet.of(KING_OF_HEARTS, ACE_OF_HEARTS));
+        assertThat(cards.hashCode()).isEqualTo(CardSet.of(KING_OF_HEARTS, ACE_OF_HEARTS).hashCode());
+        assertThat(cards).isNotEqualTo(CardSet.of(ACE_OF_HEARTS)).isNotEqualTo("cards");
+    }
+
+    @Test
+    void unionAndWith_leaveTheOriginalUnchanged() {
+        CardSet hand = CardSet.of(ACE_OF_HEARTS);
+
+        CardSet union = hand.union(CardSet.of(TWO_OF_CLUBS)).with(KING_OF_HEARTS);
+
+        assertThat(hand.size()).isEqualTo(1);
+        assertThat(union.contains(TWO_OF_CLUBS)).isTrue();
+        assertThat(union.contains(KING_OF_HEARTS)).isTrue();
+        assertThat(hand.contains(TWO_OF_CLUBS)).isFalse();
+        assertThat(hand.containsAny(union)).isTrue();
+        assertThat(hand.containsAny(CardSet.of(TWO_OF_CLUBS))).isFalse();
+    }
+
+    @Test
+    void masks_useTheCardIds() {
+        CardSet cards = CardSet.of(ACE_OF_HEARTS, KING_OF_HEARTS, TWO_OF_CLUBS);
+
+        assertThat(cards.getMask()).isEqualTo(1L << ACE_OF_HEARTS.getId() | 1L << KING_OF_HEARTS.getId()
+                | 1L << TWO_OF_CLUBS.getId());
+        assertThat(cards.suitMask(Suit.HEARTS)).isEqualTo(1 << Kind.ACE.ordinal() | 1 << Kind.KING.ordinal());
+        assertThat(cards.suitMask(Suit.DIAMONDS)).isZero();
+        assertThat(cards.rankMask()).isEqualTo(1 << Kind.ACE.ordinal() | 1 << Kind.KING.ordinal() | 1);
+        assertThat(CardSet.ofMask(cards.getMask())).isEqualTo(cards);
+    }
+
+    @Test
+    void ofMask_rejectsBitsWithoutCard() {
+        assertThatThrownBy(() -> CardSet.ofMask(1L << Card.AMOUNT)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(CardSet.ofMask(0L)).isSameAs(CardSet.EMPTY);
+        assertThat(CardSet.EMPTY.isEmpty()).isTrue();
+    }
+
+    @Test
+    void iteration_isOrderedById() {
+        CardSet cards = CardSet.of(TWO_OF_CLUBS, ACE_OF_HEARTS, KING_OF_HEARTS);
+
+        assertThat(cards.toList()).containsExactly(KING_OF_HEARTS, ACE_OF_HEARTS, TWO_OF_CLUBS);
+        assertThat(cards.stream()).containsExactly(KING_OF_HEARTS, ACE_OF_HEARTS, TWO_OF_CLUBS);
+        assertThat(cards.toString()).isEqualTo("[HEARTS KING, HEARTS ACE, CLUBS TWO]");
+    }
+
+    @Test
+    void iterator_throwsWhenExhausted() {
+        Iterator<Card> iterator = CardSet.EMPTY.iterator();
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+}
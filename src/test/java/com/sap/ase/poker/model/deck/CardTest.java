@@ -2,7 +2,11 @@ package com.sap.ase.poker.model.deck;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CardTest {
 
@@ -54,4 +58,29 @@ class CardTest {
         assertThat(kingDiamond.equals(sevenDiamond)).isFalse();
         assertThat(kingDiamond.equals(kingHearts)).isFalse();
     }
+
+
+    @Test
+    void of_returnsTheSharedInstance() {
+        Card kingDiamond = Card.of(Kind.KING, Suit.DIAMONDS);
+
+        assertThat(Card.of(Kind.KING, Suit.DIAMONDS)).isSameAs(kingDiamond);
+        assertThat(Card.ofId(kingDiamond.getId())).isSameAs(kingDiamond);
+        assertThat(kingDiamond).isEqualTo(new Card(Kind.KING, Suit.DIAMONDS));
+    }
+
+    @Test
+    void id_isStableAndMatchesTheHash() {
+        assertThat(Card.of(Kind.TWO, Suit.DIAMONDS).getId()).isZero();
+        assertThat(Card.of(Kind.ACE, Suit.CLUBS).getId()).isEqualTo(Card.AMOUNT - 1);
+        assertThat(new Card(Kind.KING, Suit.HEARTS).hashCode()).isEqualTo(24);
+        assertThat(IntStream.range(0, Card.AMOUNT).mapToObj(Card::ofId).map(Card::getId))
+                .containsExactlyElementsOf(IntStream.range(0, Card.AMOUNT).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void ofId_throwsForUnknownIds() {
+        assertThatThrownBy(() -> Card.ofId(Card.AMOUNT)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Card.ofId(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
 }
\ No newline at end of file
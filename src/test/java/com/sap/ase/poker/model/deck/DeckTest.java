@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -46,11 +47,13 @@ class DeckTest {
     }
 
     @Test
-    void collectionsShuffleGetsCalledWhenShuffling() {
+    void drawShouldDealTheCardPickedByTheShuffler() {
+        Mockito.when(shuffler.pick(EXPECTED_DECK_SIZE)).thenReturn(EXPECTED_DECK_SIZE - 1);
+        Card last = deck.getCards().get(EXPECTED_DECK_SIZE - 1);
 
-        Mockito.when(shuffler.shuffle(deck.getCards())).thenReturn(deck.getCards());
-        deck.shuffle();
-        Mockito.verify(shuffler, Mockito.times(1)).shuffle(deck.getCards());
+        assertThat(deck.draw()).isEqualTo(last);
+        assertThat(deck.getCards()).hasSize(EXPECTED_DECK_SIZE - 1).doesNotContain(last);
+        Mockito.verify(shuffler, Mockito.times(1)).pick(EXPECTED_DECK_SIZE);
     }
 
     @Test
@@ -61,5 +64,33 @@ class DeckTest {
 
         deck.shuffle();
         assertThat(deck.getCards().size()).isEqualTo(EXPECTED_DECK_SIZE);
+        assertThat(deck.getCards()).containsExactlyInAnyOrderElementsOf(new PokerCardsSupplier().get());
+    }
+
+
+    @Test
+    void drawShouldNotRepeatCards() {
+        List<Card> drawn = new ArrayList<>();
+        IntStream.range(0, EXPECTED_DECK_SIZE).forEach(drawAmounts -> drawn.add(deck.draw()));
+
+        assertThat(drawn).doesNotHaveDuplicates().containsExactlyElementsOf(new PokerCardsSupplier().get());
+    }
+
+    @Test
+    void shuffleShouldDealFromTheTopAgain() {
+        Card top = deck.draw();
+        deck.draw();
+
+        deck.shuffle();
+
+        assertThat(deck.draw()).isEqualTo(top);
+    }
+
+    @Test
+    void withKindsFromSix_shouldHoldTheShortDeck() {
+        Deck shortDeck = deck.withKindsFrom(Kind.SIX);
+
+        assertThat(shortDeck.getCards()).hasSize(36).allMatch(card -> card.getKind().compareTo(Kind.SIX) >= 0);
+        assertThat(deck.getCards()).hasSize(EXPECTED_DECK_SIZE);
     }
-}
\ No newline at end of file
+}
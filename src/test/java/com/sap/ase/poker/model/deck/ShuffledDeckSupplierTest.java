@@ -6,7 +6,6 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
-import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.times;
@@ -18,8 +17,6 @@ class ShuffledDeckSupplierTest {
     private PokerCardsSupplier mockCardSupplier;
     @Mock
     private CardShuffler mockCardShuffler;
-    @Captor
-    private ArgumentCaptor<List<Card>> captor;
 
     @InjectMocks
     private ShuffledDeckSupplier underTest;
@@ -29,9 +26,9 @@ class ShuffledDeckSupplierTest {
     void get_shufflesDeck() {
         Mockito.when(mockCardSupplier.get()).thenReturn(Collections.singletonList(CARD));
 
-        underTest.get();
+        Deck deck = underTest.get();
 
-        Mockito.verify(mockCardShuffler, times(1)).shuffle(captor.capture());
-        assertThat(captor.getValue()).containsOnly(CARD);
+        assertThat(deck.draw()).isEqualTo(CARD);
+        Mockito.verify(mockCardShuffler, times(1)).pick(1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.sap.ase.poker.model.equity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CombinationsTest {
+
+    @Test
+    void binomial_shouldMatchPascalsTriangle() {
+        assertThat(Combinations.binomial(52, 7)).isEqualTo(133_784_560L);
+        assertThat(Combinations.binomial(48, 5)).isEqualTo(1_712_304L);
+        assertThat(Combinations.binomial(5, 0)).isEqualTo(1);
+        assertThat(Combinations.binomial(5, 6)).isZero();
+        assertThat(Combinations.binomial(5, -1)).isZero();
+        assertThat(Combinations.binomial(-1, 0)).isZero();
+    }
+
+    @Test
+    void next_shouldWalkEveryCombinationInRankOrder() {
+        int[] combination = {0, 1, 2};
+        long rank = 0;
+        do {
+            assertThat(Combinations.rank(combination)).isEqualTo(rank);
+            int[] unranked = new int[3];
+            Combinations.unrank(rank, unranked);
+            assertThat(unranked).containsExactly(combination);
+            rank++;
+        } while (Combinations.next(combination, 7));
+
+        assertThat(rank).isEqualTo(Combinations.binomial(7, 3));
+        assertThat(combination).containsExactly(4, 5, 6);
+    }
+
+    @Test
+    void boardSpliterator_shouldSplitIntoDisjointParts() {
+        int[] live = new int[40];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = i;
+        }
+        BoardSpliterator boards = new BoardSpliterator(live, 4, 1L << 51);
+        long size = boards.estimateSize();
+
+        Spliterator.OfLong prefix = boards.trySplit();
+
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize() + boards.estimateSize()).isEqualTo(size);
+        assertThat(boards.characteristics() & Spliterator.SIZED).isNotZero();
+        long distinct = StreamSupport.longStream(new BoardSpliterator(live, 4, 1L << 51), true)
+                .peek(cards -> assertThat(Long.bitCount(cards)).isEqualTo(5))
+                .distinct()
+                .count();
+        assertThat(distinct).isEqualTo(Combinations.binomial(40, 4));
+    }
+
+    @Test
+    void boardSpliterator_shouldNotSplitSmallOrStartedRanges() {
+        int[] live = {3, 5, 7, 9};
+        BoardSpliterator boards = new BoardSpliterator(live, 2, 0L);
+
+        assertThat(boards.trySplit()).isNull();
+        assertThat(boards.tryAdvance((long cards) -> assertThat(cards).isEqualTo(1L << 3 | 1L << 5))).isTrue();
+        boards.forEachRemaining((long cards) -> assertThat(Long.bitCount(cards)).isEqualTo(2));
+        assertThat(boards.tryAdvance((long cards) -> { })).isFalse();
+    }
+}
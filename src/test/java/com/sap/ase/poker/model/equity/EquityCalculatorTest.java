@@ -0,0 +1,91 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class EquityCalculatorTest {
+
+    private static final CardSet ACES = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.DIAMONDS));
+    private static final CardSet KINGS = CardSet.of(Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.KING, Suit.CLUBS));
+
+    private final EquityCalculator underTest =
+            new EquityCalculator(new HandRules(), ForkJoinPool.commonPool(), new SplittableRandom(42));
+
+    @Test
+    void acesAgainstKings_shouldWinAboutFourOutOfFive() {
+        Equity equity = underTest.calculate(Arrays.asList(ACES, KINGS), CardSet.EMPTY, 1_000_000, 0.002, 10_000);
+
+        assertThat(equity.getEquity(0)).isCloseTo(0.8126, within(0.006));
+        assertThat(equity.getEquity(0) + equity.getEquity(1)).isCloseTo(1, within(1e-9));
+        assertThat(equity.getWin(0) + equity.getWin(1) + equity.getTie(0)).isCloseTo(1, within(1e-9));
+        assertThat(equity.getStandardError()).isLessThanOrEqualTo(0.002);
+        assertThat(equity.getBoards()).isLessThan(1_000_000);
+    }
+
+    @Test
+    void completeBoard_shouldBeEvaluatedOnce() {
+        CardSet board = CardSet.of(Card.of(Kind.TWO, Suit.CLUBS), Card.of(Kind.SEVEN, Suit.HEARTS),
+                Card.of(Kind.NINE, Suit.SPADES), Card.of(Kind.JACK, Suit.DIAMONDS), Card.of(Kind.KING, Suit.HEARTS));
+        CardSet otherKings = CardSet.of(Card.of(Kind.KING, Suit.DIAMONDS), Card.of(Kind.THREE, Suit.SPADES));
+
+        Equity equity = underTest.calculate(Arrays.asList(ACES, KINGS, otherKings), board);
+
+        assertThat(equity.getBoards()).isEqualTo(1);
+        assertThat(equity.getStandardError()).isZero();
+        assertThat(equity.getWin(1)).isEqualTo(1);
+        assertThat(equity.getEquity(0)).isZero();
+        assertThat(equity.getPlayers()).isEqualTo(3);
+    }
+
+    @Test
+    void splitBoard_shouldBeCountedAsTie() {
+        CardSet board = CardSet.of(Card.of(Kind.TEN, Suit.CLUBS), Card.of(Kind.JACK, Suit.CLUBS),
+                Card.of(Kind.QUEEN, Suit.CLUBS), Card.of(Kind.KING, Suit.CLUBS));
+        CardSet otherAces = CardSet.of(Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.TWO, Suit.SPADES));
+
+        Equity equity = underTest.calculate(Arrays.asList(ACES, otherAces), board, 1_000, 0, 10_000);
+
+        assertThat(equity.getBoards()).isEqualTo(1_000);
+        assertThat(equity.getTie(0)).isGreaterThan(0.5);
+        assertThat(equity.getEquity(0) + equity.getEquity(1)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void timeBudget_shouldStopAfterTheFirstRound() {
+        Equity equity = underTest.calculate(Arrays.asList(ACES, KINGS), CardSet.EMPTY, 1_000_000, 0, 0);
+
+        assertThat(equity.getBoards()).isPositive().isLessThan(1_000_000);
+    }
+
+    @Test
+    void invalidInput_shouldBeRejected() {
+        List<CardSet> onePlayer = Collections.singletonList(ACES);
+        List<CardSet> sameCards = Arrays.asList(ACES, ACES);
+        List<CardSet> oneCard = Arrays.asList(ACES, CardSet.of(Card.of(Kind.TWO, Suit.CLUBS)));
+        List<CardSet> tenPlayers = Collections.nCopies(10, ACES);
+        CardSet sixCards = CardSet.ofMask(0x3FL);
+
+        assertThatThrownBy(() -> underTest.calculate(onePlayer, CardSet.EMPTY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(tenPlayers, CardSet.EMPTY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(sameCards, CardSet.EMPTY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(oneCard, CardSet.EMPTY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(Arrays.asList(ACES, KINGS), sixCards))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(Arrays.asList(ACES, KINGS), CardSet.EMPTY, 0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
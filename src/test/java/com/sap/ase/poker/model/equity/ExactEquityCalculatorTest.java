@@ -0,0 +1,87 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ExactEquityCalculatorTest {
+
+    private static final CardSet ACES = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.DIAMONDS));
+    private static final CardSet KINGS = CardSet.of(Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.KING, Suit.CLUBS));
+
+    private final ExactEquityCalculator underTest = new ExactEquityCalculator(new HandRules());
+
+    @Test
+    void preflop_shouldEvaluateEveryBoard() {
+        Equity equity = underTest.calculate(Arrays.asList(ACES, KINGS), CardSet.EMPTY);
+
+        assertThat(equity.getBoards()).isEqualTo(1_712_304L).isEqualTo(ExactEquityCalculator.boards(2, CardSet.EMPTY));
+        assertThat(equity.getEquity(0)).isCloseTo(0.81255, within(0.00001));
+        assertThat(equity.getStandardError()).isZero();
+    }
+
+    @Test
+    void flop_shouldMatchTheMonteCarloEstimate() {
+        CardSet flop = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.DIAMONDS));
+        List<CardSet> holeCards = Arrays.asList(ACES, KINGS,
+                CardSet.of(Card.of(Kind.QUEEN, Suit.HEARTS), Card.of(Kind.JACK, Suit.HEARTS)));
+
+        Equity exact = underTest.calculate(holeCards, flop);
+        Equity sampled = new EquityCalculator(new HandRules()).calculate(holeCards, flop, 200_000, 0, 10_000);
+
+        assertThat(exact.getBoards()).isEqualTo(Combinations.binomial(43, 2));
+        for (int player = 0; player < holeCards.size(); player++) {
+            assertThat(sampled.getEquity(player)).isCloseTo(exact.getEquity(player), within(0.01));
+        }
+    }
+
+    @Test
+    void sameSituation_shouldBeServedFromTheCache() {
+        CardSet turn = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.SPADES));
+
+        Equity equity = underTest.calculate(Arrays.asList(ACES, KINGS), turn);
+
+        assertThat(underTest.calculate(Arrays.asList(ACES, KINGS), turn)).isSameAs(equity);
+        assertThat(underTest.calculate(Arrays.asList(KINGS, ACES), turn)).isNotSameAs(equity);
+        assertThat(equity.getWin(0)).isEqualTo(2.0 / 44);
+    }
+
+    @Test
+    void suitPermutedHeadsUpSituation_shouldBeServedFromTheCache() {
+        CardSet turn = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.SPADES));
+        CardSet permutedTurn = CardSet.of(Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.SEVEN, Suit.DIAMONDS),
+                Card.of(Kind.TWO, Suit.CLUBS), Card.of(Kind.NINE, Suit.HEARTS));
+        CardSet permutedAces = CardSet.of(Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.ACE, Suit.CLUBS));
+        CardSet permutedKings = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.KING, Suit.DIAMONDS));
+
+        Equity equity = underTest.calculate(Arrays.asList(ACES, KINGS), turn);
+
+        assertThat(underTest.calculate(Arrays.asList(permutedAces, permutedKings), permutedTurn)).isSameAs(equity);
+        assertThat(underTest.calculate(Arrays.asList(permutedKings, permutedAces), permutedTurn)).isNotSameAs(equity);
+    }
+
+    @Test
+    void leastRecentlyUsedSituation_shouldBeEvicted() {
+        ExactEquityCalculator calculator = new ExactEquityCalculator(new HandRules(), ForkJoinPool.commonPool(), 1);
+        CardSet turn = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.SPADES));
+
+        Equity equity = calculator.calculate(Arrays.asList(ACES, KINGS), turn);
+        calculator.calculate(Arrays.asList(KINGS, ACES), turn);
+
+        assertThat(calculator.calculate(Arrays.asList(ACES, KINGS), turn)).isNotSameAs(equity);
+    }
+}
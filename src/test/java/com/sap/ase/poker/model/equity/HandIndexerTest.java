@@ -0,0 +1,142 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandIndexerTest {
+
+    @Test
+    void sizes_shouldCountTheSuitIsomorphismClasses() {
+        HandIndexer holdem = new HandIndexer(2, 3, 1, 1);
+
+        assertThat(holdem.getRounds()).isEqualTo(4);
+        assertThat(holdem.size(1)).isEqualTo(169);
+        assertThat(holdem.size(2)).isEqualTo(1_286_792);
+        assertThat(holdem.size(3)).isEqualTo(55_190_538);
+        assertThat(holdem.size(4)).isEqualTo(2_428_287_420L);
+        assertThat(new HandIndexer(2, 5).size(2)).isEqualTo(123_156_254);
+    }
+
+    @Test
+    void holeCards_shouldBeIndexedDensely() {
+        HandIndexer underTest = new HandIndexer(2);
+        Set<Long> indexes = new HashSet<>();
+        for (int combo = 0; combo < Range.COMBOS; combo++) {
+            indexes.add(underTest.index(Range.holeCards(combo)));
+        }
+
+        assertThat(indexes).hasSize(169).allMatch(index -> index >= 0 && index < 169);
+    }
+
+    @Test
+    void hands_shouldShareAnIndexExactlyWhenTheirSuitsArePermuted() {
+        HandIndexer underTest = new HandIndexer(2, 3);
+        Map<String, Long> indexOfClass = new HashMap<>();
+        Map<Long, String> classOfIndex = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int sample = 0; sample < 20_000; sample++) {
+            long hole = randomCards(random, 2, 0);
+            long flop = randomCards(random, 3, hole);
+            long index = underTest.index(hole, flop);
+            String isomorphismClass = smallestPermutation(hole, flop);
+
+            assertThat(index).isBetween(0L, underTest.size(2) - 1);
+            assertThat(indexOfClass.computeIfAbsent(isomorphismClass, key -> index)).isEqualTo(index);
+            assertThat(classOfIndex.computeIfAbsent(index, key -> isomorphismClass)).isEqualTo(isomorphismClass);
+        }
+    }
+
+    @Test
+    void earlierRounds_shouldBeIndexedOnTheirOwn() {
+        HandIndexer underTest = new HandIndexer(2, 3);
+        CardSet aces = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS));
+
+        assertThat(underTest.index(aces)).isEqualTo(new HandIndexer(2).index(aces));
+    }
+
+    @Test
+    void invalidHands_shouldBeRejected() {
+        HandIndexer underTest = new HandIndexer(2, 3);
+        long aces = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS)).getMask();
+
+        assertThatThrownBy(() -> underTest.index(new long[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.index(aces, 7L, 3L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.index(aces, 3L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.index(aces, aces | 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.index(1L << 60 | 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HandIndexer()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HandIndexer(2, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HandIndexer(30, 30)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HandIndexer(2, 2, 2, 2, 2, 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long randomCards(SplittableRandom random, int amount, long dead) {
+        long cards = 0;
+        while (Long.bitCount(cards) < amount) {
+            long card = 1L << random.nextInt(Card.AMOUNT);
+            if ((dead & card) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+    // the smallest (hole, flop) of all suit permutations
+    private static String smallestPermutation(long hole, long flop) {
+        long smallestHole = Long.MAX_VALUE;
+        long smallestFlop = Long.MAX_VALUE;
+        int[] suits = {0, 1, 2, 3};
+        do {
+            long permutedHole = permute(hole, suits);
+            long permutedFlop = permute(flop, suits);
+            if (permutedHole < smallestHole || permutedHole == smallestHole && permutedFlop < smallestFlop) {
+                smallestHole = permutedHole;
+                smallestFlop = permutedFlop;
+            }
+        } while (nextPermutation(suits));
+        return smallestHole + "/" + smallestFlop;
+    }
+
+    private static long permute(long cards, int[] suits) {
+        long permuted = 0;
+        for (int suit = 0; suit < suits.length; suit++) {
+            permuted |= (cards >>> suit * 13 & 0x1FFF) << suits[suit] * 13;
+        }
+        return permuted;
+    }
+
+    private static boolean nextPermutation(int[] values) {
+        int i = values.length - 2;
+        while (i >= 0 && values[i] >= values[i + 1]) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        int j = values.length - 1;
+        while (values[j] <= values[i]) {
+            j--;
+        }
+        int swap = values[i];
+        values[i] = values[j];
+        values[j] = swap;
+        for (int left = i + 1, right = values.length - 1; left < right; left++, right--) {
+            swap = values[left];
+            values[left] = values[right];
+            values[right] = swap;
+        }
+        return true;
+    }
+}
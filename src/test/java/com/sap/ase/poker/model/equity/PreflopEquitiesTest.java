@@ -0,0 +1,143 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.OptionalDouble;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+class PreflopEquitiesTest {
+
+    private static final CardSet ACES = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS));
+    private static final CardSet KINGS = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.KING, Suit.CLUBS));
+
+    @TempDir
+    Path directory;
+
+    private final PreflopEquityGenerator generator = Mockito.mock(PreflopEquityGenerator.class);
+
+    @Test
+    void missingTable_shouldBeGeneratedOnFirstRequest() throws IOException {
+        Path file = directory.resolve("preflop-equity.bin");
+        Mockito.doAnswer(invocation -> writeTable(invocation.getArgument(0), 0xFFFF)).when(generator)
+                .write(any(Path.class), anyInt(), anyInt());
+        PreflopEquities underTest = new PreflopEquities(file, generator, Runnable::run, 10, 20);
+
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, 1)).isEqualTo(OptionalDouble.of(1));
+        assertThat(underTest.equity(ACES, KINGS)).isEqualTo(OptionalDouble.of(1));
+        Mockito.verify(generator).write(file, 10, 20);
+    }
+
+    @Test
+    void failedGeneration_shouldNotBeRetried() throws IOException {
+        Path file = directory.resolve("preflop-equity.bin");
+        Mockito.doThrow(new IOException("disk full")).when(generator).write(any(Path.class), anyInt(), anyInt());
+        PreflopEquities underTest = new PreflopEquities(file, generator, Runnable::run, 10, 20);
+
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, KINGS)).isEmpty();
+        assertThat(underTest.equity(ACES, 2)).isEmpty();
+        Mockito.verify(generator, Mockito.times(1)).write(file, 10, 20);
+    }
+
+    @Test
+    void pendingGeneration_shouldNotBeStartedTwice() throws IOException {
+        Path file = directory.resolve("preflop-equity.bin");
+        PreflopEquities underTest = new PreflopEquities(file, generator, command -> {
+        }, 10, 20);
+
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        Mockito.verifyNoInteractions(generator);
+    }
+
+    @Test
+    void invalidTable_shouldBeRegenerated() throws IOException {
+        Path file = directory.resolve("preflop-equity.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        Mockito.doAnswer(invocation -> writeTable(invocation.getArgument(0), 0xFFFF)).when(generator)
+                .write(any(Path.class), anyInt(), anyInt());
+        PreflopEquities underTest = new PreflopEquities(file, generator, Runnable::run, 10, 20);
+
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, 1)).isEqualTo(OptionalDouble.of(1));
+        Mockito.verify(generator).write(file, 10, 20);
+    }
+
+    @Test
+    void tableWritableByOthers_shouldNotBeServedButRegenerated() throws IOException {
+        Path file = directory.resolve("preflop-equity.bin");
+        writeTable(file, 0);
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-rw-rw-"));
+        Mockito.doAnswer(invocation -> {
+            Files.delete(file);
+            return writeTable(invocation.getArgument(0), 0xFFFF);
+        }).when(generator).write(any(Path.class), anyInt(), anyInt());
+        PreflopEquities underTest = new PreflopEquities(file, generator, Runnable::run, 10, 20);
+
+        assertThat(PreflopEquities.isPrivate(file)).isFalse();
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, 1)).isEqualTo(OptionalDouble.of(1));
+        assertThat(PreflopEquities.isPrivate(file)).isTrue();
+    }
+
+    @Test
+    void invalidGeneratedTable_shouldNotBeServedNorRegenerated() throws IOException {
+        Path file = directory.resolve("preflop-equity.bin");
+        Mockito.doAnswer(invocation -> Files.write(invocation.getArgument(0), new byte[]{1, 2, 3})).when(generator)
+                .write(any(Path.class), anyInt(), anyInt());
+        PreflopEquities underTest = new PreflopEquities(file, generator, Runnable::run, 10, 20);
+
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        assertThat(underTest.equity(ACES, 1)).isEmpty();
+        Mockito.verify(generator, Mockito.times(1)).write(file, 10, 20);
+    }
+
+    @Test
+    void generation_shouldRunOnBoundedLowPriorityThreads() throws Exception {
+        ForkJoinPool pool = PreflopEquities.lowPriorityPool(2);
+        ForkJoinPool defaultPool = PreflopEquities.lowPriorityPool(0);
+        try {
+            Thread thread = pool.submit(Thread::currentThread).get();
+
+            assertThat(pool.getParallelism()).isEqualTo(2);
+            assertThat(thread.getPriority()).isEqualTo(Thread.MIN_PRIORITY);
+            assertThat(thread.isDaemon()).isTrue();
+            assertThat(thread.getName()).startsWith("preflop-equity-generator-");
+            assertThat(defaultPool.getParallelism()).isPositive();
+        } finally {
+            pool.shutdown();
+            defaultPool.shutdown();
+        }
+    }
+
+    // a table where every equity is the given one, 0xFFFF is an equity of 1
+    private static Void writeTable(Path file, int equity) throws IOException {
+        int equities = PreflopEquityTable.STARTING_HANDS * PreflopEquityTable.MAX_OPPONENTS
+                + Range.COMBOS * Range.COMBOS;
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(PreflopEquityTable.MAGIC);
+            out.writeInt(PreflopEquityTable.VERSION);
+            for (int i = 0; i < equities; i++) {
+                out.writeShort(equity);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PreflopEquityTableTest {
+
+    @TempDir
+    static Path directory;
+
+    private static PreflopEquityTable underTest;
+
+    @BeforeAll
+    static void generateTable() throws IOException {
+        HandRules handRules = new HandRules();
+        Path file = directory.resolve("preflop-equity.bin");
+        new PreflopEquityGenerator(new EquityCalculator(handRules), new RangeEquityCalculator(handRules))
+                .write(file, 400, 1_000);
+        underTest = new PreflopEquityTable(file);
+    }
+
+    @Test
+    void startingHand_shouldUseTheCellOfTheGrid() {
+        assertThat(PreflopEquityTable.startingHand(holeCards(Kind.ACE, Suit.HEARTS, Kind.ACE, Suit.CLUBS)))
+                .isEqualTo(12 * 13 + 12);
+        assertThat(PreflopEquityTable.startingHand(holeCards(Kind.KING, Suit.SPADES, Kind.ACE, Suit.SPADES)))
+                .isEqualTo(12 * 13 + 11);
+        assertThat(PreflopEquityTable.startingHand(holeCards(Kind.KING, Suit.SPADES, Kind.ACE, Suit.HEARTS)))
+                .isEqualTo(11 * 13 + 12);
+        assertThat(IntStream.range(0, PreflopEquityTable.STARTING_HANDS)
+                .map(startingHand -> PreflopEquityTable.startingHand(PreflopEquityGenerator.representative(startingHand))))
+                .containsExactlyElementsOf(() -> IntStream.range(0, PreflopEquityTable.STARTING_HANDS).iterator());
+    }
+
+    @Test
+    void equityAgainstRandomHands_shouldDropWithMoreOpponents() {
+        CardSet aces = holeCards(Kind.ACE, Suit.HEARTS, Kind.ACE, Suit.CLUBS);
+
+        assertThat(underTest.equity(aces, 1)).isCloseTo(0.85, within(0.05));
+        assertThat(underTest.equity(aces, 8)).isCloseTo(0.35, within(0.07));
+        assertThat(underTest.equity(holeCards(Kind.SEVEN, Suit.SPADES, Kind.TWO, Suit.HEARTS), 1))
+                .isCloseTo(0.35, within(0.05));
+    }
+
+    @Test
+    void headsUpEquity_shouldBeTheSameForAllSuitPermutations() {
+        CardSet aces = holeCards(Kind.ACE, Suit.HEARTS, Kind.ACE, Suit.DIAMONDS);
+        CardSet kings = holeCards(Kind.KING, Suit.SPADES, Kind.KING, Suit.CLUBS);
+
+        assertThat(underTest.equity(aces, kings)).isCloseTo(0.8126, within(0.07));
+        assertThat(underTest.equity(holeCards(Kind.ACE, Suit.SPADES, Kind.ACE, Suit.CLUBS),
+                holeCards(Kind.KING, Suit.HEARTS, Kind.KING, Suit.DIAMONDS))).isEqualTo(underTest.equity(aces, kings));
+        assertThat(underTest.equity(kings, aces) + underTest.equity(aces, kings)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void suitPermutations_shouldShareOneCanonicalMatchup() {
+        int aces = Range.combo(Card.of(Kind.ACE, Suit.HEARTS).getId(), Card.of(Kind.ACE, Suit.DIAMONDS).getId());
+        int kings = Range.combo(Card.of(Kind.KING, Suit.SPADES).getId(), Card.of(Kind.KING, Suit.CLUBS).getId());
+        int otherAces = Range.combo(Card.of(Kind.ACE, Suit.SPADES).getId(), Card.of(Kind.ACE, Suit.CLUBS).getId());
+        int otherKings = Range.combo(Card.of(Kind.KING, Suit.HEARTS).getId(), Card.of(Kind.KING, Suit.DIAMONDS).getId());
+        int suitedKings = Range.combo(Card.of(Kind.KING, Suit.HEARTS).getId(), Card.of(Kind.KING, Suit.SPADES).getId());
+
+        assertThat(PreflopEquityGenerator.canonicalMatchup(aces, kings))
+                .isEqualTo(PreflopEquityGenerator.canonicalMatchup(otherAces, otherKings))
+                .isNotEqualTo(PreflopEquityGenerator.canonicalMatchup(aces, suitedKings));
+    }
+
+    @Test
+    void invalidHoleCards_shouldBeRejected() {
+        CardSet aces = holeCards(Kind.ACE, Suit.HEARTS, Kind.ACE, Suit.DIAMONDS);
+
+        assertThatThrownBy(() -> underTest.equity(aces, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.equity(aces, 9)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.equity(CardSet.of(Card.of(Kind.ACE, Suit.HEARTS)), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.equity(aces, holeCards(Kind.ACE, Suit.HEARTS, Kind.KING, Suit.CLUBS)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownFile_shouldNotBeMapped() throws IOException {
+        Path file = directory.resolve("unknown.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> new PreflopEquityTable(file)).isInstanceOf(IOException.class);
+    }
+
+    private static CardSet holeCards(Kind firstKind, Suit firstSuit, Kind secondKind, Suit secondSuit) {
+        return CardSet.of(Card.of(firstKind, firstSuit), Card.of(secondKind, secondSuit));
+    }
+}
@@ -0,0 +1,93 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.rules.HandRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RangeEquityCalculatorTest {
+
+    private final RangeEquityCalculator underTest =
+            new RangeEquityCalculator(new HandRules(), ForkJoinPool.commonPool(), new SplittableRandom(7));
+
+    @Test
+    void singleCombinations_shouldMatchTheExactEquity() {
+        CardSet flop = CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.DIAMONDS));
+        Equity exact = new ExactEquityCalculator(new HandRules()).calculate(Arrays.asList(
+                Range.holeCards(Range.combo(Card.of(Kind.ACE, Suit.HEARTS).getId(), Card.of(Kind.ACE, Suit.DIAMONDS).getId())),
+                Range.holeCards(Range.combo(Card.of(Kind.QUEEN, Suit.HEARTS).getId(), Card.of(Kind.JACK, Suit.HEARTS).getId()))),
+                flop);
+
+        Equity equity = underTest.calculate(Arrays.asList(Range.parse("AhAd"), Range.parse("QhJh")), flop,
+                200_000, 0, 10_000);
+
+        assertThat(equity.getEquity(0)).isCloseTo(exact.getEquity(0), within(0.01));
+    }
+
+    @Test
+    void rangeAgainstRange_shouldRemoveBlockedCombinations() {
+        Equity equity = underTest.calculate(Arrays.asList(Range.parse("AA"), Range.parse("AKs")), CardSet.EMPTY,
+                200_000, 0.002, 10_000);
+
+        assertThat(equity.getEquity(0)).isCloseTo(0.88, within(0.02));
+        assertThat(equity.getEquity(0) + equity.getEquity(1)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void sameRanges_shouldBeServedFromTheCache() {
+        List<Range> ranges = Arrays.asList(Range.parse("QQ+"), Range.parse("AK"));
+
+        Equity equity = underTest.calculate(ranges, CardSet.EMPTY, 10_000, 0, 10_000);
+
+        assertThat(underTest.calculate(Arrays.asList(Range.parse("KK+, QQ"), Range.parse("AKs, AKo")),
+                CardSet.EMPTY, 10_000, 0, 10_000)).isSameAs(equity);
+    }
+
+    @Test
+    void cachedResults_shouldOnlyServeRequestsWhichNeedNoMorePrecision() {
+        List<Range> ranges = Arrays.asList(Range.parse("JJ+"), Range.parse("AQ+"));
+
+        Equity rough = underTest.calculate(ranges, CardSet.EMPTY, 1_000, 0, 10_000);
+        Equity precise = underTest.calculate(ranges, CardSet.EMPTY, 20_000, 0, 10_000);
+
+        assertThat(precise).isNotSameAs(rough);
+        assertThat(precise.getBoards()).isEqualTo(20_000);
+        assertThat(underTest.calculate(ranges, CardSet.EMPTY, 5_000, 0, 10_000)).isSameAs(precise);
+        assertThat(underTest.calculate(ranges, CardSet.EMPTY, 1_000_000, rough.getStandardError(), 10_000))
+                .isSameAs(precise);
+        assertThat(underTest.calculate(ranges, CardSet.EMPTY, 30_000, 0, 10_000).getBoards()).isEqualTo(30_000);
+    }
+
+    @Test
+    void invalidRanges_shouldBeRejected() {
+        CardSet acesOnBoard = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.DIAMONDS),
+                Card.of(Kind.ACE, Suit.SPADES));
+        List<Range> sameCombination = Arrays.asList(Range.parse("AhAd"), Range.parse("AhAd"));
+        List<Range> aces = Arrays.asList(Range.parse("AA"), Range.parse("KK"));
+
+        assertThatThrownBy(() -> underTest.calculate(sameCombination, CardSet.EMPTY, 1_000, 0, 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(aces, acesOnBoard)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(Collections.singletonList(Range.parse("AA")), CardSet.EMPTY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(Collections.nCopies(10, Range.parse("AA")), CardSet.EMPTY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(aces, CardSet.ofMask(0x3FL)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.calculate(aces, CardSet.EMPTY, 0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.sap.ase.poker.model.equity;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RangeTest {
+
+    private static final Card ACE_OF_HEARTS = Card.of(Kind.ACE, Suit.HEARTS);
+    private static final Card KING_OF_DIAMONDS = Card.of(Kind.KING, Suit.DIAMONDS);
+
+    @Test
+    void parse_shouldCountTheCombinations() {
+        assertThat(Range.parse("22+").size()).isEqualTo(78);
+        assertThat(Range.parse("AKs").size()).isEqualTo(4);
+        assertThat(Range.parse("KQo").size()).isEqualTo(12);
+        assertThat(Range.parse("AK").size()).isEqualTo(16);
+        assertThat(Range.parse("ATs+").size()).isEqualTo(16);
+        assertThat(Range.parse("A5s-A2s").size()).isEqualTo(16);
+        assertThat(Range.parse("99-66").size()).isEqualTo(24);
+        assertThat(Range.parse("AhKd").size()).isEqualTo(1);
+        assertThat(Range.parse("22+, AKs, KQo").size()).isEqualTo(94);
+        assertThat(Range.parse("").size()).isZero();
+        assertThat(Range.COMBOS).isEqualTo(1326);
+    }
+
+    @Test
+    void parse_shouldIgnoreTheWrittenOrder() {
+        assertThat(Range.parse("66-99")).isEqualTo(Range.parse("66, 77, 88, 99"));
+        assertThat(Range.parse("KA")).isEqualTo(Range.parse("AKs, AKo"));
+        assertThat(Range.parse("A2s-A5s").hashCode()).isEqualTo(Range.parse("A5s-A2s").hashCode());
+        assertThat(Range.parse("KdAh")).isEqualTo(Range.parse("AhKd")).isNotEqualTo(Range.parse("AK"));
+        assertThat(Range.parse("AK")).isNotEqualTo("AK");
+        assertThat(Range.parse("AK")).hasToString("16 combos");
+    }
+
+    @Test
+    void parse_shouldRejectUnknownNotation() {
+        assertThatThrownBy(() -> Range.parse("AAs")).isInstanceOf(InvalidRangeException.class);
+        assertThatThrownBy(() -> Range.parse("99s-66s")).isInstanceOf(InvalidRangeException.class);
+        assertThatThrownBy(() -> Range.parse("AhAh")).isInstanceOf(InvalidRangeException.class);
+        assertThatThrownBy(() -> Range.parse("A5s-K2s")).isInstanceOf(InvalidRangeException.class);
+        assertThatThrownBy(() -> Range.parse("A5s-A2o")).isInstanceOf(InvalidRangeException.class);
+        assertThatThrownBy(() -> Range.parse("1A")).isInstanceOf(InvalidRangeException.class);
+    }
+
+    @Test
+    void combo_shouldMatchTheHoleCards() {
+        int combo = Range.combo(ACE_OF_HEARTS.getId(), KING_OF_DIAMONDS.getId());
+
+        assertThat(Range.combo(KING_OF_DIAMONDS.getId(), ACE_OF_HEARTS.getId())).isEqualTo(combo);
+        assertThat(Range.holeCards(combo)).isEqualTo(CardSet.of(ACE_OF_HEARTS, KING_OF_DIAMONDS));
+        assertThat(Range.parse("AhKd").contains(combo)).isTrue();
+        assertThat(Range.parse("AKs").contains(combo)).isFalse();
+        assertThat(Range.combo(50, 51)).isEqualTo(Range.COMBOS - 1);
+    }
+
+    @Test
+    void holeCardMasks_shouldRemoveCombinationsWithDeadCards() {
+        Range aces = Range.parse("AA");
+
+        assertThat(aces.holeCardMasks(0L)).hasSize(6);
+        long[] withoutAceOfHearts = aces.holeCardMasks(CardSet.of(ACE_OF_HEARTS).getMask());
+        assertThat(withoutAceOfHearts).hasSize(3);
+        assertThat(Arrays.stream(withoutAceOfHearts)).allMatch(cards -> !CardSet.ofMask(cards).contains(ACE_OF_HEARTS));
+    }
+}
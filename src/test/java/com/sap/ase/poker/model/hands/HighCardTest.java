@@ -66,5 +66,15 @@ class HighCardTest {
         assertThat(highCards.get(1)).isEqualTo(highCardKing);
         assertThat(highCards.get(2)).isEqualTo(highCardJack);
     }
+
+    @Test
+    void constructor_shouldOnlyBuildTheCardListsWhenTheyAreRequested() {
+        HighCard highCardAce = new HighCard(HandFixtures.highCardOfAce());
+
+        assertThat(highCardAce.cards).isNull();
+        assertThat(highCardAce.getCards()).hasSize(5);
+        assertThat(highCardAce.getRelevantCards()).hasSize(5);
+        assertThat(highCardAce.getKickerCards()).isEmpty();
+    }
 }
 
@@ -79,5 +79,35 @@ class PairTest {
 
         assertThat(pairOfNines1.compareTo(pairOfNines2)).isZero();
     }
+
+    @Test
+    void samePairsWithSameKickersShouldBeEqualAndHaveTheSameHashCode() {
+        Pair redJacks = new Pair(HandFixtures.pairOfRedJacks());
+        Pair blackJacks = new Pair(HandFixtures.pairOfBlackJacks());
+
+        assertThat(redJacks).isEqualTo(blackJacks);
+        assertThat(redJacks.hashCode()).isEqualTo(blackJacks.hashCode());
+        assertThat(redJacks).isNotEqualTo(new HighCard(HandFixtures.pairOfRedJacks()));
+    }
+
+    @Test
+    void pairsShouldBeComparedByKickersFromTheHighestDown() {
+        List<Card> kingKicker = Arrays.asList(
+                new Card(Kind.JACK, Suit.DIAMONDS),
+                new Card(Kind.JACK, Suit.HEARTS),
+                new Card(Kind.KING, Suit.CLUBS),
+                new Card(Kind.FOUR, Suit.DIAMONDS),
+                new Card(Kind.THREE, Suit.CLUBS),
+                new Card(Kind.TWO, Suit.SPADES));
+        List<Card> queenKicker = Arrays.asList(
+                new Card(Kind.JACK, Suit.SPADES),
+                new Card(Kind.JACK, Suit.CLUBS),
+                new Card(Kind.QUEEN, Suit.CLUBS),
+                new Card(Kind.TEN, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.CLUBS),
+                new Card(Kind.TWO, Suit.SPADES));
+
+        assertThat(new Pair(kingKicker).compareTo(new Pair(queenKicker))).isPositive();
+    }
 }
 
@@ -0,0 +1,64 @@
+package com.sap.ase.poker.model.hands;
+
+import com.sap.ase.poker.model.InvalidHandException;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShortDeckStraightTest {
+
+    private final List<Card> aceToNine = Arrays.asList(
+            new Card(Kind.ACE, Suit.DIAMONDS),
+            new Card(Kind.KING, Suit.DIAMONDS),
+            new Card(Kind.NINE, Suit.HEARTS),
+            new Card(Kind.EIGHT, Suit.HEARTS),
+            new Card(Kind.SEVEN, Suit.CLUBS),
+            new Card(Kind.SIX, Suit.DIAMONDS),
+            new Card(Kind.SIX, Suit.SPADES));
+
+    @Test
+    void constructor_shouldCountTheAceBelowTheSix() {
+        ShortDeckStraight result = new ShortDeckStraight(aceToNine);
+
+        assertThat(result.getCards()).hasSize(5).contains(new Card(Kind.ACE, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.HEARTS), new Card(Kind.SEVEN, Suit.CLUBS));
+        assertThat(result.getStrength() & 0xF).isEqualTo(Kind.NINE.rank);
+        assertThatThrownBy(() -> new Straight(aceToNine)).isInstanceOf(InvalidHandException.class);
+    }
+
+    @Test
+    void constructor_shouldPreferTheHigherStraight() {
+        List<Card> cards = Arrays.asList(
+                new Card(Kind.ACE, Suit.DIAMONDS),
+                new Card(Kind.TEN, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.HEARTS),
+                new Card(Kind.EIGHT, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.CLUBS),
+                new Card(Kind.SIX, Suit.DIAMONDS));
+
+        assertThat(new ShortDeckStraight(cards).getCards()).doesNotContain(new Card(Kind.ACE, Suit.DIAMONDS));
+    }
+
+    @Test
+    void constructor_shouldFindAStraightFlushFromAceToNine() {
+        List<Card> cards = Arrays.asList(
+                new Card(Kind.ACE, Suit.CLUBS),
+                new Card(Kind.NINE, Suit.CLUBS),
+                new Card(Kind.EIGHT, Suit.CLUBS),
+                new Card(Kind.SEVEN, Suit.CLUBS),
+                new Card(Kind.SIX, Suit.CLUBS),
+                new Card(Kind.KING, Suit.HEARTS));
+
+        ShortDeckStraightFlush result = new ShortDeckStraightFlush(cards);
+
+        assertThat(result.getCards()).hasSize(5).doesNotContain(new Card(Kind.KING, Suit.HEARTS));
+        assertThatThrownBy(() -> new StraightFlush(cards)).isInstanceOf(InvalidHandException.class);
+    }
+}
@@ -58,4 +58,41 @@ class StraightTest {
         assertThat(straightWithAce.compareTo(straightWithSeven)).isPositive();
         assertThat(straightWithSeven.compareTo(straightWithAce)).isNegative();
     }
+
+    @Test
+    void constructor_shouldCountAceAsLowestCardOfAFiveHighStraight() {
+        List<Card> cards = Arrays.asList(
+                new Card(Kind.ACE, Suit.DIAMONDS),
+                new Card(Kind.KING, Suit.DIAMONDS),
+                new Card(Kind.FIVE, Suit.HEARTS),
+                new Card(Kind.NINE, Suit.HEARTS),
+                new Card(Kind.FOUR, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.DIAMONDS),
+                new Card(Kind.TWO, Suit.SPADES)
+        );
+        Straight result = new Straight(cards);
+
+        assertThat(result.getRelevantCards()).containsExactly(
+                new Card(Kind.FIVE, Suit.HEARTS),
+                new Card(Kind.FOUR, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.DIAMONDS),
+                new Card(Kind.TWO, Suit.SPADES),
+                new Card(Kind.ACE, Suit.DIAMONDS));
+    }
+
+    @Test
+    void constructor_shouldPreferTheHighestStraight() {
+        List<Card> cards = Arrays.asList(
+                new Card(Kind.ACE, Suit.DIAMONDS),
+                new Card(Kind.SIX, Suit.DIAMONDS),
+                new Card(Kind.FIVE, Suit.HEARTS),
+                new Card(Kind.KING, Suit.HEARTS),
+                new Card(Kind.FOUR, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.DIAMONDS),
+                new Card(Kind.TWO, Suit.SPADES)
+        );
+        Straight result = new Straight(cards);
+
+        assertThat(result.getRelevantCards()).doesNotContain(new Card(Kind.ACE, Suit.DIAMONDS));
+    }
 }
\ No newline at end of file
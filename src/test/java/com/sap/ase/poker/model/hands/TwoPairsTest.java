@@ -81,5 +81,25 @@ class TwoPairsTest {
         assertThat(twoPairsOfAcesAndSevens.compareTo(twoPairsOfAcesAndTwos)).isPositive();
         assertThat(twoPairsOfAcesAndTwos.compareTo(twoPairsOfAcesAndSevens)).isNegative();
     }
+
+    @Test
+    void constructor_shouldPickTheTwoHighestOfThreePairs() {
+        List<Card> cards = Arrays.asList(
+                new Card(Kind.JACK, Suit.DIAMONDS),
+                new Card(Kind.JACK, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.DIAMONDS),
+                new Card(Kind.THREE, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.DIAMONDS),
+                new Card(Kind.TWO, Suit.SPADES)
+        );
+        TwoPairs result = new TwoPairs(cards);
+
+        assertThat(result.getRelevantCards()).containsOnly(
+                new Card(Kind.JACK, Suit.DIAMONDS),
+                new Card(Kind.JACK, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.DIAMONDS));
+    }
 }
 
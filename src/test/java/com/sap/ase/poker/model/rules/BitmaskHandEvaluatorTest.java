@@ -0,0 +1,186 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.HandFixtures;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.sap.ase.poker.model.rules.HandEvaluator.toMask;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitmaskHandEvaluatorTest {
+
+    private final BitmaskHandEvaluator underTest = new BitmaskHandEvaluator();
+
+    @Test
+    void evaluate_shouldFindTheCategoryOfEveryFixture() {
+        assertThat(categoryOf(HandFixtures.highCardOfAce())).isEqualTo(HandEvaluator.HIGH_CARD);
+        assertThat(categoryOf(HandFixtures.pairOfSevens())).isEqualTo(HandEvaluator.PAIR);
+        assertThat(categoryOf(HandFixtures.twoPairsOfSevensAndAces())).isEqualTo(HandEvaluator.TWO_PAIRS);
+        assertThat(categoryOf(HandFixtures.threeOfAKindOfSevens())).isEqualTo(HandEvaluator.THREE_OF_A_KIND);
+        assertThat(categoryOf(HandFixtures.straightWithAce())).isEqualTo(HandEvaluator.STRAIGHT);
+        assertThat(categoryOf(HandFixtures.FlushWithKing())).isEqualTo(HandEvaluator.FLUSH);
+        assertThat(categoryOf(HandFixtures.fullHouseWithSevens())).isEqualTo(HandEvaluator.FULL_HOUSE);
+        assertThat(categoryOf(HandFixtures.fourOfAKindOfSevens())).isEqualTo(HandEvaluator.FOUR_OF_A_KIND);
+        assertThat(categoryOf(HandFixtures.straightFlushWithKing())).isEqualTo(HandEvaluator.STRAIGHT_FLUSH);
+        assertThat(categoryOf(HandFixtures.royalFlush())).isEqualTo(HandEvaluator.ROYAL_FLUSH);
+    }
+
+    @Test
+    void evaluate_shouldRankHigherCategoriesAbove() {
+        assertThat(strengthOf(HandFixtures.pairOfSevens())).isGreaterThan(strengthOf(HandFixtures.highCardOfAce()));
+        assertThat(strengthOf(HandFixtures.FlushWithSeven())).isGreaterThan(strengthOf(HandFixtures.straightWithAce()));
+        assertThat(strengthOf(HandFixtures.fullHouseWithSevens())).isGreaterThan(strengthOf(HandFixtures.FlushWithKing()));
+        assertThat(strengthOf(HandFixtures.royalFlush())).isGreaterThan(strengthOf(HandFixtures.straightFlushWithKing()));
+    }
+
+    @Test
+    void evaluate_shouldCompareRelevantCardsWithinACategory() {
+        assertThat(strengthOf(HandFixtures.pairOfNines())).isGreaterThan(strengthOf(HandFixtures.pairOfSevens()));
+        assertThat(strengthOf(HandFixtures.twoPairsOfSevensAndAces()))
+                .isGreaterThan(strengthOf(HandFixtures.twoPairsOfAcesAndTwos()));
+        assertThat(strengthOf(HandFixtures.fullHouseWithAces()))
+                .isGreaterThan(strengthOf(HandFixtures.fullHouseWithSevens()));
+        assertThat(strengthOf(HandFixtures.straightFlushWithKing()))
+                .isGreaterThan(strengthOf(HandFixtures.straightFlushWithSeven()));
+    }
+
+    @Test
+    void evaluate_shouldCompareKickersFromTheHighestDown() {
+        List<Card> kingKicker = Arrays.asList(
+                new Card(Kind.ACE, Suit.DIAMONDS),
+                new Card(Kind.ACE, Suit.HEARTS),
+                new Card(Kind.KING, Suit.CLUBS),
+                new Card(Kind.SEVEN, Suit.SPADES),
+                new Card(Kind.FIVE, Suit.DIAMONDS),
+                new Card(Kind.THREE, Suit.HEARTS),
+                new Card(Kind.TWO, Suit.CLUBS));
+        List<Card> queenKicker = Arrays.asList(
+                new Card(Kind.ACE, Suit.SPADES),
+                new Card(Kind.ACE, Suit.CLUBS),
+                new Card(Kind.QUEEN, Suit.CLUBS),
+                new Card(Kind.JACK, Suit.SPADES),
+                new Card(Kind.TEN, Suit.DIAMONDS),
+                new Card(Kind.THREE, Suit.HEARTS),
+                new Card(Kind.TWO, Suit.CLUBS));
+
+        assertThat(strengthOf(kingKicker)).isGreaterThan(strengthOf(queenKicker));
+    }
+
+    @Test
+    void evaluate_shouldIgnoreSuitsAndUnusedCards() {
+        assertThat(strengthOf(HandFixtures.pairOfRedJacks())).isEqualTo(strengthOf(HandFixtures.pairOfBlackJacks()));
+    }
+
+    @Test
+    void evaluate_shouldTreatAceAsLowestCardOfAWheel() {
+        List<Card> wheel = Arrays.asList(
+                new Card(Kind.ACE, Suit.DIAMONDS),
+                new Card(Kind.TWO, Suit.HEARTS),
+                new Card(Kind.THREE, Suit.CLUBS),
+                new Card(Kind.FOUR, Suit.SPADES),
+                new Card(Kind.FIVE, Suit.DIAMONDS),
+                new Card(Kind.KING, Suit.HEARTS),
+                new Card(Kind.KING, Suit.CLUBS));
+        List<Card> sixHighStraight = Arrays.asList(
+                new Card(Kind.SIX, Suit.DIAMONDS),
+                new Card(Kind.TWO, Suit.HEARTS),
+                new Card(Kind.THREE, Suit.CLUBS),
+                new Card(Kind.FOUR, Suit.SPADES),
+                new Card(Kind.FIVE, Suit.DIAMONDS),
+                new Card(Kind.KING, Suit.HEARTS),
+                new Card(Kind.KING, Suit.CLUBS));
+
+        assertThat(categoryOf(wheel)).isEqualTo(HandEvaluator.STRAIGHT);
+        assertThat(strengthOf(sixHighStraight)).isGreaterThan(strengthOf(wheel));
+    }
+
+    @Test
+    void evaluate_shouldUseTheHigherPairOfTwoTripsForAFullHouse() {
+        List<Card> twoTrips = Arrays.asList(
+                new Card(Kind.NINE, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.HEARTS),
+                new Card(Kind.NINE, Suit.CLUBS),
+                new Card(Kind.FOUR, Suit.SPADES),
+                new Card(Kind.FOUR, Suit.DIAMONDS),
+                new Card(Kind.FOUR, Suit.HEARTS),
+                new Card(Kind.KING, Suit.CLUBS));
+
+        assertThat(categoryOf(twoTrips)).isEqualTo(HandEvaluator.FULL_HOUSE);
+        assertThat(strengthOf(twoTrips) & 0xFF).isEqualTo(Kind.NINE.rank << 4 | Kind.FOUR.rank);
+    }
+
+    @Test
+    void evaluateOnBoard_shouldMatchTheEvaluationOfAllCards() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long board = randomCards(random, 3 + i % 3, 0);
+            long holeCards = randomCards(random, 2, board);
+            BoardState flop = BoardState.EMPTY.with(board & (board - 1));
+
+            assertThat(underTest.evaluate(flop.with(board & -board), holeCards))
+                    .isEqualTo(underTest.evaluate(board | holeCards));
+        }
+    }
+
+    @Test
+    void evaluateBatch_shouldMatchTheEvaluationOfEveryHand() {
+        Random random = new Random(11);
+        // several blocks of the vectorized batch and a tail which does not fill a vector
+        for (int length : new int[]{3, 4099}) {
+            long[] hands = new long[length];
+            for (int i = 0; i < hands.length; i++) {
+                hands[i] = randomCards(random, 5 + i % 3, 0);
+            }
+            int[] strengths = new int[hands.length];
+
+            underTest.evaluate(hands, strengths);
+
+            for (int i = 0; i < hands.length; i++) {
+                assertThat(strengths[i]).as(Long.toHexString(hands[i])).isEqualTo(underTest.evaluate(hands[i]));
+            }
+        }
+    }
+
+    @Test
+    void vectorBatch_shouldNotBeUsedWithoutTheClass() {
+        assertThat(BitmaskHandEvaluator.vectorBatch("com.sap.ase.poker.model.rules.MissingBatch")).isNull();
+    }
+
+    @Test
+    void vectorBatch_shouldNotBeUsedIfItRanksDifferently() {
+        assertThat(BitmaskHandEvaluator.vectorBatch(HighCardsOnly.class.getName())).isNull();
+        assertThat(BitmaskHandEvaluator.vectorBatch(BitmaskHandEvaluator.class.getName())).isNotNull();
+    }
+
+    private static long randomCards(Random random, int amount, long dead) {
+        long cards = 0;
+        while (Long.bitCount(cards) < amount) {
+            long card = 1L << random.nextInt(Card.AMOUNT);
+            if ((dead & card) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+    private int strengthOf(List<Card> cards) {
+        return underTest.evaluate(toMask(cards));
+    }
+
+    private int categoryOf(List<Card> cards) {
+        return underTest.category(strengthOf(cards));
+    }
+
+    static class HighCardsOnly implements HandEvaluator {
+        @Override
+        public int evaluate(long cards) {
+            return HIGH_CARD << CATEGORY_SHIFT;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardStateTest {
+
+    private static final CardSet FLOP = CardSet.of(Card.of(Kind.NINE, Suit.HEARTS), Card.of(Kind.NINE, Suit.CLUBS),
+            Card.of(Kind.FOUR, Suit.HEARTS));
+
+    @Test
+    void with_shouldCountTheRanksOfTheNewCards() {
+        BoardState turn = BoardState.of(FLOP).with(1L << Card.of(Kind.NINE, Suit.SPADES).getId());
+
+        assertThat(turn.getCards()).isEqualTo(FLOP.getMask() | 1L << Card.of(Kind.NINE, Suit.SPADES).getId());
+        assertThat(turn.size()).isEqualTo(4);
+        assertThat(turn.any).isEqualTo(1 << Kind.NINE.ordinal() | 1 << Kind.FOUR.ordinal());
+        assertThat(turn.atLeastTwo).isEqualTo(1 << Kind.NINE.ordinal());
+        assertThat(turn.atLeastThree).isEqualTo(1 << Kind.NINE.ordinal());
+        assertThat(turn.quads).isZero();
+    }
+
+    @Test
+    void with_shouldRejectCardsDealtTwice() {
+        BoardState flop = BoardState.of(FLOP);
+
+        assertThatThrownBy(() -> flop.with(1L << Card.of(Kind.FOUR, Suit.HEARTS).getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> flop.with(1L << 60)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sap.ase.poker.model.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EvaluationCacheTest {
+
+    private final HandEvaluator evaluator = new BitmaskHandEvaluator();
+
+    @Test
+    void get_shouldEvaluateEveryHandOnce() {
+        EvaluationCache underTest = new EvaluationCache(1 << 16);
+        AtomicInteger evaluations = new AtomicInteger();
+        long[] hands = randomHands(100, 7);
+
+        for (int pass = 0; pass < 3; pass++) {
+            for (long hand : hands) {
+                assertThat(underTest.get(hand, cards -> {
+                    evaluations.incrementAndGet();
+                    return evaluator.evaluate(cards);
+                })).isEqualTo(evaluator.evaluate(hand));
+            }
+        }
+
+        assertThat(evaluations).hasValue(100);
+        assertThat(underTest.getMisses()).isEqualTo(100);
+        assertThat(underTest.getHits()).isEqualTo(200);
+    }
+
+    @Test
+    void get_shouldEvictWhenTheCacheIsFull() {
+        EvaluationCache underTest = new EvaluationCache(1);
+        long[] hands = randomHands(5000, 7);
+
+        for (long hand : hands) {
+            underTest.get(hand, evaluator::evaluate);
+            underTest.get(hand, evaluator::evaluate);
+        }
+        long misses = underTest.getMisses();
+        for (long hand : hands) {
+            assertThat(underTest.get(hand, evaluator::evaluate)).isEqualTo(evaluator.evaluate(hand));
+        }
+
+        assertThat(underTest.getCapacity()).isEqualTo(EvaluationCache.STRIPES * EvaluationCache.PROBES);
+        assertThat(misses).isEqualTo(5000);
+        assertThat(underTest.getMisses() - misses).isGreaterThanOrEqualTo(5000 - underTest.getCapacity());
+    }
+
+    @Test
+    void get_shouldReturnTheEvaluatedStrengthsWhenUsedConcurrently() {
+        EvaluationCache underTest = new EvaluationCache(256);
+        long[] hands = randomHands(2000, 7);
+
+        IntStream.range(0, 20_000).parallel().forEach(i -> {
+            long hand = hands[i % hands.length];
+            assertThat(underTest.get(hand, evaluator::evaluate)).isEqualTo(evaluator.evaluate(hand));
+        });
+
+        assertThat(underTest.getHits() + underTest.getMisses()).isEqualTo(20_000);
+    }
+
+    @Test
+    void whenCapacityIsNotPositive_constructor_shouldReturnException() {
+        assertThatThrownBy(() -> new EvaluationCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getCapacity_shouldRoundUpToAPowerOfTwoPerStripe() {
+        assertThat(new EvaluationCache(100_000).getCapacity()).isEqualTo(EvaluationCache.STRIPES * 2048);
+    }
+
+    private static long[] randomHands(int amount, int cards) {
+        Random random = new Random(18);
+        long[] hands = new long[amount];
+        for (int i = 0; i < amount; i++) {
+            while (Long.bitCount(hands[i]) < cards) {
+                hands[i] |= 1L << random.nextInt(52);
+            }
+        }
+        return hands;
+    }
+}
@@ -0,0 +1,164 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.HandFixtures;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sap.ase.poker.model.rules.EvaluatorVerifier.HANDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EvaluatorVerifierTest {
+
+    private static LookupTableHandEvaluator lookup;
+
+    private final EvaluatorVerifier underTest = new EvaluatorVerifier();
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @BeforeAll
+    static void loadTables() throws IOException {
+        lookup = LookupTableHandEvaluator.fromResource();
+    }
+
+    @Test
+    void next_shouldMoveToTheHandWithTheNextColexRank() {
+        for (long rank : new long[]{0, 1, 6, 7, 12_345_678, HANDS - 2}) {
+            assertThat(EvaluatorVerifier.next(EvaluatorVerifier.unrank(rank)))
+                    .isEqualTo(EvaluatorVerifier.unrank(rank + 1));
+        }
+        assertThat(EvaluatorVerifier.unrank(0)).isEqualTo(0x7FL);
+        assertThat(EvaluatorVerifier.unrank(HANDS - 1)).isEqualTo(0x7FL << 45);
+    }
+
+    @Test
+    void verify_shouldFindNoMismatchesOfTheEnginesWithTheHandClasses() {
+        long from = HANDS - 30_000;
+
+        EvaluatorVerifier.Report lookupReport = underTest.verify(lookup, from, HANDS, pool);
+        EvaluatorVerifier.Report bitmaskReport = underTest.verify(new BitmaskHandEvaluator(), 0, 30_000, pool);
+
+        assertThat(lookupReport.getMismatchCount()).isZero();
+        assertThat(bitmaskReport.getMismatchCount()).isZero();
+        assertThat(lookupReport.getCategoryCount(HandEvaluator.ROYAL_FLUSH)).isPositive();
+    }
+
+    @Test
+    void verify_shouldFindNoMismatchesOfTheLookupTablesInSplitRanges() {
+        long from = HANDS - 2 * EvaluatorVerifier.SPLIT_SIZE - 123;
+
+        EvaluatorVerifier.Report report = new EvaluatorVerifier(new BitmaskHandEvaluator()).verify(lookup, from, HANDS, pool);
+
+        assertThat(report.getHands()).isEqualTo(HANDS - from);
+        assertThat(report.getMismatchCount()).isZero();
+        assertThat(report.getCategoryCount(HandEvaluator.ROYAL_FLUSH)).isPositive();
+        assertThat(report.getHandsPerSecond()).isPositive();
+        assertThat(report.isCorrect()).isTrue();
+        assertThat(report.toString()).contains("0 mismatches");
+    }
+
+    @Test
+    void verify_shouldReportMismatchesOfAFaultyEvaluator() {
+        HandEvaluator faulty = cards -> {
+            int strength = lookup.evaluate(cards);
+            return lookup.category(strength) == HandEvaluator.FLUSH ? strength + 1 : strength;
+        };
+
+        EvaluatorVerifier.Report report = underTest.verify(faulty, 0, 20_000, pool);
+
+        assertThat(report.getMismatchCount()).isGreaterThan(EvaluatorVerifier.MAX_REPORTED_MISMATCHES);
+        assertThat(report.getMismatches()).hasSize(EvaluatorVerifier.MAX_REPORTED_MISMATCHES);
+        assertThat(lookup.category(lookup.evaluate(report.getMismatches().get(0)))).isEqualTo(HandEvaluator.FLUSH);
+        assertThat(report.isCorrect()).isFalse();
+        assertThat(report.matchesKnownFrequencies()).isFalse();
+        assertThat(report.toString()).contains(String.format("%013x", report.getMismatches().get(0)));
+    }
+
+    @Test
+    void verify_shouldReportAKickerBugWhichKeepsTheCategories() {
+        // the kickers of a pair ranked lowest first, every hand keeps its category
+        HandEvaluator swappedKickers = cards -> {
+            int strength = lookup.evaluate(cards);
+            if (lookup.category(strength) != HandEvaluator.PAIR) {
+                return strength;
+            }
+            return strength & ~0xF0F | (strength & 0xF) << 8 | (strength >>> 8 & 0xF);
+        };
+
+        EvaluatorVerifier.Report faulty = underTest.verify(swappedKickers, 0, 20_000, pool);
+        EvaluatorVerifier.Report correct = underTest.verify(lookup, 0, 20_000, pool);
+
+        assertThat(faulty.getMismatchCount()).isPositive();
+        assertThat(lookup.category(lookup.evaluate(faulty.getMismatches().get(0)))).isEqualTo(HandEvaluator.PAIR);
+        assertThat(faulty.isCorrect()).isFalse();
+        for (int category = 0; category <= HandEvaluator.ROYAL_FLUSH; category++) {
+            assertThat(faulty.getCategoryCount(category)).isEqualTo(correct.getCategoryCount(category));
+        }
+    }
+
+    @Test
+    void verify_shouldCountUnknownCategoriesAsCategoryZero() {
+        EvaluatorVerifier.Report none = underTest.verify(cards -> 0, 0, 10, pool);
+        EvaluatorVerifier.Report unknown = underTest.verify(cards -> 15 << HandEvaluator.CATEGORY_SHIFT, 0, 10, pool);
+
+        assertThat(none.getCategoryCount(0)).isEqualTo(10);
+        assertThat(none.getMismatchCount()).isEqualTo(10);
+        assertThat(unknown.getCategoryCount(0)).isEqualTo(10);
+    }
+
+    @Test
+    void verify_shouldAcceptAnEmptyRange() {
+        EvaluatorVerifier.Report report = underTest.verify(lookup, HANDS, HANDS, pool);
+
+        assertThat(report.getHands()).isZero();
+        assertThat(report.isCorrect()).isTrue();
+    }
+
+    @Test
+    void verify_shouldRejectRanksOutsideOfTheHands() {
+        assertThatThrownBy(() -> underTest.verify(lookup, 0, HANDS + 1, pool))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.verify(lookup, 10, 5, pool))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.verify(lookup, -1, 5, pool))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void report_shouldCompareACompleteRunWithTheKnownFrequencies() {
+        EvaluatorVerifier.Report complete = new EvaluatorVerifier.Report(EvaluatorVerifier.CATEGORY_FREQUENCIES, HANDS);
+        long[] skewed = EvaluatorVerifier.CATEGORY_FREQUENCIES.clone();
+        skewed[HandEvaluator.FLUSH]++;
+        skewed[HandEvaluator.STRAIGHT]--;
+        EvaluatorVerifier.Report wrong = new EvaluatorVerifier.Report(skewed, HANDS);
+
+        assertThat(complete.matchesKnownFrequencies()).isTrue();
+        assertThat(complete.isCorrect()).isTrue();
+        assertThat(complete.toString()).contains("category frequencies match");
+        assertThat(wrong.isCorrect()).isFalse();
+        assertThat(wrong.toString()).contains("DIFFER");
+    }
+
+    @Test
+    void candidate_shouldMapTheGivenTablesOrTheBundledOnes() throws Exception {
+        String tables = Paths.get(LookupTableHandEvaluator.class.getResource(LookupTableHandEvaluator.RESOURCE).toURI())
+                .toString();
+        long cards = HandEvaluator.toMask(HandFixtures.royalFlush());
+
+        assertThat(EvaluatorVerifier.candidate(tables).evaluate(cards)).isEqualTo(lookup.evaluate(cards));
+        assertThat(EvaluatorVerifier.candidate().evaluate(cards)).isEqualTo(lookup.evaluate(cards));
+    }
+
+    @Test
+    void categoryFrequencies_shouldAddUpToAllHands() {
+        long total = 0;
+        for (long frequency : EvaluatorVerifier.CATEGORY_FREQUENCIES) {
+            total += frequency;
+        }
+
+        assertThat(total).isEqualTo(HANDS);
+    }
+}
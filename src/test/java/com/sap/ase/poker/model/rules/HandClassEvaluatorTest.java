@@ -0,0 +1,56 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.HandFixtures;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandClassEvaluatorTest {
+
+    private final HandClassEvaluator underTest = new HandClassEvaluator();
+
+    @Test
+    void evaluate_shouldRankLikeTheEngines() {
+        HandEvaluator bitmask = new BitmaskHandEvaluator();
+        Random random = new Random(23);
+        for (int hand = 0; hand < 2000; hand++) {
+            long cards = 0;
+            while (Long.bitCount(cards) < 5 + hand % 3) {
+                cards |= 1L << random.nextInt(Card.AMOUNT);
+            }
+
+            assertThat(underTest.evaluate(cards)).isEqualTo(bitmask.evaluate(cards));
+        }
+    }
+
+    @Test
+    void evaluate_shouldFindTheBestHandOfTheCards() {
+        long royalFlush = HandEvaluator.toMask(HandFixtures.royalFlush());
+        long fullHouse = HandEvaluator.toMask(HandFixtures.fullHouseWithAces());
+
+        assertThat(underTest.category(underTest.evaluate(royalFlush))).isEqualTo(HandEvaluator.ROYAL_FLUSH);
+        assertThat(underTest.category(underTest.evaluate(fullHouse))).isEqualTo(HandEvaluator.FULL_HOUSE);
+    }
+
+    @Test
+    void inTheShortDeck_evaluate_shouldRankLikeTheShortDeckEngine() {
+        HandClassEvaluator shortDeckReference = HandClassEvaluator.shortDeck();
+        ShortDeckHandEvaluator shortDeck = new ShortDeckHandEvaluator();
+        Random random = new Random(29);
+        for (int hand = 0; hand < 2000; hand++) {
+            long cards = 0;
+            while (Long.bitCount(cards) < 7) {
+                cards |= 1L << Card.of(Kind.values()[4 + random.nextInt(9)], Suit.values()[random.nextInt(4)]).getId();
+            }
+            int strength = shortDeckReference.evaluate(cards);
+
+            assertThat(strength).isEqualTo(shortDeck.evaluate(cards));
+            assertThat(shortDeckReference.category(strength)).isEqualTo(shortDeck.category(strength));
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.sap.ase.poker.model.rules;
 
 import com.sap.ase.poker.fixtures.HandFixtures;
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
 import com.sap.ase.poker.model.deck.Kind;
 import com.sap.ase.poker.model.deck.Suit;
 import com.sap.ase.poker.model.hands.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,7 +24,7 @@ public class HandRulesTest {
 
         List<Card> cards = HandFixtures.invalidHandWith6Cards();
 
-        assertThatThrownBy(() -> underTest.findBestHand(cards)).isInstanceOf(
+        assertThatThrownBy(() -> underTest.findBestHand(CardSet.of(cards))).isInstanceOf(
                 InvalidAmountOfCardsException.class);
     }
 
@@ -29,7 +32,7 @@ public class HandRulesTest {
     void whenOnlyHighCardKingPresent_findBestHand_shouldReturnHighCardWithKing() {
         List<Card> cards = HandFixtures.highCardOfKing();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -41,7 +44,7 @@ public class HandRulesTest {
     void whenOnlyHighCardAcePresent_findBestHand_shouldReturnHighCardWithAce() {
         List<Card> cards = HandFixtures.highCardOfAce();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -53,7 +56,7 @@ public class HandRulesTest {
     void whenOnlyTwoSevensPresent_findBestHand_shouldReturnPairOfSeven() {
         List<Card> cards = HandFixtures.pairOfSevens();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -65,7 +68,7 @@ public class HandRulesTest {
     void whenTwoSevensAndTwoAcesPresent_findBestHand_shouldReturnTwoPairsOfSevenAndAce() {
         List<Card> cards = HandFixtures.twoPairsOfSevensAndAces();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -77,7 +80,7 @@ public class HandRulesTest {
     void whenThreeSevensPresent_findBestHand_shouldReturnThreeOfAKindOfSevens() {
         List<Card> cards = HandFixtures.threeOfAKindOfSevens();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -89,7 +92,7 @@ public class HandRulesTest {
     void whenFourSevensPresent_findBestHand_shouldReturnFourOfAKindOfSevens() {
         List<Card> cards = HandFixtures.fourOfAKindOfSevens();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -101,7 +104,7 @@ public class HandRulesTest {
     void whenStraightPresent_findBestHand_shouldReturnStraight() {
         List<Card> cards = HandFixtures.straightWithAce();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS));
@@ -112,7 +115,7 @@ public class HandRulesTest {
     void whenFlushPresent_findBestHand_shouldReturnFlush() {
         List<Card> cards = HandFixtures.FlushWithKing();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.SIX, Suit.HEARTS),
@@ -124,7 +127,7 @@ public class HandRulesTest {
     void whenFullHousePresent_findBestHand_shouldReturnFullHouse() {
         List<Card> cards = HandFixtures.fullHouseWithSevens();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.THREE, Suit.DIAMONDS),
@@ -136,7 +139,7 @@ public class HandRulesTest {
     void whenStraightFlushPresent_findBestHand_shouldReturnStraightFlush() {
         List<Card> cards = HandFixtures.straightFlushWithKing();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.ACE, Suit.SPADES),
@@ -148,11 +151,146 @@ public class HandRulesTest {
     void whenRoyalFlushPresent_findBestHand_shouldReturnRoyalFlush() {
         List<Card> cards = HandFixtures.royalFlush();
 
-        Hand hand = underTest.findBestHand(cards);
+        Hand hand = underTest.findBestHand(CardSet.of(cards));
 
         assertThat(hand.getCards()).hasSize(5);
         assertThat(hand.getCards()).doesNotContain(new Card(Kind.ACE, Suit.HEARTS),
                 new Card(Kind.THREE, Suit.DIAMONDS));
         assertThat(hand).isInstanceOf(RoyalFlush.class);
     }
+
+    @Test
+    void whenOnlySixCardsPresent_evaluate_shouldReturnException() {
+        long cards = HandEvaluator.toMask(HandFixtures.invalidHandWith6Cards());
+
+        assertThatThrownBy(() -> underTest.evaluate(cards)).isInstanceOf(InvalidAmountOfCardsException.class);
+    }
+
+    @Test
+    void whenPairOfSevensPresent_evaluate_shouldReturnPairStrength() {
+        long cards = HandEvaluator.toMask(HandFixtures.pairOfSevens());
+
+        assertThat(underTest.getEvaluator().category(underTest.evaluate(cards))).isEqualTo(new Pair(HandFixtures.pairOfSevens()).getRank());
+    }
+
+    @Test
+    void findBestHand_shouldHaveTheSameStrengthAsTheEvaluator() {
+        List<List<Card>> fixtures = Arrays.asList(HandFixtures.highCardOfAce(), HandFixtures.pairOfSevens(),
+                HandFixtures.twoPairsOfAcesAndTwos(), HandFixtures.threeOfAKindOfAces(), HandFixtures.straightWithSeven(),
+                HandFixtures.FlushWithSeven(), HandFixtures.fullHouseWithAces(), HandFixtures.fourOfAKindOfAces(),
+                HandFixtures.straightFlushWithSeven(), HandFixtures.royalFlush());
+
+        for (List<Card> fixture : fixtures) {
+            assertThat(underTest.findBestHand(CardSet.of(fixture)).getStrength())
+                    .isEqualTo(underTest.evaluate(HandEvaluator.toMask(fixture)));
+        }
+    }
+
+    @Test
+    void whenSixCardsPresent_findBestPartialHand_shouldReturnTheBestHandSoFar() {
+        List<Card> cards = HandFixtures.pairOfSevens().subList(0, 6);
+
+        Hand hand = underTest.findBestPartialHand(CardSet.of(cards));
+
+        assertThat(hand).isInstanceOf(Pair.class);
+        assertThat(hand.getCards()).hasSize(5).contains(new Card(Kind.SEVEN, Suit.DIAMONDS),
+                new Card(Kind.SEVEN, Suit.HEARTS));
+    }
+
+    @Test
+    void whenFiveCardsPresent_evaluatePartial_shouldMatchTheFullEvaluation() {
+        List<Card> cards = HandFixtures.highCardOfKing().subList(0, 5);
+        long mask = HandEvaluator.toMask(cards);
+
+        assertThat(underTest.evaluatePartial(mask)).isEqualTo(underTest.getEvaluator().evaluate(mask));
+        assertThat(underTest.evaluatePartial(HandEvaluator.toMask(HandFixtures.pairOfSevens())))
+                .isEqualTo(underTest.evaluate(HandEvaluator.toMask(HandFixtures.pairOfSevens())));
+    }
+
+    @Test
+    void whenFourOrEightCardsPresent_evaluatePartial_shouldReturnException() {
+        long fourCards = HandEvaluator.toMask(HandFixtures.pairOfSevens().subList(0, 4));
+        long eightCards = HandEvaluator.toMask(HandFixtures.pairOfSevens()) | 1L << 51;
+
+        assertThatThrownBy(() -> underTest.evaluatePartial(fourCards)).isInstanceOf(InvalidAmountOfCardsException.class);
+        assertThatThrownBy(() -> underTest.evaluatePartial(eightCards)).isInstanceOf(InvalidAmountOfCardsException.class);
+    }
+
+    @Test
+    void whenCacheIsEnabled_evaluate_shouldCacheTheStrengths() {
+        HandRules cached = new HandRules(new BitmaskHandEvaluator(), 1000);
+        long sevenCards = HandEvaluator.toMask(HandFixtures.fullHouseWithAces());
+        long sixCards = HandEvaluator.toMask(HandFixtures.pairOfSevens().subList(0, 6));
+        BoardState board = BoardState.of(CardSet.ofMask(sevenCards & sevenCards - 1 & (sevenCards & sevenCards - 1) - 1));
+
+        assertThat(cached.evaluate(sevenCards)).isEqualTo(underTest.evaluate(sevenCards));
+        assertThat(cached.evaluate(board, sevenCards & ~board.getCards())).isEqualTo(underTest.evaluate(sevenCards));
+        assertThat(cached.evaluatePartial(sixCards)).isEqualTo(underTest.evaluatePartial(sixCards));
+        assertThat(cached.evaluatePartial(board, sevenCards & ~board.getCards()))
+                .isEqualTo(underTest.evaluate(sevenCards));
+
+        EvaluationCache cache = cached.getCache().orElseThrow(IllegalStateException::new);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void evaluateBatch_shouldMatchSingleEvaluationsWithAndWithoutCache() {
+        HandRules cached = new HandRules(new BitmaskHandEvaluator(), 1000);
+        long[] cards = {HandEvaluator.toMask(HandFixtures.fullHouseWithAces()),
+                HandEvaluator.toMask(HandFixtures.royalFlush()), HandEvaluator.toMask(HandFixtures.fullHouseWithAces())};
+        int[] strengths = new int[cards.length];
+        int[] cachedStrengths = new int[cards.length];
+
+        underTest.evaluate(cards, strengths);
+        cached.evaluate(cards, cachedStrengths);
+
+        for (int i = 0; i < cards.length; i++) {
+            assertThat(strengths[i]).isEqualTo(underTest.evaluate(cards[i]));
+        }
+        assertThat(cachedStrengths).containsExactly(strengths);
+        assertThat(cached.getCache().orElseThrow(IllegalStateException::new).getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluateBatch_shouldRejectHandsWithoutSevenCards() {
+        long[] cards = {HandEvaluator.toMask(HandFixtures.pairOfSevens().subList(0, 6))};
+
+        assertThatThrownBy(() -> underTest.evaluate(cards, new int[1]))
+                .isInstanceOf(InvalidAmountOfCardsException.class);
+    }
+
+    @Test
+    void whenCacheSizeIsZero_getCache_shouldBeEmpty() {
+        assertThat(new HandRules(new BitmaskHandEvaluator(), 0).getCache()).isEmpty();
+        assertThat(underTest.getCache()).isEmpty();
+    }
+
+    @Test
+    void inOmaha_hasHand_shouldNeedFourHoleCardsAndTheFlop() {
+        long holeCards = HandEvaluator.toMask(HandFixtures.pairOfSevens().subList(0, 4));
+        BoardState flop = BoardState.of(CardSet.of(HandFixtures.pairOfSevens().subList(4, 7)));
+
+        assertThat(underTest.hasHand(GameVariant.OMAHA, flop, holeCards)).isTrue();
+        assertThat(underTest.hasHand(GameVariant.OMAHA, BoardState.EMPTY, holeCards)).isFalse();
+        assertThat(underTest.hasHand(GameVariant.OMAHA, flop, holeCards & holeCards - 1)).isFalse();
+        assertThat(underTest.hasHand(GameVariant.HOLDEM, BoardState.EMPTY, holeCards)).isFalse();
+        assertThat(underTest.evaluate(GameVariant.OMAHA, flop, holeCards))
+                .isEqualTo(new OmahaEvaluator(underTest.getEvaluator()).evaluate(flop, holeCards));
+        assertThat(underTest.findBestHand(GameVariant.OMAHA, flop, holeCards).getCards()).hasSize(5);
+    }
+
+    @Test
+    void inTheShortDeck_getEvaluator_shouldReportTheRealCategories() {
+        long flush = HandEvaluator.toMask(Arrays.asList(new Card(Kind.ACE, Suit.HEARTS), new Card(Kind.JACK, Suit.HEARTS),
+                new Card(Kind.NINE, Suit.HEARTS), new Card(Kind.SEVEN, Suit.HEARTS), new Card(Kind.SIX, Suit.HEARTS)));
+        BoardState board = BoardState.of(CardSet.ofMask(flush & flush - 1 & (flush & flush - 1) - 1));
+
+        int strength = underTest.evaluate(GameVariant.SHORT_DECK, board, flush & ~board.getCards());
+
+        assertThat(underTest.getEvaluator(GameVariant.SHORT_DECK).category(strength)).isEqualTo(HandEvaluator.FLUSH);
+        assertThat(underTest.getEvaluator(GameVariant.HOLDEM)).isSameAs(underTest.getEvaluator());
+        assertThat(underTest.findBestHand(GameVariant.SHORT_DECK, board, flush & ~board.getCards()))
+                .isInstanceOf(Flush.class);
+    }
 }
@@ -0,0 +1,25 @@
+package com.sap.ase.poker.model.rules;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LookupTableGeneratorTest {
+
+    @Test
+    void write_shouldReproduceTheBundledTables(@TempDir Path directory) throws IOException {
+        Path target = directory.resolve("hand-ranks.bin");
+
+        LookupTableGenerator.main(new String[]{target.toString()});
+
+        try (InputStream bundled = LookupTableHandEvaluator.class.getResourceAsStream(LookupTableHandEvaluator.RESOURCE)) {
+            assertThat(Files.newInputStream(target)).hasSameContentAs(bundled);
+        }
+    }
+}
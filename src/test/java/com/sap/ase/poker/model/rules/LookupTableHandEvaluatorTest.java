@@ -0,0 +1,188 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.HandFixtures;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.sap.ase.poker.model.rules.HandEvaluator.toMask;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LookupTableHandEvaluatorTest {
+
+    private static LookupTableHandEvaluator underTest;
+
+    private final BitmaskHandEvaluator reference = new BitmaskHandEvaluator();
+
+    @BeforeAll
+    static void loadTables() throws IOException {
+        underTest = LookupTableHandEvaluator.fromResource();
+    }
+
+    @Test
+    void equivalenceClass_shouldRankRoyalFlushFirstAndSevenHighLast() {
+        List<Card> sevenHigh = Arrays.asList(
+                new Card(Kind.SEVEN, Suit.DIAMONDS),
+                new Card(Kind.FIVE, Suit.HEARTS),
+                new Card(Kind.FOUR, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.SPADES),
+                new Card(Kind.TWO, Suit.DIAMONDS));
+
+        assertThat(underTest.equivalenceClass(toMask(HandFixtures.royalFlush()))).isEqualTo(1);
+        assertThat(underTest.equivalenceClass(toMask(sevenHigh))).isEqualTo(7462);
+    }
+
+    @Test
+    void evaluate_shouldReturnTheSameStrengthAsTheBitmaskEvaluatorForFixtures() {
+        List<List<Card>> fixtures = Arrays.asList(HandFixtures.highCardOfAce(), HandFixtures.pairOfSevens(),
+                HandFixtures.twoPairsOfAcesAndTwos(), HandFixtures.threeOfAKindOfAces(), HandFixtures.straightWithSeven(),
+                HandFixtures.FlushWithSeven(), HandFixtures.fullHouseWithAces(), HandFixtures.fourOfAKindOfAces(),
+                HandFixtures.straightFlushWithSeven(), HandFixtures.royalFlush());
+
+        for (List<Card> fixture : fixtures) {
+            long cards = toMask(fixture);
+            assertThat(underTest.evaluate(cards)).isEqualTo(reference.evaluate(cards));
+        }
+    }
+
+    @Test
+    void evaluate_shouldReturnTheSameStrengthAsTheBitmaskEvaluatorForRandomHands() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long cards = randomCards(random, 5 + i % 3);
+            assertThat(underTest.evaluate(cards)).isEqualTo(reference.evaluate(cards));
+        }
+    }
+
+    @Test
+    void evaluateBatch_shouldReturnTheSameStrengthsAsSingleEvaluations() {
+        Random random = new Random(11);
+        long[] cards = new long[10_000];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = randomCards(random, 5 + i % 3);
+        }
+        cards[0] = toMask(HandFixtures.royalFlush());
+        int[] strengths = new int[cards.length];
+
+        underTest.evaluate(cards, strengths);
+
+        for (int i = 0; i < cards.length; i++) {
+            assertThat(strengths[i]).isEqualTo(reference.evaluate(cards[i]));
+        }
+    }
+
+    @Test
+    void evaluateBatch_shouldRejectTooFewStrengths() {
+        long[] cards = {toMask(HandFixtures.royalFlush()), toMask(HandFixtures.pairOfSevens())};
+
+        assertThatThrownBy(() -> underTest.evaluate(cards, new int[1])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void evaluateOnBoard_shouldAddTheHoleCardsToTheBoard() {
+        long cards = toMask(HandFixtures.fullHouseWithAces());
+        long holeCards = Long.lowestOneBit(cards) | Long.highestOneBit(cards);
+
+        assertThat(underTest.evaluate(BoardState.EMPTY.with(cards & ~holeCards), holeCards))
+                .isEqualTo(underTest.evaluate(cards));
+    }
+
+    @Test
+    void evaluate_shouldRejectLessThanFiveCards() {
+        long cards = toMask(HandFixtures.pairOfSevens().subList(0, 4));
+
+        assertThatThrownBy(() -> underTest.evaluate(cards)).isInstanceOf(InvalidAmountOfCardsException.class);
+    }
+
+    @Test
+    void constructor_shouldRejectFilesWithoutTables(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("tables.bin"), new byte[]{0, 0, 0, 0, 0, 0, 0, 0});
+
+        assertThatThrownBy(() -> new LookupTableHandEvaluator(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void extract_shouldNameTheTablesAfterTheirContent(@TempDir Path directory) throws IOException {
+        Path first = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+        Path again = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+        Path other = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{2}), directory);
+
+        assertThat(again).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(Files.readAllBytes(first)).containsExactly(1);
+        assertThat(Files.readAllBytes(other)).containsExactly(2);
+        // the temporary copies are gone
+        assertThat(Files.list(directory).count()).isEqualTo(2);
+    }
+
+    @Test
+    void extract_shouldReplaceTamperedTables(@TempDir Path directory) throws IOException {
+        Path target = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+        Files.write(target, new byte[]{3});
+
+        assertThat(LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory))
+                .isEqualTo(target);
+        assertThat(Files.readAllBytes(target)).containsExactly(1);
+    }
+
+    @Test
+    void extract_shouldReplaceTablesWhichOthersMayWrite(@TempDir Path directory) throws IOException {
+        Path target = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rw-rw-rw-"));
+        UserPrincipal owner = Files.getOwner(target);
+
+        assertThat(LookupTableHandEvaluator.isPrivate(target, owner)).isFalse();
+        assertThat(LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory))
+                .isEqualTo(target);
+        assertThat(LookupTableHandEvaluator.isPrivate(target, owner)).isTrue();
+        assertThat(Files.getPosixFilePermissions(target)).doesNotContain(PosixFilePermission.GROUP_WRITE,
+                PosixFilePermission.OTHERS_WRITE);
+    }
+
+    @Test
+    void isPrivate_shouldRejectLinksAndMissingFiles(@TempDir Path directory) throws IOException {
+        Path target = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+        Path link = Files.createSymbolicLink(directory.resolve("link"), target);
+        UserPrincipal owner = Files.getOwner(target);
+
+        assertThat(LookupTableHandEvaluator.isPrivate(link, owner)).isFalse();
+        assertThat(LookupTableHandEvaluator.isPrivate(directory.resolve("missing"), owner)).isFalse();
+    }
+
+    @Test
+    void extract_shouldMapAPrivateCopyWhenTheTablesCannotBeReplaced(@TempDir Path directory) throws IOException {
+        Path target = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+        Files.delete(target);
+        Files.createDirectory(target);
+        Files.write(target.resolve("occupied"), new byte[]{3});
+
+        Path copy = LookupTableHandEvaluator.extract(new ByteArrayInputStream(new byte[]{1}), directory);
+
+        assertThat(copy).isNotEqualTo(target);
+        assertThat(Files.readAllBytes(copy)).containsExactly(1);
+        assertThat(LookupTableHandEvaluator.hasHash(target, "")).isFalse();
+    }
+
+    static long randomCards(Random random, int amount) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < amount) {
+            cards |= 1L << random.nextInt(52);
+        }
+        return cards;
+    }
+}
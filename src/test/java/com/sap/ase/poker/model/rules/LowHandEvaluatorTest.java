@@ -0,0 +1,56 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LowHandEvaluatorTest {
+
+    @Test
+    void wheel_shouldBeTheBestLow() {
+        int wheel = LowHandEvaluator.evaluate(mask(Kind.ACE, Kind.TWO, Kind.THREE, Kind.FOUR, Kind.FIVE));
+        int sixLow = LowHandEvaluator.evaluate(mask(Kind.TWO, Kind.THREE, Kind.FOUR, Kind.FIVE, Kind.SIX));
+
+        assertThat(wheel).isGreaterThan(sixLow);
+    }
+
+    @Test
+    void lows_shouldCompareByTheirHighestCardsFirst() {
+        int sevenSixFour = LowHandEvaluator.evaluate(mask(Kind.SEVEN, Kind.SIX, Kind.FOUR, Kind.THREE, Kind.TWO));
+        int sevenSixFive = LowHandEvaluator.evaluate(mask(Kind.SEVEN, Kind.SIX, Kind.FIVE, Kind.THREE, Kind.TWO));
+        int eight = LowHandEvaluator.evaluate(mask(Kind.EIGHT, Kind.FOUR, Kind.THREE, Kind.TWO, Kind.ACE));
+
+        assertThat(sevenSixFour).isGreaterThan(sevenSixFive);
+        assertThat(sevenSixFive).isGreaterThan(eight);
+        assertThat(eight).isGreaterThan(LowHandEvaluator.NO_LOW);
+    }
+
+    @Test
+    void whenANineOrAPairIsNeeded_evaluate_shouldFindNoLow() {
+        assertThat(LowHandEvaluator.evaluate(mask(Kind.NINE, Kind.FOUR, Kind.THREE, Kind.TWO, Kind.ACE)))
+                .isEqualTo(LowHandEvaluator.NO_LOW);
+        long pairedAces = mask(Kind.ACE, Kind.TWO, Kind.THREE, Kind.FOUR) | 1L << Card.of(Kind.ACE, Suit.CLUBS).getId();
+        assertThat(LowHandEvaluator.evaluate(pairedAces)).isEqualTo(LowHandEvaluator.NO_LOW);
+    }
+
+    @Test
+    void ofSevenCards_evaluate_shouldPickTheFiveLowestRanks() {
+        long sevenCards = mask(Kind.KING, Kind.EIGHT, Kind.SIX, Kind.FIVE, Kind.FOUR, Kind.TWO, Kind.ACE);
+
+        assertThat(LowHandEvaluator.evaluate(sevenCards))
+                .isEqualTo(LowHandEvaluator.evaluate(mask(Kind.SIX, Kind.FIVE, Kind.FOUR, Kind.TWO, Kind.ACE)));
+    }
+
+    // one card of every kind, the suits alternate so that no flush is made
+    private static long mask(Kind... kinds) {
+        CardSet cards = CardSet.EMPTY;
+        for (int i = 0; i < kinds.length; i++) {
+            cards = cards.union(CardSet.of(Card.of(kinds[i], Suit.values()[i % 2])));
+        }
+        return cards.getMask();
+    }
+}
@@ -0,0 +1,137 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmahaEvaluatorTest {
+
+    private static final BoardState FOUR_HEARTS = BoardState.of(CardSet.of(Card.of(Kind.TWO, Suit.HEARTS),
+            Card.of(Kind.FIVE, Suit.HEARTS), Card.of(Kind.EIGHT, Suit.HEARTS), Card.of(Kind.JACK, Suit.HEARTS),
+            Card.of(Kind.KING, Suit.CLUBS)));
+
+    private final HandEvaluator evaluator = new BitmaskHandEvaluator();
+    private final OmahaEvaluator underTest = new OmahaEvaluator(evaluator);
+
+    @Test
+    void whenOnlyOneHoleCardIsSuited_evaluate_shouldNotFindAFlush() {
+        long oneHeart = mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.THREE, Suit.SPADES),
+                Card.of(Kind.FOUR, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.CLUBS));
+        long twoHearts = mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.THREE, Suit.HEARTS),
+                Card.of(Kind.FOUR, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.CLUBS));
+
+        assertThat(evaluator.category(underTest.evaluate(FOUR_HEARTS, oneHeart))).isEqualTo(HandEvaluator.HIGH_CARD);
+        assertThat(evaluator.category(underTest.evaluate(FOUR_HEARTS, twoHearts))).isEqualTo(HandEvaluator.FLUSH);
+    }
+
+    @Test
+    void whenHoldingFourAces_evaluate_shouldOnlyUseTwoOfThem() {
+        long aces = mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.SPADES),
+                Card.of(Kind.ACE, Suit.DIAMONDS), Card.of(Kind.ACE, Suit.CLUBS));
+        BoardState board = BoardState.of(CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.QUEEN, Suit.SPADES),
+                Card.of(Kind.SEVEN, Suit.CLUBS)));
+
+        assertThat(evaluator.category(underTest.evaluate(board, aces))).isEqualTo(HandEvaluator.PAIR);
+        assertThat(Long.bitCount(underTest.findBestCards(board, aces) & aces)).isEqualTo(2);
+    }
+
+    @Test
+    void evaluate_shouldMatchTheBestOfAllTwoPlusThreeCombinations() {
+        Random random = new Random(19);
+        for (int hand = 0; hand < 500; hand++) {
+            int[] ids = random.ints(0, Card.AMOUNT).distinct().limit(9).toArray();
+            long holeCards = 0;
+            long boardCards = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (i < 4) {
+                    holeCards |= 1L << ids[i];
+                } else {
+                    boardCards |= 1L << ids[i];
+                }
+            }
+            BoardState board = BoardState.of(CardSet.ofMask(boardCards));
+
+            int expected = bruteForce(ids);
+            long bestCards = underTest.findBestCards(board, holeCards);
+
+            assertThat(underTest.evaluate(board, holeCards)).isEqualTo(expected);
+            assertThat(Long.bitCount(bestCards)).isEqualTo(5);
+            assertThat(Long.bitCount(bestCards & holeCards)).isEqualTo(2);
+            assertThat(evaluator.evaluate(bestCards)).isEqualTo(expected);
+            long hiLo = underTest.evaluateHiLo(board, holeCards);
+            assertThat(OmahaEvaluator.high(hiLo)).isEqualTo(expected);
+            assertThat(OmahaEvaluator.low(hiLo)).isEqualTo(bruteForceLow(ids));
+        }
+    }
+
+    @Test
+    void whenTheLowHoleCardsAreOnTheBoard_evaluateHiLo_shouldFindNoLow() {
+        long holeCards = mask(Card.of(Kind.ACE, Suit.CLUBS), Card.of(Kind.TWO, Suit.CLUBS),
+                Card.of(Kind.KING, Suit.DIAMONDS), Card.of(Kind.KING, Suit.SPADES));
+        BoardState board = BoardState.of(CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.TWO, Suit.SPADES),
+                Card.of(Kind.THREE, Suit.DIAMONDS), Card.of(Kind.QUEEN, Suit.CLUBS), Card.of(Kind.JACK, Suit.HEARTS)));
+
+        long hiLo = underTest.evaluateHiLo(board, holeCards);
+
+        assertThat(OmahaEvaluator.low(hiLo)).isEqualTo(LowHandEvaluator.NO_LOW);
+        assertThat(evaluator.category(OmahaEvaluator.high(hiLo))).isEqualTo(HandEvaluator.TWO_PAIRS);
+    }
+
+    @Test
+    void whenTheAmountOfCardsIsWrong_evaluate_shouldReturnException() {
+        long threeCards = mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.THREE, Suit.SPADES),
+                Card.of(Kind.FOUR, Suit.DIAMONDS));
+        long fourCards = threeCards | mask(Card.of(Kind.NINE, Suit.CLUBS));
+        BoardState twoCards = BoardState.of(CardSet.of(Card.of(Kind.KING, Suit.CLUBS), Card.of(Kind.TEN, Suit.CLUBS)));
+
+        assertThatThrownBy(() -> underTest.evaluate(FOUR_HEARTS, threeCards))
+                .isInstanceOf(InvalidAmountOfCardsException.class);
+        assertThatThrownBy(() -> underTest.evaluate(twoCards, fourCards))
+                .isInstanceOf(InvalidAmountOfCardsException.class);
+    }
+
+    private static int bruteForceLow(int[] ids) {
+        int best = LowHandEvaluator.NO_LOW;
+        for (int first = 0; first < 4; first++) {
+            for (int second = first + 1; second < 4; second++) {
+                for (int a = 4; a < 9; a++) {
+                    for (int b = a + 1; b < 9; b++) {
+                        for (int c = b + 1; c < 9; c++) {
+                            long cards = 1L << ids[first] | 1L << ids[second] | 1L << ids[a] | 1L << ids[b] | 1L << ids[c];
+                            best = Math.max(best, LowHandEvaluator.evaluate(cards));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int bruteForce(int[] ids) {
+        int best = -1;
+        for (int first = 0; first < 4; first++) {
+            for (int second = first + 1; second < 4; second++) {
+                for (int a = 4; a < 9; a++) {
+                    for (int b = a + 1; b < 9; b++) {
+                        for (int c = b + 1; c < 9; c++) {
+                            long cards = 1L << ids[first] | 1L << ids[second] | 1L << ids[a] | 1L << ids[b] | 1L << ids[c];
+                            best = Math.max(best, evaluator.evaluate(cards));
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long mask(Card... cards) {
+        return CardSet.of(cards).getMask();
+    }
+}
@@ -0,0 +1,116 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.PlayerFixtures;
+import com.sap.ase.poker.model.GameVariant;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutsCalculatorTest {
+
+    private static final CardSet FLOP = CardSet.of(Card.of(Kind.TWO, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.HEARTS),
+            Card.of(Kind.QUEEN, Suit.CLUBS));
+
+    private final OutsCalculator underTest = new OutsCalculator(new HandRules());
+
+    private Player alWithFlushDraw;
+    private Player patWithSet;
+    private Player alisonWithoutCards;
+
+    @BeforeEach
+    void setUp() {
+        alWithFlushDraw = PlayerFixtures.AL_CAPONE();
+        patWithSet = PlayerFixtures.PAT_GARRETT();
+        alisonWithoutCards = PlayerFixtures.ALISON_GARDENER();
+        alWithFlushDraw.setHandCards(CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.KING, Suit.HEARTS)));
+        patWithSet.setHandCards(CardSet.of(Card.of(Kind.QUEEN, Suit.SPADES), Card.of(Kind.QUEEN, Suit.DIAMONDS)));
+    }
+
+    @Test
+    void flushDraw_shouldImproveWithTheHeartsAndThePairingCards() {
+        Map<String, Outs> outs = underTest.calculate(BoardState.of(FLOP),
+                Arrays.asList(alWithFlushDraw, patWithSet, alisonWithoutCards));
+
+        Outs flushDraw = outs.get(alWithFlushDraw.getId());
+        assertThat(outs).containsOnlyKeys(alWithFlushDraw.getId(), patWithSet.getId());
+        // the hands of the other players are unseen cards too
+        assertThat(flushDraw.getUnseen()).isEqualTo(47);
+        // nine hearts for the flush and fourteen cards which pair an ace, a king, a queen, a seven or a two
+        assertThat(flushDraw.getImproving().size()).isEqualTo(23);
+        assertThat(flushDraw.getOdds()).isEqualTo(23 / 47.0);
+    }
+
+    @Test
+    void outs_shouldNotDependOnTheHandsOfTheOtherPlayers() {
+        Outs alone = underTest.calculate(BoardState.of(FLOP), Arrays.asList(alWithFlushDraw))
+                .get(alWithFlushDraw.getId());
+        Outs withSet = underTest.calculate(BoardState.of(FLOP), Arrays.asList(alWithFlushDraw, patWithSet))
+                .get(alWithFlushDraw.getId());
+
+        assertThat(withSet.getImproving()).isEqualTo(alone.getImproving());
+        // the queens of the set are still possible outs for the flush draw
+        assertThat(withSet.getImproving().contains(Card.of(Kind.QUEEN, Suit.SPADES))).isTrue();
+    }
+
+    @Test
+    void set_shouldOnlyHaveOutsWhichImproveTheCategory() {
+        Outs set = underTest.calculate(BoardState.of(FLOP), Arrays.asList(alWithFlushDraw, patWithSet))
+                .get(patWithSet.getId());
+
+        // the last queen for quads and the sevens and twos for a full house
+        assertThat(set.getImproving().size()).isEqualTo(7);
+        assertThat(set.getImproving().contains(Card.of(Kind.QUEEN, Suit.HEARTS))).isTrue();
+    }
+
+    @Test
+    void river_shouldHaveNoOuts() {
+        CardSet river = FLOP.with(Card.of(Kind.NINE, Suit.CLUBS)).with(Card.of(Kind.THREE, Suit.SPADES));
+
+        assertThat(underTest.calculate(BoardState.of(river), Arrays.asList(alWithFlushDraw, patWithSet))).isEmpty();
+        assertThat(new Outs(CardSet.EMPTY, 0).getOdds()).isZero();
+    }
+
+    private static Card[] hearts(Kind... kinds) {
+        List<Kind> list = Arrays.asList(kinds);
+        return list.stream().map(kind -> Card.of(kind, Suit.HEARTS)).toArray(Card[]::new);
+    }
+
+    @Test
+    void inOmaha_calculate_shouldOnlyCountHandsOfTwoHoleCards() {
+        Player alWithOneHeart = PlayerFixtures.AL_CAPONE();
+        alWithOneHeart.setHandCards(CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.THREE, Suit.SPADES),
+                Card.of(Kind.FOUR, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.CLUBS)));
+        CardSet flop = CardSet.of(Card.of(Kind.TWO, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.HEARTS),
+                Card.of(Kind.KING, Suit.HEARTS));
+
+        Outs outs = underTest.calculate(GameVariant.OMAHA, BoardState.of(flop), Arrays.asList(alWithOneHeart))
+                .get(alWithOneHeart.getId());
+
+        // the board has three hearts, but one heart in the hand never makes a flush
+        assertThat(outs.getImproving().containsAny(CardSet.of(hearts(Kind.FIVE, Kind.SIX, Kind.EIGHT, Kind.TEN)))).isFalse();
+        assertThat(outs.getUnseen()).isEqualTo(45);
+    }
+
+    @Test
+    void inTheShortDeck_calculate_shouldOnlyDealCardsFromSixUp() {
+        CardSet flop = CardSet.of(Card.of(Kind.SIX, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.HEARTS),
+                Card.of(Kind.QUEEN, Suit.CLUBS));
+        Outs outs = underTest.calculate(GameVariant.SHORT_DECK, BoardState.of(flop),
+                alWithFlushDraw.getHandCards().getMask()).get();
+
+        assertThat(outs.getUnseen()).isEqualTo(36 - 5);
+        assertThat(outs.getImproving().stream().allMatch(card -> card.getKind().compareTo(Kind.SIX) >= 0)).isTrue();
+        // the eight, nine and ten of hearts make the flush
+        assertThat(outs.getImproving()).contains(hearts(Kind.EIGHT, Kind.NINE, Kind.TEN));
+    }
+}
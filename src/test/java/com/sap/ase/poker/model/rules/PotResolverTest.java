@@ -0,0 +1,125 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.PlayerFixtures;
+import com.sap.ase.poker.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class PotResolverTest {
+
+    private Player al;
+    private Player pat;
+    private Player alison;
+    private List<Player> seats;
+
+    @BeforeEach
+    void setUp() {
+        al = PlayerFixtures.AL_CAPONE();
+        pat = PlayerFixtures.PAT_GARRETT();
+        alison = PlayerFixtures.ALISON_GARDENER();
+        seats = Arrays.asList(al, pat, alison);
+    }
+
+    @Test
+    void allInPlayer_shouldOnlyWinTheMainPot() {
+        al.bet(20);
+        pat.bet(50);
+        alison.bet(50);
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers(al, pat, alison), seats, 0);
+
+        assertThat(payouts).containsExactly(entry(al, 60), entry(pat, 60), entry(alison, 0));
+    }
+
+    @Test
+    void oddChip_shouldGoToTheFirstSeatedWinner() {
+        al.bet(5);
+        pat.bet(10);
+        alison.bet(10);
+        List<List<Player>> tiers = Collections.singletonList(Arrays.asList(alison, pat));
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers, seats, 0);
+
+        assertThat(payouts).containsExactly(entry(al, 0), entry(pat, 13), entry(alison, 12));
+    }
+
+    @Test
+    void foldedContributions_shouldFillThePotsTheyReached() {
+        al.bet(50);
+        pat.bet(20);
+        alison.bet(30);
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers(pat, alison), seats, 0);
+
+        assertThat(payouts).containsExactly(entry(al, 0), entry(pat, 60), entry(alison, 40));
+    }
+
+    @Test
+    void deadMoney_shouldGoToTheMainPot() {
+        al.bet(10);
+        pat.bet(30);
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers(al, pat), Arrays.asList(al, pat), 7);
+
+        assertThat(payouts).containsExactly(entry(al, 27), entry(pat, 20));
+    }
+
+    @Test
+    void hiLo_shouldSplitThePotBetweenTheBestHighAndTheBestLow() {
+        al.bet(5);
+        pat.bet(10);
+        alison.bet(10);
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers(alison, pat), tiers(pat), seats, 0);
+
+        assertThat(payouts).containsExactly(entry(al, 0), entry(pat, 12), entry(alison, 13));
+    }
+
+    @Test
+    void hiLo_shouldPaySidePotsWithoutAnEligibleLowToTheHigh() {
+        al.bet(20);
+        pat.bet(50);
+        alison.bet(50);
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers(pat, alison, al), tiers(al), seats, 0);
+
+        assertThat(payouts).containsExactly(entry(al, 30), entry(pat, 90), entry(alison, 0));
+    }
+
+    @Test
+    void tiedPlayers_shouldShareEveryPotTheyCovered() {
+        Player carl = new Player("carl", "Carl", 100);
+        al.bet(10);
+        pat.bet(40);
+        alison.bet(25);
+        carl.bet(40);
+        List<List<Player>> tiers = Arrays.asList(Arrays.asList(carl, alison, al), Collections.singletonList(pat));
+
+        Map<Player, Integer> payouts = PotResolver.payouts(tiers, Arrays.asList(al, pat, alison, carl), 3);
+
+        assertThat(payouts).containsExactly(entry(al, 15), entry(pat, 0), entry(alison, 37), entry(carl, 66));
+    }
+
+    @Test
+    void noPlayers_shouldPayNothing() {
+        assertThat(PotResolver.payouts(Collections.emptyList(), seats, 10).values()).containsOnly(0);
+    }
+
+    // one tier per player, best first
+    private static List<List<Player>> tiers(Player... ranking) {
+        List<List<Player>> tiers = new ArrayList<>();
+        for (Player player : ranking) {
+            tiers.add(Collections.singletonList(player));
+        }
+        return tiers;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.fixtures.HandFixtures;
+import com.sap.ase.poker.model.GameVariant;
+import com.sap.ase.poker.model.deck.CardSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShadowEvaluationTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final HandRules handRules = new HandRules();
+    private final long cards = HandEvaluator.toMask(HandFixtures.fullHouseWithAces());
+    private final long holeCards = Long.lowestOneBit(cards) | Long.highestOneBit(cards);
+    private final BoardState board = BoardState.of(CardSet.ofMask(cards & ~holeCards));
+    private final int strength = handRules.evaluate(board, holeCards);
+
+    @Test
+    void whenStrengthsAgree_sample_shouldNotCountAMismatch() {
+        ShadowEvaluation underTest = new ShadowEvaluation(0.5, DIRECT, () -> 0.2);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards}, new int[]{strength});
+
+        assertThat(underTest.getSamples()).isEqualTo(1);
+        assertThat(underTest.getMismatches()).isZero();
+    }
+
+    @Test
+    void whenStrengthsDisagree_sample_shouldCountAMismatch() {
+        ShadowEvaluation underTest = new ShadowEvaluation(0.5, DIRECT, () -> 0.2);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards, holeCards}, new int[]{strength, strength + 1});
+
+        assertThat(underTest.getMismatches()).isEqualTo(1);
+    }
+
+    @Test
+    void whenReferenceFails_sample_shouldCountAMismatch() {
+        ShadowEvaluation underTest = new ShadowEvaluation(1, DIRECT, () -> 0);
+
+        underTest.sample(GameVariant.HOLDEM, BoardState.EMPTY, new long[]{holeCards}, new int[]{strength});
+
+        assertThat(underTest.getMismatches()).isEqualTo(1);
+    }
+
+    @Test
+    void inHiLo_sample_shouldCompareTheHighStrengths() {
+        ShadowEvaluation underTest = new ShadowEvaluation(1, DIRECT, () -> 0);
+        BoardState omahaBoard = BoardState.of(CardSet.ofMask(1L | 1L << 14 | 1L << 28 | 1L << 42 | 1L << 5));
+        long omahaHoleCards = 1L << 1 | 1L << 2 | 1L << 17 | 1L << 30;
+        int high = OmahaEvaluator.high(handRules.evaluateHiLo(omahaBoard, omahaHoleCards));
+
+        underTest.sample(GameVariant.OMAHA_HI_LO, omahaBoard, new long[]{omahaHoleCards}, new int[]{high});
+
+        assertThat(underTest.getSamples()).isEqualTo(1);
+        assertThat(underTest.getMismatches()).isZero();
+    }
+
+    @Test
+    void outsideOfTheRate_sample_shouldSkipTheShowdown() {
+        ShadowEvaluation underTest = new ShadowEvaluation(0.5, DIRECT, () -> 0.5);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards}, new int[]{strength + 1});
+
+        assertThat(underTest.getSamples()).isZero();
+        assertThat(underTest.getMismatches()).isZero();
+    }
+
+    @Test
+    void whenQueueIsFull_sample_shouldDropTheShowdown() {
+        ShadowEvaluation underTest = new ShadowEvaluation(1, command -> {
+            throw new RejectedExecutionException();
+        }, () -> 0);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards}, new int[]{strength + 1});
+
+        assertThat(underTest.getDropped()).isEqualTo(1);
+        assertThat(underTest.getMismatches()).isZero();
+    }
+
+    @Test
+    void whenRateIsZero_shouldBeDisabled() {
+        ShadowEvaluation underTest = new ShadowEvaluation(new BitmaskHandEvaluator(), 0, 16);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards}, new int[]{strength + 1});
+
+        assertThat(underTest.isEnabled()).isFalse();
+        assertThat(underTest.getSamples()).isZero();
+    }
+
+    @Test
+    void withFullRate_shouldCompareOnABackgroundThread() throws InterruptedException {
+        ShadowEvaluation underTest = new ShadowEvaluation(new BitmaskHandEvaluator(), 1, 16);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards}, new int[]{strength + 1});
+
+        for (int i = 0; i < 500 && underTest.getMismatches() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(underTest.isEnabled()).isTrue();
+        assertThat(underTest.getMismatches()).isEqualTo(1);
+    }
+
+    @Test
+    void inShortDeck_sample_shouldCompareWithTheShortDeckRanking() {
+        ShadowEvaluation underTest = new ShadowEvaluation(1, DIRECT, () -> 0);
+        // A-6-7-8-9 of one suit on the board, a straight flush only in the short deck
+        long suited = 0xFL << 4 | 1L << 12;
+        BoardState shortDeckBoard = BoardState.of(CardSet.ofMask(suited));
+        long straightFlushHoleCards = 1L << 10 | 1L << 23;
+        HandEvaluator shortDeck = handRules.getEvaluator(GameVariant.SHORT_DECK);
+        int strength = shortDeck.evaluate(suited | straightFlushHoleCards);
+
+        underTest.sample(GameVariant.SHORT_DECK, shortDeckBoard, new long[]{straightFlushHoleCards}, new int[]{strength});
+
+        assertThat(shortDeck.category(strength)).isEqualTo(HandEvaluator.STRAIGHT_FLUSH);
+        assertThat(underTest.getSamples()).isEqualTo(1);
+        assertThat(underTest.getMismatches()).isZero();
+    }
+
+    @Test
+    void withTheReferenceAsActiveEvaluator_shouldBeDisabled() {
+        ShadowEvaluation underTest = new ShadowEvaluation(new HandClassEvaluator(), 1, 16);
+
+        underTest.sample(GameVariant.HOLDEM, board, new long[]{holeCards}, new int[]{strength + 1});
+
+        assertThat(underTest.isEnabled()).isFalse();
+        assertThat(underTest.getSamples()).isZero();
+    }
+
+    @Test
+    void constructor_shouldRejectRatesOutsideOfZeroToOne() {
+        assertThatThrownBy(() -> new ShadowEvaluation(1.5, DIRECT, () -> 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShadowEvaluation(-0.1, DIRECT, () -> 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
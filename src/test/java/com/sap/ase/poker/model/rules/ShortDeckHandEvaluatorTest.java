@@ -0,0 +1,98 @@
+package com.sap.ase.poker.model.rules;
+
+import com.sap.ase.poker.model.GameVariant;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShortDeckHandEvaluatorTest {
+
+    private final ShortDeckHandEvaluator underTest = new ShortDeckHandEvaluator();
+
+    @Test
+    void aceToNine_shouldBeTheLowestStraight() {
+        int aceToNine = underTest.evaluate(mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.NINE, Suit.CLUBS),
+                Card.of(Kind.EIGHT, Suit.CLUBS), Card.of(Kind.SEVEN, Suit.SPADES), Card.of(Kind.SIX, Suit.DIAMONDS),
+                Card.of(Kind.SIX, Suit.HEARTS), Card.of(Kind.SIX, Suit.SPADES)));
+        int sixToTen = underTest.evaluate(mask(Card.of(Kind.TEN, Suit.HEARTS), Card.of(Kind.NINE, Suit.CLUBS),
+                Card.of(Kind.EIGHT, Suit.CLUBS), Card.of(Kind.SEVEN, Suit.SPADES), Card.of(Kind.SIX, Suit.DIAMONDS)));
+        int trips = underTest.evaluate(mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS),
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.QUEEN, Suit.DIAMONDS)));
+
+        assertThat(underTest.category(aceToNine)).isEqualTo(HandEvaluator.STRAIGHT);
+        assertThat(aceToNine).isGreaterThan(trips).isLessThan(sixToTen);
+    }
+
+    @Test
+    void flush_shouldBeatAFullHouse() {
+        int flush = underTest.evaluate(mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.JACK, Suit.HEARTS),
+                Card.of(Kind.NINE, Suit.HEARTS), Card.of(Kind.SEVEN, Suit.HEARTS), Card.of(Kind.SIX, Suit.HEARTS),
+                Card.of(Kind.SIX, Suit.CLUBS), Card.of(Kind.SIX, Suit.SPADES)));
+        int fullHouse = underTest.evaluate(mask(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS),
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.KING, Suit.DIAMONDS)));
+        int quads = underTest.evaluate(mask(Card.of(Kind.SIX, Suit.HEARTS), Card.of(Kind.SIX, Suit.CLUBS),
+                Card.of(Kind.SIX, Suit.SPADES), Card.of(Kind.SIX, Suit.DIAMONDS), Card.of(Kind.SEVEN, Suit.DIAMONDS)));
+
+        assertThat(underTest.category(flush)).isEqualTo(HandEvaluator.FLUSH);
+        assertThat(underTest.category(fullHouse)).isEqualTo(HandEvaluator.FULL_HOUSE);
+        assertThat(flush).isGreaterThan(fullHouse).isLessThan(quads);
+    }
+
+    @Test
+    void aceToNineOfOneSuit_shouldBeAStraightFlush() {
+        int straightFlush = underTest.evaluate(mask(Card.of(Kind.ACE, Suit.CLUBS), Card.of(Kind.NINE, Suit.CLUBS),
+                Card.of(Kind.EIGHT, Suit.CLUBS), Card.of(Kind.SEVEN, Suit.CLUBS), Card.of(Kind.SIX, Suit.CLUBS)));
+
+        assertThat(underTest.category(straightFlush)).isEqualTo(HandEvaluator.STRAIGHT_FLUSH);
+    }
+
+    @Test
+    void evaluate_shouldMatchTheShortDeckHands() {
+        HandRules handRules = new HandRules();
+        Random random = new Random(21);
+        for (int hand = 0; hand < 2000; hand++) {
+            long cards = 0;
+            while (Long.bitCount(cards) < 7) {
+                cards |= 1L << Card.of(Kind.values()[4 + random.nextInt(9)], Suit.values()[random.nextInt(4)]).getId();
+            }
+            int strength = underTest.evaluate(cards);
+
+            assertThat(handRules.findBestHand(GameVariant.SHORT_DECK, BoardState.EMPTY, cards).getRank())
+                    .isEqualTo(underTest.category(strength));
+            assertThat(strength).isEqualTo(bestOfFive(cards));
+        }
+    }
+
+    @Test
+    void whenCardsAreNotInTheShortDeck_evaluate_shouldReturnException() {
+        long withATwo = mask(Card.of(Kind.TWO, Suit.HEARTS), Card.of(Kind.NINE, Suit.CLUBS),
+                Card.of(Kind.EIGHT, Suit.CLUBS), Card.of(Kind.SEVEN, Suit.SPADES), Card.of(Kind.SIX, Suit.DIAMONDS));
+
+        assertThatThrownBy(() -> underTest.evaluate(withATwo)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.evaluate(withATwo & withATwo - 1))
+                .isInstanceOf(InvalidAmountOfCardsException.class);
+    }
+
+    // the best strength of any five of the cards
+    private int bestOfFive(long cards) {
+        int best = -1;
+        for (long first = cards; first != 0; first &= first - 1) {
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                long five = cards & ~Long.lowestOneBit(first) & ~Long.lowestOneBit(second);
+                best = Math.max(best, underTest.evaluate(five));
+            }
+        }
+        return best;
+    }
+
+    private static long mask(Card... cards) {
+        return CardSet.of(cards).getMask();
+    }
+}
@@ -2,18 +2,25 @@ package com.sap.ase.poker.model.rules;
 
 import com.sap.ase.poker.fixtures.HandFixtures;
 import com.sap.ase.poker.fixtures.PlayerFixtures;
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.Player;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
 import com.sap.ase.poker.model.hands.HighCard;
+import com.sap.ase.poker.model.hands.Pair;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +29,36 @@ class WinnerRulesTest {
 
     WinnerRules underTest = new WinnerRules(new HandRules());
 
+    @Test
+    void findWinners_shouldOfferTheShowdownToTheShadowEvaluation() {
+        ShadowEvaluation shadowEvaluation = Mockito.mock(ShadowEvaluation.class);
+        WinnerRules shadowed = new WinnerRules(new HandRules(), shadowEvaluation);
+        Player al = PlayerFixtures.AL_CAPONE();
+        List<Card> fullHouse = HandFixtures.fullHouseWithAces();
+        al.setHandCards(CardSet.of(fullHouse.subList(0, 2)));
+        BoardState board = BoardState.of(CardSet.of(fullHouse.subList(2, fullHouse.size())));
+
+        shadowed.findWinners(board, Arrays.asList(al));
+
+        Mockito.verify(shadowEvaluation).sample(GameVariant.HOLDEM, board, new long[]{al.getHandCards().getMask()},
+                new int[]{new HandRules().evaluate(HandEvaluator.toMask(fullHouse))});
+    }
+
+    @Test
+    void findWinners_shouldResolveTheWinningHandWithTheRanking() {
+        HandRules handRules = Mockito.spy(new HandRules());
+        Player al = PlayerFixtures.AL_CAPONE();
+        List<Card> fullHouse = HandFixtures.fullHouseWithAces();
+        al.setHandCards(CardSet.of(fullHouse.subList(0, 2)));
+        BoardState board = BoardState.of(CardSet.of(fullHouse.subList(2, fullHouse.size())));
+
+        Winners winners = new WinnerRules(handRules).findWinners(board, Arrays.asList(al));
+
+        Mockito.verify(handRules).findBestHand(GameVariant.HOLDEM, board, al.getHandCards().getMask());
+        assertThat(winners.getWinningHand()).isPresent();
+        assertThat(winners.getWinningHand().get().getCards()).hasSize(5);
+    }
+
     @Test
     void findWinners_shouldCombineCommunityCardsWithHandCards() {
         Player alWithHighCard = PlayerFixtures.AL_CAPONE();
@@ -29,11 +66,11 @@ class WinnerRulesTest {
         List<Card> highCardOfKing = HandFixtures.highCardOfKing();
         List<Card> handCards = highCardOfKing.subList(0, 2);
         List<Card> communityCards = highCardOfKing.subList(2, highCardOfKing.size());
-        alWithHighCard.setHandCards(handCards);
+        alWithHighCard.setHandCards(CardSet.of(handCards));
 
         final List<Player> players = Arrays.asList(alWithHighCard);
         Winners winners =
-                underTest.findWinners(communityCards, players);
+                underTest.findWinners(CardSet.of(communityCards), players);
 
         assertThat(winners.getWinners()).contains(alWithHighCard);
         if (winners.getWinningHand().isPresent()) {
@@ -48,12 +85,12 @@ class WinnerRulesTest {
         Player alWithHighCard = PlayerFixtures.AL_CAPONE();
         Player patWithPair = PlayerFixtures.PAT_GARRETT();
 
-        alWithHighCard.setHandCards(HandFixtures.highCardOfKing());
-        patWithPair.setHandCards(HandFixtures.pairOfSevens());
+        alWithHighCard.setHandCards(CardSet.of(HandFixtures.highCardOfKing()));
+        patWithPair.setHandCards(CardSet.of(HandFixtures.pairOfSevens()));
 
         final List<Player> players = Arrays.asList(patWithPair, alWithHighCard);
         Winners winners = underTest.findWinners(
-                Collections.emptyList(), players);
+                CardSet.EMPTY, players);
 
         assertThat(winners.getWinners()).contains(patWithPair);
         assertThat(winners.getWinners()).doesNotContain(alWithHighCard);
@@ -64,13 +101,13 @@ class WinnerRulesTest {
         Player alWithFourOfAKind = PlayerFixtures.AL_CAPONE();
         Player patWithPair = PlayerFixtures.PAT_GARRETT();
 
-        alWithFourOfAKind.setHandCards(HandFixtures.fourOfAKindOfSevens());
-        patWithPair.setHandCards(HandFixtures.pairOfSevens());
+        alWithFourOfAKind.setHandCards(CardSet.of(HandFixtures.fourOfAKindOfSevens()));
+        patWithPair.setHandCards(CardSet.of(HandFixtures.pairOfSevens()));
 
         final List<Player> players = Arrays.asList(patWithPair, alWithFourOfAKind);
         Winners winners =
                 underTest.findWinners(
-                        Collections.emptyList(), players);
+                        CardSet.EMPTY, players);
 
         assertThat(winners.getWinners()).contains(alWithFourOfAKind);
         assertThat(winners.getWinners()).doesNotContain(patWithPair);
@@ -81,14 +118,17 @@ class WinnerRulesTest {
         Player alWithPair = PlayerFixtures.AL_CAPONE();
         Player patWithPair = PlayerFixtures.PAT_GARRETT();
 
-        alWithPair.setHandCards(HandFixtures.pairOfRedJacks());
-        patWithPair.setHandCards(HandFixtures.pairOfBlackJacks());
+        alWithPair.setHandCards(CardSet.of(HandFixtures.pairOfRedJacks()));
+        patWithPair.setHandCards(CardSet.of(HandFixtures.pairOfBlackJacks()));
 
         final List<Player> players = Arrays.asList(patWithPair, alWithPair);
         Winners winners = underTest.findWinners(
-                Collections.emptyList(), players);
+                CardSet.EMPTY, players);
 
         assertThat(winners.getWinners()).contains(alWithPair, patWithPair);
+        assertThat(winners.getHandRanks())
+                .containsEntry(alWithPair.getId(), 2)
+                .containsEntry(patWithPair.getId(), 2);
     }
 
     @Test
@@ -96,13 +136,13 @@ class WinnerRulesTest {
         Player alWithHighCardAce = PlayerFixtures.AL_CAPONE();
         Player patWithHighCardKing = PlayerFixtures.PAT_GARRETT();
 
-        alWithHighCardAce.setHandCards(HandFixtures.highCardOfAce());
-        patWithHighCardKing.setHandCards(HandFixtures.highCardOfKing());
+        alWithHighCardAce.setHandCards(CardSet.of(HandFixtures.highCardOfAce()));
+        patWithHighCardKing.setHandCards(CardSet.of(HandFixtures.highCardOfKing()));
 
         final List<Player> players = Arrays.asList(alWithHighCardAce, patWithHighCardKing);
         Winners winners =
                 underTest.findWinners(
-                        Collections.emptyList(), players);
+                        CardSet.EMPTY, players);
 
         assertThat(winners.getWinners()).contains(alWithHighCardAce);
         assertThat(winners.getWinners()).doesNotContain(patWithHighCardKing);
@@ -113,13 +153,13 @@ class WinnerRulesTest {
         Player alWithPairOfSevens = PlayerFixtures.AL_CAPONE();
         Player patWithPairOfNines = PlayerFixtures.PAT_GARRETT();
 
-        alWithPairOfSevens.setHandCards(HandFixtures.pairOfSevens());
-        patWithPairOfNines.setHandCards(HandFixtures.pairOfNines());
+        alWithPairOfSevens.setHandCards(CardSet.of(HandFixtures.pairOfSevens()));
+        patWithPairOfNines.setHandCards(CardSet.of(HandFixtures.pairOfNines()));
 
         final List<Player> players = Arrays.asList(patWithPairOfNines, alWithPairOfSevens);
         Winners winners =
                 underTest.findWinners(
-                        Collections.emptyList(), players);
+                        CardSet.EMPTY, players);
 
         assertThat(winners.getWinners()).contains(patWithPairOfNines);
         assertThat(winners.getWinners()).doesNotContain(alWithPairOfSevens);
@@ -130,15 +170,118 @@ class WinnerRulesTest {
         Player alWithThreeAces = PlayerFixtures.AL_CAPONE();
         Player patWithFlush = PlayerFixtures.PAT_GARRETT();
 
-        alWithThreeAces.setHandCards(HandFixtures.threeOfAKindOfAces());
-        patWithFlush.setHandCards(HandFixtures.FlushWithKing());
+        alWithThreeAces.setHandCards(CardSet.of(HandFixtures.threeOfAKindOfAces()));
+        patWithFlush.setHandCards(CardSet.of(HandFixtures.FlushWithKing()));
 
         final List<Player> players = Arrays.asList(patWithFlush, alWithThreeAces);
         Winners winners =
                 underTest.findWinners(
-                        Collections.emptyList(), players);
+                        CardSet.EMPTY, players);
 
         assertThat(winners.getWinners()).contains(patWithFlush);
         assertThat(winners.getWinners()).doesNotContain(alWithThreeAces);
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenSamePairsWithDifferentKickers_findWinners_shouldReturnPlayerWithHigherKicker() {
+        Player alWithKingKicker = PlayerFixtures.AL_CAPONE();
+        Player patWithQueenKicker = PlayerFixtures.PAT_GARRETT();
+
+        List<Card> communityCards = Arrays.asList(
+                new Card(Kind.JACK, Suit.DIAMONDS),
+                new Card(Kind.JACK, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.CLUBS),
+                new Card(Kind.FOUR, Suit.SPADES),
+                new Card(Kind.TWO, Suit.DIAMONDS));
+        alWithKingKicker.setHandCards(CardSet.of(Arrays.asList(new Card(Kind.KING, Suit.CLUBS), new Card(Kind.THREE, Suit.CLUBS))));
+        patWithQueenKicker.setHandCards(CardSet.of(Arrays.asList(new Card(Kind.QUEEN, Suit.CLUBS), new Card(Kind.TEN, Suit.CLUBS))));
+
+        Winners winners = underTest.findWinners(CardSet.of(communityCards), Arrays.asList(patWithQueenKicker, alWithKingKicker));
+
+        assertThat(winners.getWinners()).containsExactly(alWithKingKicker);
+        assertThat(winners.getWinningHand().get()).isInstanceOf(Pair.class);
+        assertThat(winners.getWinningHand().get().getCards()).contains(new Card(Kind.KING, Suit.CLUBS));
+    }
+
+    @Test
+    void rankHands_shouldRankTheHandOfEveryPlayerOnTheFlop() {
+        Player alWithPair = PlayerFixtures.AL_CAPONE();
+        Player patWithHighCard = PlayerFixtures.PAT_GARRETT();
+        Player alisonWithoutCards = PlayerFixtures.ALISON_GARDENER();
+        CardSet flop = CardSet.of(new Card(Kind.JACK, Suit.DIAMONDS), new Card(Kind.SEVEN, Suit.CLUBS),
+                new Card(Kind.FOUR, Suit.SPADES));
+        alWithPair.setHandCards(CardSet.of(new Card(Kind.JACK, Suit.CLUBS), new Card(Kind.THREE, Suit.CLUBS)));
+        patWithHighCard.setHandCards(CardSet.of(new Card(Kind.QUEEN, Suit.CLUBS), new Card(Kind.TEN, Suit.CLUBS)));
+
+        Map<String, Integer> handRanks = underTest.rankHands(flop,
+                Arrays.asList(alWithPair, patWithHighCard, alisonWithoutCards));
+
+        assertThat(handRanks).containsOnly(entry(alWithPair.getId(), Pair.PAIR_RANK),
+                entry(patWithHighCard.getId(), new HighCard(HandFixtures.highCardOfKing()).getRank()));
+    }
+
+    @Test
+    void findWinners_shouldRankEveryPlayerIntoTiersOfEqualHands() {
+        Player alWithKingKicker = PlayerFixtures.AL_CAPONE();
+        Player patWithKingKicker = PlayerFixtures.PAT_GARRETT();
+        Player alisonWithSet = PlayerFixtures.ALISON_GARDENER();
+        CardSet communityCards = CardSet.of(new Card(Kind.JACK, Suit.DIAMONDS), new Card(Kind.JACK, Suit.HEARTS),
+                new Card(Kind.SEVEN, Suit.CLUBS), new Card(Kind.FOUR, Suit.SPADES), new Card(Kind.TWO, Suit.DIAMONDS));
+        alWithKingKicker.setHandCards(CardSet.of(new Card(Kind.KING, Suit.CLUBS), new Card(Kind.THREE, Suit.CLUBS)));
+        patWithKingKicker.setHandCards(CardSet.of(new Card(Kind.KING, Suit.HEARTS), new Card(Kind.THREE, Suit.HEARTS)));
+        alisonWithSet.setHandCards(CardSet.of(new Card(Kind.JACK, Suit.CLUBS), new Card(Kind.TEN, Suit.CLUBS)));
+
+        Winners winners = underTest.findWinners(communityCards,
+                Arrays.asList(alWithKingKicker, alisonWithSet, patWithKingKicker));
+
+        assertThat(winners.getTiers()).containsExactly(Arrays.asList(alisonWithSet),
+                Arrays.asList(alWithKingKicker, patWithKingKicker));
+        assertThat(winners.getWinners()).containsExactly(alisonWithSet);
+        assertThat(underTest.findWinners(communityCards, Arrays.asList()).getWinners()).isEmpty();
+    }
+
+    @Test
+    void inOmaha_findWinners_shouldUseExactlyTwoHoleCards() {
+        Player alWithOneHeart = PlayerFixtures.AL_CAPONE();
+        Player patWithTwoPairs = PlayerFixtures.PAT_GARRETT();
+        Player alisonWithoutCards = PlayerFixtures.ALISON_GARDENER();
+        BoardState board = BoardState.of(CardSet.of(new Card(Kind.TWO, Suit.HEARTS), new Card(Kind.FIVE, Suit.HEARTS),
+                new Card(Kind.EIGHT, Suit.HEARTS), new Card(Kind.JACK, Suit.HEARTS), new Card(Kind.KING, Suit.CLUBS)));
+        alWithOneHeart.setHandCards(CardSet.of(new Card(Kind.ACE, Suit.HEARTS), new Card(Kind.ACE, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.SPADES), new Card(Kind.FOUR, Suit.DIAMONDS)));
+        patWithTwoPairs.setHandCards(CardSet.of(new Card(Kind.KING, Suit.SPADES), new Card(Kind.JACK, Suit.CLUBS),
+                new Card(Kind.THREE, Suit.CLUBS), new Card(Kind.FOUR, Suit.CLUBS)));
+
+        Winners winners = underTest.findWinners(GameVariant.OMAHA, board, Arrays.asList(alWithOneHeart, patWithTwoPairs));
+        Map<String, Integer> handRanks = underTest.rankHands(GameVariant.OMAHA, board,
+                Arrays.asList(alWithOneHeart, patWithTwoPairs, alisonWithoutCards));
+
+        assertThat(winners.getWinners()).containsExactly(patWithTwoPairs);
+        assertThat(winners.getWinningHand().get().getCards()).hasSize(5)
+                .contains(new Card(Kind.KING, Suit.SPADES), new Card(Kind.JACK, Suit.CLUBS));
+        assertThat(handRanks).containsOnly(entry(alWithOneHeart.getId(), Pair.PAIR_RANK),
+                entry(patWithTwoPairs.getId(), HandEvaluator.TWO_PAIRS));
+    }
+
+    @Test
+    void inOmahaHiLo_findWinners_shouldRankTheHighsAndTheLows() {
+        Player alWithLow = PlayerFixtures.AL_CAPONE();
+        Player patWithTrips = PlayerFixtures.PAT_GARRETT();
+        Player alisonWithoutLow = PlayerFixtures.ALISON_GARDENER();
+        BoardState board = BoardState.of(CardSet.of(new Card(Kind.TWO, Suit.HEARTS), new Card(Kind.FIVE, Suit.DIAMONDS),
+                new Card(Kind.EIGHT, Suit.SPADES), new Card(Kind.KING, Suit.CLUBS), new Card(Kind.QUEEN, Suit.HEARTS)));
+        alWithLow.setHandCards(CardSet.of(new Card(Kind.ACE, Suit.CLUBS), new Card(Kind.THREE, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.SPADES), new Card(Kind.NINE, Suit.DIAMONDS)));
+        patWithTrips.setHandCards(CardSet.of(new Card(Kind.KING, Suit.SPADES), new Card(Kind.KING, Suit.DIAMONDS),
+                new Card(Kind.FOUR, Suit.SPADES), new Card(Kind.SEVEN, Suit.CLUBS)));
+        alisonWithoutLow.setHandCards(CardSet.of(new Card(Kind.JACK, Suit.SPADES), new Card(Kind.TEN, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.HEARTS), new Card(Kind.NINE, Suit.CLUBS)));
+
+        Winners winners = underTest.findWinners(GameVariant.OMAHA_HI_LO, board,
+                Arrays.asList(alWithLow, patWithTrips, alisonWithoutLow));
+
+        assertThat(winners.getWinners()).containsExactly(patWithTrips);
+        assertThat(winners.getLowTiers()).containsExactly(Arrays.asList(alWithLow), Arrays.asList(patWithTrips));
+        assertThat(underTest.findWinners(GameVariant.OMAHA, board, Arrays.asList(alWithLow)).getLowTiers()).isEmpty();
+    }
+}
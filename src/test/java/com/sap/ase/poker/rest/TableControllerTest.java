@@ -5,7 +5,15 @@ import com.sap.ase.poker.data.PlayerNamesRepository;
 import com.sap.ase.poker.dto.BetRequestDto;
 import com.sap.ase.poker.dto.GetTableResponseDto;
 import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.GameVariant;
 import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardSet;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.equity.PreflopEquities;
+import com.sap.ase.poker.model.hands.Pair;
+import com.sap.ase.poker.model.rules.Outs;
 import com.sap.ase.poker.service.TableService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -19,6 +27,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.security.Principal;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -48,6 +61,9 @@ public class TableControllerTest {
     @MockBean
     PlayerNamesRepository playerNamesRepository;
 
+    @MockBean
+    PreflopEquities preflopEquities;
+
     @Test
     void getTable_returnsGetTableResponseDtoWithTableStatus() throws Exception {
         Principal mockPrincipal = Mockito.mock(Principal.class);
@@ -57,6 +73,9 @@ public class TableControllerTest {
                 new Player(ALICE_ID, "Alice", 100),
                 new Player("bob", "Bob", 100)));
         Mockito.when(tableService.getState()).thenReturn(GameState.FLOP);
+        Mockito.when(tableService.getPlayerCards(ALICE_ID)).thenReturn(CardSet.EMPTY);
+        Mockito.when(tableService.getCommunityCards()).thenReturn(CardSet.EMPTY);
+        Mockito.when(tableService.getHandRanks()).thenReturn(Collections.singletonMap(ALICE_ID, Pair.PAIR_RANK));
 
         MockHttpServletResponse response = mockMvc.perform(get(PATH).principal(mockPrincipal))
                 .andExpect(status().isOk()).andReturn().getResponse();
@@ -65,6 +84,77 @@ public class TableControllerTest {
 
         assertThat(result.getPlayers()).hasSize(2);
         assertThat(result.getState()).isEqualTo(GameState.FLOP.getValue());
+        assertThat(result.getHandRank()).isEqualTo(Pair.PAIR_RANK);
+        assertThat(result.getOuts()).isNull();
+    }
+
+    @Test
+    void getTable_withOuts_returnsTheOutsOfThePlayer() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn(ALICE_ID);
+        Mockito.when(tableService.getState()).thenReturn(GameState.FLOP);
+        Mockito.when(tableService.getPlayerCards(ALICE_ID)).thenReturn(CardSet.EMPTY);
+        Mockito.when(tableService.getCommunityCards()).thenReturn(CardSet.EMPTY);
+        Mockito.when(tableService.getOuts(ALICE_ID)).thenReturn(Optional.of(
+                new Outs(CardSet.of(Card.of(Kind.ACE, Suit.HEARTS)), 47)));
+
+        MockHttpServletResponse response = mockMvc.perform(get(PATH).param("outs", "true").principal(mockPrincipal))
+                .andExpect(status().isOk()).andReturn().getResponse();
+
+        GetTableResponseDto result = objectMapper.readValue(response.getContentAsString(), GetTableResponseDto.class);
+
+        assertThat(result.getOuts().getImproving()).hasSize(1);
+        assertThat(result.getOuts().getOdds()).isEqualTo(1 / 47.0);
+    }
+
+    @Test
+    void getTable_withEquity_returnsThePreflopEquityOfThePlayer() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn(ALICE_ID);
+        CardSet aces = CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS));
+        Mockito.when(tableService.getState()).thenReturn(GameState.PRE_FLOP);
+        Mockito.when(tableService.getVariant()).thenReturn(GameVariant.HOLDEM);
+        Mockito.when(tableService.getPlayerCards(ALICE_ID)).thenReturn(aces);
+        Mockito.when(tableService.getCommunityCards()).thenReturn(CardSet.EMPTY);
+        Mockito.when(tableService.getActivePlayers()).thenReturn(Arrays.asList(
+                new Player(ALICE_ID, "Alice", 100), new Player("bob", "Bob", 100), new Player("carl", "Carl", 100)));
+        Mockito.when(preflopEquities.equity(aces, 2)).thenReturn(OptionalDouble.of(0.73));
+
+        GetTableResponseDto result = getTable(mockPrincipal);
+
+        assertThat(result.getPreflopEquity()).isEqualTo(0.73);
+        Mockito.when(preflopEquities.equity(aces, 2)).thenReturn(OptionalDouble.empty());
+        assertThat(getTable(mockPrincipal).getPreflopEquity()).isNull();
+        Mockito.when(tableService.getState()).thenReturn(GameState.FLOP);
+        assertThat(getTable(mockPrincipal).getPreflopEquity()).isNull();
+        Mockito.verify(preflopEquities, Mockito.times(2)).equity(aces, 2);
+    }
+
+    @Test
+    void getTable_whilePlayersAreAllIn_returnsTheEquityOfEveryActivePlayer() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn(ALICE_ID);
+        Mockito.when(tableService.getState()).thenReturn(GameState.TURN);
+        Mockito.when(tableService.getPlayerCards(ALICE_ID)).thenReturn(CardSet.EMPTY);
+        Mockito.when(tableService.getCommunityCards()).thenReturn(CardSet.EMPTY);
+        Map<String, Double> equities = new LinkedHashMap<>();
+        equities.put(ALICE_ID, 0.75);
+        equities.put("bob", 0.25);
+        Mockito.when(tableService.getAllInEquities()).thenReturn(equities);
+
+        MockHttpServletResponse response = mockMvc.perform(get(PATH).principal(mockPrincipal))
+                .andExpect(status().isOk()).andReturn().getResponse();
+
+        GetTableResponseDto result = objectMapper.readValue(response.getContentAsString(), GetTableResponseDto.class);
+        assertThat(result.getAllInEquities()).isEqualTo(equities);
+        Mockito.when(tableService.getAllInEquities()).thenReturn(Collections.emptyMap());
+        assertThat(getTable(mockPrincipal).getAllInEquities()).isEmpty();
+    }
+
+    private GetTableResponseDto getTable(Principal principal) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(PATH).param("equity", "true").principal(principal))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        return objectMapper.readValue(response.getContentAsString(), GetTableResponseDto.class);
     }
     @Test
     void joinTable_adsValidPlayerToTable() throws Exception {
@@ -89,6 +179,16 @@ public class TableControllerTest {
         Mockito.verify(tableService,Mockito.times(1)).start();
     }
 
+    @Test
+    void changeVariant_setsTheVariantOfTheNextHands() throws Exception {
+        mockMvc.perform(post(PATH + "/variant").param("name", "omaha"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post(PATH + "/variant").param("name", "stud"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(tableService, Mockito.times(1)).setVariant(GameVariant.OMAHA);
+    }
+
     @Test
     void placeBet_withRaise_callsTableServiceWithCorrectAmount() throws Exception {
         Principal mockPrincipal = Mockito.mock(Principal.class);
@@ -2,7 +2,12 @@ package com.sap.ase.poker.service;
 
 import com.sap.ase.poker.model.*;
 import com.sap.ase.poker.model.deck.*;
+import com.sap.ase.poker.model.equity.Equity;
+import com.sap.ase.poker.model.equity.EquityCalculator;
+import com.sap.ase.poker.model.equity.ExactEquityCalculator;
+import com.sap.ase.poker.model.rules.BoardState;
 import com.sap.ase.poker.model.rules.HandRules;
+import com.sap.ase.poker.model.rules.OutsCalculator;
 import com.sap.ase.poker.model.rules.WinnerRules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,7 @@ import java.io.PrintStream;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
@@ -51,18 +57,14 @@ public class TableServiceTest {
 
     public void setHands() {
         for(Player player: tableService.getPlayers()){
-            List<Card> handCards = new ArrayList<>();
-            handCards.add(deck.draw());
-            handCards.add(deck.draw());
-
-            player.setHandCards(handCards);
+            player.setHandCards(deck.deal(2));
             player.setActive();
         }
     }
 
     public void addCommunityCards(int n) {
         for(int i=0; i<n; i++){
-            tableService.communityCards.add(deck.draw());
+            tableService.communityCards = tableService.communityCards.with(deck.draw());
         }
     }
 
@@ -351,14 +353,14 @@ public class TableServiceTest {
     }
 
     @Test
-    void testDistributeWinnings() {
+    void testResolvePots() {
         addPlayers();
         setActivePlayers();
 
         tableService.getPlayers().get(0).setInactive();
         tableService.pot = 10;
 
-        tableService.distributeWinnings();
+        tableService.resolvePots();
 
         assertThat(tableService.getPlayers().get(1).getCash()).isEqualTo(110);
         assertThat(tableService.pot).isEqualTo(0);
@@ -369,6 +371,35 @@ public class TableServiceTest {
         tableService.state = GameState.ENDED;
         tableService.performAction(Action.CHECK.getValue(),0);
     }
+    @Test
+    void potsShouldBeResolvedOnceWhenTheRiverIsChecked() {
+        addPlayers();
+        tableService.start();
+        TableService spied = Mockito.spy(tableService);
+
+        for (int check = 0; check < 8; check++) {
+            spied.performAction(Action.CHECK.getValue(), 0);
+        }
+
+        assertThat(spied.getState()).isEqualTo(GameState.ENDED);
+        Mockito.verify(spied, Mockito.times(1)).resolvePots();
+        assertThat(spied.getPlayers()).extracting(Player::getCash).containsOnly(INITIAL_CASH);
+    }
+
+    @Test
+    void potsShouldBeResolvedOnceWhenAllButOnePlayerFolded() {
+        addPlayers();
+        tableService.start();
+        TableService spied = Mockito.spy(tableService);
+
+        spied.performAction(Action.RAISE.getValue(), 10);
+        spied.performAction(Action.FOLD.getValue(), 0);
+
+        assertThat(spied.getState()).isEqualTo(GameState.ENDED);
+        Mockito.verify(spied, Mockito.times(1)).resolvePots();
+        assertThat(spied.getPlayers()).extracting(Player::getCash).containsExactly(INITIAL_CASH, INITIAL_CASH);
+    }
+
     @Test
     void testPerformCheck() {
         addPlayers();
@@ -472,4 +503,351 @@ public class TableServiceTest {
 
         assertThat(tableService.getWinner().get()).isEqualTo(tableService.getPlayers().get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getWinningCardsShouldReturnTheBestFiveCardsAfterShowdown() {
+        addPlayers();
+        setActivePlayers();
+        setHands();
+        addCommunityCards(5);
+        tableService.state = GameState.ENDED;
+
+        assertThat(tableService.getWinningCards()).hasSize(5);
+    }
+
+    @Test
+    void getWinnerHandShouldReturnTheHoleCardsOfTheWinnerAfterShowdown() {
+        addPlayers();
+        setActivePlayers();
+        setHands();
+        addCommunityCards(5);
+        tableService.state = GameState.ENDED;
+
+        Player winner = tableService.getWinner().get();
+        assertThat(tableService.getWinnerHand()).isEqualTo(winner.getHandCards().toList());
+    }
+
+    @Test
+    void getWinnerHandAndWinningCardsShouldBeEmptyBeforeShowdown() {
+        addPlayers();
+        setActivePlayers();
+        setHands();
+        tableService.state = GameState.FLOP;
+
+        assertThat(tableService.getWinnerHand()).isEmpty();
+        assertThat(tableService.getWinningCards()).isEmpty();
+    }
+
+
+    @Test
+    void showdownShouldBeEvaluatedOnlyOncePerHand() {
+        WinnerRules winnerRules = Mockito.spy(new WinnerRules(new HandRules()));
+        tableService = new TableService(() -> deck, winnerRules);
+        addPlayers();
+        setActivePlayers();
+        setHands();
+        addCommunityCards(5);
+        tableService.state = GameState.ENDED;
+
+        Optional<Player> winner = tableService.getWinner();
+        List<Card> winningCards = tableService.getWinningCards();
+
+        assertThat(tableService.getWinner()).isEqualTo(winner);
+        assertThat(tableService.getWinningCards()).isEqualTo(winningCards);
+        assertThat(tableService.getShowdown().getHandRanks()).containsOnlyKeys(PLAYER_1_ID, PLAYER_2_ID);
+        Mockito.verify(winnerRules, Mockito.times(1)).findWinners(Mockito.eq(GameVariant.HOLDEM),
+                Mockito.any(BoardState.class), Mockito.anyList());
+    }
+
+    @Test
+    void showdownShouldBeClearedWhenTheGameIsReset() {
+        addPlayers();
+        setActivePlayers();
+        tableService.getPlayers().get(0).setInactive();
+        tableService.state = GameState.ENDED;
+        assertThat(tableService.getWinner()).contains(tableService.getPlayers().get(1));
+
+        tableService.resetGame();
+
+        assertThat(tableService.showdown).isNull();
+    }
+
+
+    @Test
+    void allInEquitiesShouldBeEnumeratedOnceFromTheFlopOn() {
+        EquityCalculator sampling = Mockito.mock(EquityCalculator.class);
+        ExactEquityCalculator exact = Mockito.spy(new ExactEquityCalculator(new HandRules()));
+        tableService = new TableService(() -> deck, new WinnerRules(new HandRules()),
+                new OutsCalculator(new HandRules()), sampling, exact, 50);
+        addPlayers();
+        setHands();
+        addCommunityCards(3);
+        tableService.state = GameState.FLOP;
+        tableService.getPlayers().forEach(player -> player.bet(INITIAL_CASH));
+
+        Map<String, Double> equities = tableService.getAllInEquities();
+
+        Equity expected = new ExactEquityCalculator(new HandRules()).calculate(Arrays.asList(
+                tableService.getPlayerCards(PLAYER_1_ID), tableService.getPlayerCards(PLAYER_2_ID)),
+                tableService.getCommunityCards());
+        assertThat(equities).containsOnlyKeys(PLAYER_1_ID, PLAYER_2_ID);
+        assertThat(equities.get(PLAYER_1_ID)).isEqualTo(expected.getEquity(0));
+        assertThat(equities.get(PLAYER_2_ID)).isEqualTo(expected.getEquity(1));
+        assertThat(tableService.getAllInEquities()).isSameAs(equities);
+        Mockito.verify(exact, Mockito.times(1)).calculate(Mockito.anyList(), Mockito.any(CardSet.class));
+        Mockito.verifyNoInteractions(sampling);
+    }
+
+    @Test
+    void allInEquitiesShouldBeSampledWithinTheTimeBudgetBeforeTheFlop() {
+        EquityCalculator sampling = Mockito.spy(new EquityCalculator(new HandRules()));
+        tableService = new TableService(() -> deck, new WinnerRules(new HandRules()),
+                new OutsCalculator(new HandRules()), sampling, new ExactEquityCalculator(new HandRules()), 50);
+        addPlayers();
+        setHands();
+        tableService.state = GameState.PRE_FLOP;
+        tableService.getPlayers().forEach(player -> player.bet(INITIAL_CASH));
+
+        Map<String, Double> equities = tableService.getAllInEquities();
+
+        assertThat(equities.get(PLAYER_1_ID) + equities.get(PLAYER_2_ID)).isCloseTo(1, within(1e-9));
+        Mockito.verify(sampling).calculate(Mockito.anyList(), Mockito.eq(CardSet.EMPTY),
+                Mockito.eq(EquityCalculator.MAX_SAMPLES), Mockito.eq(EquityCalculator.TARGET_ERROR), Mockito.eq(50L));
+    }
+
+    @Test
+    void allInEquitiesShouldBeEmptyWhileAPlayerCanStillBet() {
+        addPlayers();
+        setHands();
+        addCommunityCards(3);
+        tableService.state = GameState.FLOP;
+        Player jack = tableService.getPlayers().get(0);
+        Player rose = tableService.getPlayers().get(1);
+        rose.addCash(50);
+        assertThat(tableService.getAllInEquities()).isEmpty();
+
+        jack.bet(INITIAL_CASH);
+        // rose has cash left, but nobody to bet against once she called
+        assertThat(tableService.getAllInEquities()).isEmpty();
+        rose.bet(INITIAL_CASH);
+        assertThat(tableService.getAllInEquities()).containsOnlyKeys(PLAYER_1_ID, PLAYER_2_ID);
+
+        tableService.variant = GameVariant.OMAHA;
+        assertThat(tableService.getAllInEquities()).isEmpty();
+    }
+
+    @Test
+    void startShouldDealFromOneDeckPerHand() {
+        List<Deck> suppliedDecks = new ArrayList<>();
+        tableService = new TableService(() -> {
+            suppliedDecks.add(deck);
+            return deck;
+        }, new WinnerRules(new HandRules()));
+        addPlayers();
+
+        tableService.start();
+        List<Card> dealtCards = new ArrayList<>();
+        tableService.getPlayers().forEach(player -> player.getHandCards().forEach(dealtCards::add));
+        tableService.start();
+
+        assertThat(suppliedDecks).hasSize(1);
+        assertThat(dealtCards).doesNotHaveDuplicates().hasSize(4);
+        assertThat(deck.getCards()).hasSize(48);
+    }
+
+    @Test
+    void roundEndActivitiesShouldRankTheHandsOncePerStreet() {
+        WinnerRules winnerRules = Mockito.spy(new WinnerRules(new HandRules()));
+        tableService = new TableService(() -> deck, winnerRules);
+        addPlayers();
+        setHands();
+        tableService.state = GameState.PRE_FLOP;
+
+        tableService.roundEndActivities();
+        Map<String, Integer> handRanks = tableService.getHandRanks();
+
+        assertThat(handRanks).containsOnlyKeys(PLAYER_1_ID, PLAYER_2_ID);
+        assertThat(tableService.getHandRanks()).isSameAs(handRanks);
+        Mockito.verify(winnerRules, Mockito.times(1)).rankHands(Mockito.eq(GameVariant.HOLDEM),
+                Mockito.any(BoardState.class), Mockito.anyList());
+
+        tableService.getPlayers().get(0).setInactive();
+        tableService.roundEndActivities();
+
+        assertThat(tableService.getHandRanks()).containsOnlyKeys(PLAYER_2_ID);
+    }
+
+    @Test
+    void handRanksShouldBeClearedWhenTheGameIsReset() {
+        addPlayers();
+        setHands();
+        tableService.state = GameState.PRE_FLOP;
+        tableService.roundEndActivities();
+
+        tableService.resetGame();
+
+        assertThat(tableService.getHandRanks()).isEmpty();
+    }
+
+    @Test
+    void boardShouldOnlyAddTheCardsOfTheNewStreet() {
+        addCommunityCards(3);
+        BoardState flop = tableService.getBoard();
+
+        assertThat(tableService.getBoard()).isSameAs(flop);
+        addCommunityCards(1);
+        assertThat(tableService.getBoard().getCards()).isEqualTo(tableService.getCommunityCards().getMask());
+
+        tableService.communityCards = CardSet.EMPTY;
+        assertThat(tableService.getBoard().size()).isZero();
+    }
+
+    @Test
+    void roundEndActivitiesShouldFindTheOutsOnTheFlopAndTheTurnOnly() {
+        addPlayers();
+        setHands();
+        tableService.state = GameState.PRE_FLOP;
+
+        tableService.roundEndActivities();
+        assertThat(tableService.getOuts(PLAYER_1_ID)).isPresent();
+        assertThat(tableService.getOuts(PLAYER_2_ID)).isPresent();
+        tableService.roundEndActivities();
+        assertThat(tableService.getOuts(PLAYER_1_ID).get().getUnseen()).isEqualTo(46);
+        tableService.roundEndActivities();
+        assertThat(tableService.getOuts(PLAYER_1_ID)).isEmpty();
+    }
+
+    @Test
+    void outsShouldBeClearedWhenTheGameIsReset() {
+        addPlayers();
+        setHands();
+        tableService.state = GameState.PRE_FLOP;
+        tableService.roundEndActivities();
+
+        tableService.resetGame();
+
+        assertThat(tableService.getOuts(PLAYER_1_ID)).isEmpty();
+    }
+
+    @Test
+    void resolvePotsShouldPayTheSidePotToTheBestPlayerWhoCoveredIt() {
+        tableService.addPlayer(PLAYER_1_ID, PLAYER_1_NAME);
+        tableService.addPlayer(PLAYER_2_ID, PLAYER_2_NAME);
+        tableService.addPlayer(PLAYER_3_ID, PLAYER_3_NAME);
+        setActivePlayers();
+        List<Player> players = tableService.getPlayers();
+        players.get(0).setHandCards(CardSet.of(Card.of(Kind.ACE, Suit.HEARTS), Card.of(Kind.ACE, Suit.CLUBS)));
+        players.get(1).setHandCards(CardSet.of(Card.of(Kind.KING, Suit.HEARTS), Card.of(Kind.KING, Suit.CLUBS)));
+        players.get(2).setHandCards(CardSet.of(Card.of(Kind.QUEEN, Suit.HEARTS), Card.of(Kind.QUEEN, Suit.CLUBS)));
+        tableService.communityCards = CardSet.of(Card.of(Kind.TWO, Suit.SPADES), Card.of(Kind.FIVE, Suit.DIAMONDS),
+                Card.of(Kind.NINE, Suit.SPADES), Card.of(Kind.TEN, Suit.DIAMONDS), Card.of(Kind.THREE, Suit.CLUBS));
+        players.get(0).bet(20);
+        players.get(1).bet(50);
+        players.get(2).bet(50);
+        tableService.pot = 120;
+        tableService.state = GameState.ENDED;
+
+        tableService.resolvePots();
+        tableService.resolvePots();
+
+        assertThat(players).extracting(Player::getCash).containsExactly(140, 110, 50);
+        assertThat(players).extracting(Player::getContribution).containsOnly(0);
+        assertThat(tableService.pot).isZero();
+    }
+
+    @Test
+    void inOmaha_startShouldDealFourHoleCards() {
+        addPlayers();
+        tableService.setVariant(GameVariant.OMAHA);
+
+        tableService.start();
+
+        assertThat(tableService.getPlayerCards(PLAYER_1_ID).size()).isEqualTo(4);
+        assertThat(tableService.getPlayerCards(PLAYER_2_ID).size()).isEqualTo(4);
+    }
+
+    @Test
+    void setVariantShouldFailWhileAHandIsPlayed() {
+        addPlayers();
+        tableService.start();
+
+        assertThrows(IllegalActionException.class, () -> tableService.setVariant(GameVariant.OMAHA));
+        assertThat(tableService.getVariant()).isEqualTo(GameVariant.HOLDEM);
+    }
+
+    @Test
+    void inOmaha_raiseShouldBeLimitedByThePot() {
+        addPlayers();
+        tableService.setVariant(GameVariant.OMAHA);
+        tableService.start();
+        assertThat(tableService.getPotLimit()).isEqualTo(TableService.MINIMUM_POT_LIMIT);
+        tableService.pot = 10;
+        tableService.performAction(Action.RAISE.getValue(), 10);
+
+        // calling 10 and raising by the pot of 10 + 10 + 10
+        assertThat(tableService.getPotLimit()).isEqualTo(40);
+        assertThrows(IllegalAmountException.class, () -> tableService.handleRaise(41));
+        tableService.handleRaise(40);
+        assertThat(tableService.getBets()).containsEntry(PLAYER_2_ID, 40);
+    }
+
+    @Test
+    void inOmaha_aHandShouldBePlayedToTheShowdown() {
+        addPlayers();
+        tableService.setVariant(GameVariant.OMAHA);
+        tableService.start();
+
+        for (int street = 0; street < 4; street++) {
+            tableService.performAction(Action.RAISE.getValue(), 1);
+            tableService.performAction(Action.CALL.getValue(), 0);
+        }
+
+        assertThat(tableService.getState()).isEqualTo(GameState.ENDED);
+        assertThat(tableService.getWinningCards()).hasSize(5);
+        assertThat(tableService.getWinnerHand()).hasSize(4);
+        assertThat(tableService.getPlayers().stream().mapToInt(Player::getCash).sum()).isEqualTo(2 * INITIAL_CASH);
+    }
+
+    @Test
+    void inOmahaHiLo_thePotShouldBeSplitBetweenHighAndLow() {
+        addPlayers();
+        setActivePlayers();
+        tableService.setVariant(GameVariant.OMAHA_HI_LO);
+        Player jack = tableService.getPlayers().get(0);
+        Player rose = tableService.getPlayers().get(1);
+        jack.setHandCards(CardSet.of(new Card(Kind.KING, Suit.SPADES), new Card(Kind.KING, Suit.DIAMONDS),
+                new Card(Kind.JACK, Suit.SPADES), new Card(Kind.TEN, Suit.CLUBS)));
+        rose.setHandCards(CardSet.of(new Card(Kind.ACE, Suit.CLUBS), new Card(Kind.THREE, Suit.DIAMONDS),
+                new Card(Kind.NINE, Suit.SPADES), new Card(Kind.NINE, Suit.DIAMONDS)));
+        tableService.communityCards = CardSet.of(new Card(Kind.TWO, Suit.HEARTS), new Card(Kind.FIVE, Suit.DIAMONDS),
+                new Card(Kind.EIGHT, Suit.SPADES), new Card(Kind.KING, Suit.CLUBS), new Card(Kind.QUEEN, Suit.HEARTS));
+        jack.bet(25);
+        rose.bet(25);
+        tableService.pot = 51;
+        tableService.state = GameState.ENDED;
+
+        tableService.resolvePots();
+
+        // the dead chip makes the pot odd, the odd chip of the split goes to the high
+        assertThat(jack.getCash()).isEqualTo(INITIAL_CASH - 25 + 26);
+        assertThat(rose.getCash()).isEqualTo(INITIAL_CASH - 25 + 25);
+    }
+
+    @Test
+    void inTheShortDeck_startShouldDealFromTheCardsFromSixUp() {
+        addPlayers();
+        tableService.start();
+        tableService.resetGame();
+        tableService.setVariant(GameVariant.SHORT_DECK);
+
+        tableService.start();
+
+        assertThat(tableService.deck.getCards()).hasSize(36 - 4);
+        assertThat(tableService.getPlayerCards(PLAYER_1_ID).stream()
+                .allMatch(card -> card.getKind().compareTo(Kind.SIX) >= 0)).isTrue();
+        tableService.resetGame();
+        tableService.setVariant(GameVariant.OMAHA_HI_LO);
+        tableService.start();
+        assertThat(tableService.deck.getCards()).hasSize(52 - 8);
+    }
+}
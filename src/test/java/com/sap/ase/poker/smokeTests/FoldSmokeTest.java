@@ -35,6 +35,7 @@ public class FoldSmokeTest extends SmokeTest {
         GetTableResponseDto result = getTableResponseDtoForPlayer(ALICE_ID);
         assertThat(result.getWinner()).isNotNull();
         assertThat(result.getWinnerHand()).isEmpty();
+        assertThat(result.getWinningCards()).isEmpty();
         assertThat(result.getState()).isEqualTo(GameState.ENDED.getValue());
         assertThat(getCurrentPlayerState(currentPlayerDto, result).getCash()).isEqualTo(
                 currentPlayerDto.getCash());
@@ -84,7 +84,7 @@ public class SmokeTest {
     }
 
     GetTableResponseDto getTableResponseDtoForPlayer(String id) {
-        return underTest.getTable(createMockPrincipalWithId(id));
+        return underTest.getTable(createMockPrincipalWithId(id), false, false);
     }
 
 